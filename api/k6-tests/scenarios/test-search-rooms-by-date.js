@@ -0,0 +1,84 @@
+import http from 'k6/http';
+import {check, sleep} from 'k6';
+import {Trend} from 'k6/metrics';
+
+// 사전 준비: k6-tests/seed/seed-availability.sql 로 availability 1,000,000 row 적재 후 실행
+
+let noDateFilterTrend = new Trend('no_date_filter_duration');
+let dateFilterTrend = new Trend('date_filter_duration');
+
+// 벤치마크 설정
+export const options = {
+    // 시나리오 정의 (날짜 조건 없는 검색 / 날짜 조건 검색)
+    scenarios: {
+        noDateFilterScenario: {
+            executor: 'constant-vus',
+            vus: 10,
+            duration: '30s',
+            exec: 'searchRoomsWithoutDate',
+            tags: {endpoint_type: 'no_date_filter'},
+        },
+        dateFilterScenario: {
+            executor: 'constant-vus',
+            vus: 10,
+            duration: '30s',
+            exec: 'searchRoomsWithDate',
+            tags: {endpoint_type: 'date_filter'},
+        },
+    },
+    thresholds: {
+        'http_req_duration{endpoint_type:date_filter}': ['p(95)<500'],
+        'http_req_failed{endpoint_type:no_date_filter}': ['rate<0.01'],
+        'http_req_failed{endpoint_type:date_filter}': ['rate<0.01'],
+    },
+    userAgent: 'k6/search-rooms-by-date-test',
+};
+
+// 날짜 조건 없이 인원 수 + 페이지로만 검색
+export function searchRoomsWithoutDate() {
+    const guests = getRandomInt(1, 8);
+    const page = getRandomInt(0, 100);
+
+    const res = http.get(`http://localhost:8080/rooms?guests=${guests}&page=${page}&size=20`);
+    noDateFilterTrend.add(res.timings.duration);
+
+    check(res, {
+        'noDateFilter status is 200': (r) => r.status === 200,
+    });
+
+    sleep(1);
+}
+
+// [startDate, endDate) 전체가 예약 가능한 숙소만 검색
+export function searchRoomsWithDate() {
+    const guests = getRandomInt(1, 8);
+    const page = getRandomInt(0, 100);
+    const startDaysAhead = getRandomInt(0, 350);
+    const startDate = getFutureDate(startDaysAhead);
+    const endDate = getFutureDate(startDaysAhead + getRandomInt(1, 7)); // 1박 ~ 7박
+
+    const res = http.get(`http://localhost:8080/rooms?guests=${guests}&startDate=${startDate}&endDate=${endDate}&page=${page}&size=20`);
+    dateFilterTrend.add(res.timings.duration);
+
+    const isOK = check(res, {
+        'dateFilter status is 200': (r) => r.status === 200,
+    });
+
+    if (!isOK) {
+        console.log(`Failed response: status=${res.status}, body=${res.body}`);
+    }
+
+    sleep(1);
+}
+
+function getRandomInt(min, max) {
+    min = Math.ceil(min);
+    max = Math.floor(max);
+    return Math.floor(Math.random() * (max - min + 1)) + min;
+}
+
+function getFutureDate(daysAhead) {
+    const date = new Date();
+    date.setDate(date.getDate() + daysAhead);
+    return date.toISOString().split('T')[0]; // YYYY-MM-DD format
+}
@@ -0,0 +1,57 @@
+import http from 'k6/http';
+import {check, sleep} from 'k6';
+import {Trend} from 'k6/metrics';
+
+// 사전 준비: k6-tests/seed/seed-rooms.sql 로 숙소 1,000,000개 적재 후 실행
+// 위치 검색 조건 변경 전(country/province/city/street 각각 containsIgnoreCase) 버전과
+// 변경 후(location_search trigram 인덱스) 버전 서버에 각각 실행해서 p50, p99 비교
+
+let locationSearchTrend = new Trend('location_search_duration');
+
+// 벤치마크 설정
+export const options = {
+    scenarios: {
+        locationSearchScenario: {
+            executor: 'constant-vus',
+            vus: 10,
+            duration: '30s',
+            exec: 'searchRoomsByLocation',
+            tags: {endpoint_type: 'location_search'},
+        },
+    },
+    summaryTrendStats: ['avg', 'min', 'med', 'p(50)', 'p(90)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_failed{endpoint_type:location_search}': ['rate<0.01'],
+    },
+    userAgent: 'k6/search-rooms-by-location-test',
+};
+
+// 자주 검색되는 도시/국가명 + 결과가 적은 도로명 검색어
+const LOCATIONS = [
+    'seoul', 'busan', 'tokyo', 'paris', 'new york', 'barcelona', 'chiang mai', 'korea', 'italy',
+    'maple st', '1999 river', '42 oak', 'province7',
+];
+
+export function searchRoomsByLocation() {
+    const location = LOCATIONS[getRandomInt(0, LOCATIONS.length - 1)];
+    const page = getRandomInt(0, 10);
+
+    const res = http.get(`http://localhost:8080/rooms?location=${encodeURIComponent(location)}&page=${page}&size=20`);
+    locationSearchTrend.add(res.timings.duration);
+
+    const isOK = check(res, {
+        'locationSearch status is 200': (r) => r.status === 200,
+    });
+
+    if (!isOK) {
+        console.log(`Failed response: status=${res.status}, body=${res.body}`);
+    }
+
+    sleep(1);
+}
+
+function getRandomInt(min, max) {
+    min = Math.ceil(min);
+    max = Math.floor(max);
+    return Math.floor(Math.random() * (max - min + 1)) + min;
+}
@@ -0,0 +1,84 @@
+import http from 'k6/http';
+import {check, sleep} from 'k6';
+import {Trend} from 'k6/metrics';
+
+// 사전 준비: k6-tests/seed/seed-rooms.sql 로 좌표가 있는 숙소 1,000,000개 적재 후 실행
+// 지도 화면 영역 검색 / 중심 좌표 반경 검색(거리순) 응답 시간 측정
+
+let boundingBoxTrend = new Trend('bounding_box_search_duration');
+let radiusTrend = new Trend('radius_search_duration');
+
+// 벤치마크 설정
+export const options = {
+    scenarios: {
+        boundingBoxScenario: {
+            executor: 'constant-vus',
+            vus: 10,
+            duration: '30s',
+            exec: 'searchRoomsInBoundingBox',
+            tags: {endpoint_type: 'bounding_box_search'},
+        },
+        radiusScenario: {
+            executor: 'constant-vus',
+            vus: 10,
+            duration: '30s',
+            exec: 'searchRoomsInRadius',
+            tags: {endpoint_type: 'radius_search'},
+        },
+    },
+    summaryTrendStats: ['avg', 'min', 'med', 'p(50)', 'p(90)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_duration{endpoint_type:bounding_box_search}': ['p(95)<500'],
+        'http_req_duration{endpoint_type:radius_search}': ['p(95)<500'],
+        'http_req_failed{endpoint_type:bounding_box_search}': ['rate<0.01'],
+        'http_req_failed{endpoint_type:radius_search}': ['rate<0.01'],
+    },
+    userAgent: 'k6/search-rooms-by-map-test',
+};
+
+// 시드 데이터 도시 중심 좌표 일부 [latitude, longitude]
+const CENTERS = [
+    [37.5665, 126.9780], [35.6762, 139.6503], [40.7128, -74.0060], [48.8566, 2.3522],
+    [41.9028, 12.4964], [40.4168, -3.7038], [52.5200, 13.4050], [13.7563, 100.5018],
+];
+
+// 도시 중심 주변 지도 화면 (약 5km ~ 20km 범위)
+export function searchRoomsInBoundingBox() {
+    const [latitude, longitude] = CENTERS[getRandomInt(0, CENTERS.length - 1)];
+    const half = getRandomInt(25, 100) / 1000;
+    const page = getRandomInt(0, 5);
+
+    const res = http.get(`http://localhost:8080/rooms?swLatitude=${latitude - half}&swLongitude=${longitude - half}&neLatitude=${latitude + half}&neLongitude=${longitude + half}&page=${page}&size=20`);
+    boundingBoxTrend.add(res.timings.duration);
+
+    check(res, {
+        'boundingBox status is 200': (r) => r.status === 200,
+    });
+
+    sleep(1);
+}
+
+// 중심 좌표에서 1km ~ 10km 이내, 가까운 순
+export function searchRoomsInRadius() {
+    const [latitude, longitude] = CENTERS[getRandomInt(0, CENTERS.length - 1)];
+    const radiusKm = getRandomInt(1, 10);
+
+    const res = http.get(`http://localhost:8080/rooms?latitude=${latitude}&longitude=${longitude}&radiusKm=${radiusKm}&size=20`);
+    radiusTrend.add(res.timings.duration);
+
+    const isOK = check(res, {
+        'radius status is 200': (r) => r.status === 200,
+    });
+
+    if (!isOK) {
+        console.log(`Failed response: status=${res.status}, body=${res.body}`);
+    }
+
+    sleep(1);
+}
+
+function getRandomInt(min, max) {
+    min = Math.ceil(min);
+    max = Math.floor(max);
+    return Math.floor(Math.random() * (max - min + 1)) + min;
+}
@@ -0,0 +1,80 @@
+import http from 'k6/http';
+import {check, sleep} from 'k6';
+import {Trend} from 'k6/metrics';
+
+// 사전 준비: k6-tests/seed/seed-rooms.sql 로 숙소 1,000,000개 적재 후 실행
+// 인메모리 검색 인덱스 비교: 같은 시나리오를 아래 두 설정의 서버에 각각 실행해서 p50, p99 비교
+//   --room-search-index.enabled=false (QueryDSL 검색)
+//   --room-search-index.enabled=true  (인덱스 검색, 기동 로그의 "Room search index built" 에서 메모리 사용량 확인)
+
+let guestsSearchTrend = new Trend('guests_search_duration');
+let locationSearchTrend = new Trend('location_price_search_duration');
+
+// 벤치마크 설정
+export const options = {
+    scenarios: {
+        guestsSearchScenario: {
+            executor: 'constant-vus',
+            vus: 10,
+            duration: '30s',
+            exec: 'searchRoomsByGuests',
+            tags: {endpoint_type: 'guests_search'},
+        },
+        locationPriceSearchScenario: {
+            executor: 'constant-vus',
+            vus: 10,
+            duration: '30s',
+            exec: 'searchRoomsByLocationAndPrice',
+            tags: {endpoint_type: 'location_price_search'},
+        },
+    },
+    summaryTrendStats: ['avg', 'min', 'med', 'p(50)', 'p(90)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_failed{endpoint_type:guests_search}': ['rate<0.01'],
+        'http_req_failed{endpoint_type:location_price_search}': ['rate<0.01'],
+    },
+    userAgent: 'k6/search-rooms-index-test',
+};
+
+const LOCATIONS = ['seoul', 'busan', 'tokyo', 'paris', 'new york', 'barcelona', 'korea', 'italy'];
+
+// 인원 수 + 페이지 (id 순)
+export function searchRoomsByGuests() {
+    const guests = getRandomInt(1, 8);
+    const page = getRandomInt(0, 100);
+
+    const res = http.get(`http://localhost:8080/rooms?guests=${guests}&page=${page}&size=20`);
+    guestsSearchTrend.add(res.timings.duration);
+
+    check(res, {
+        'guestsSearch status is 200': (r) => r.status === 200,
+    });
+
+    sleep(1);
+}
+
+// 위치 + 가격 범위 + 가격 정렬
+export function searchRoomsByLocationAndPrice() {
+    const location = LOCATIONS[getRandomInt(0, LOCATIONS.length - 1)];
+    const priceFrom = getRandomInt(50, 200);
+    const page = getRandomInt(0, 10);
+
+    const res = http.get(`http://localhost:8080/rooms?location=${encodeURIComponent(location)}&priceFrom=${priceFrom}&priceTo=${priceFrom + 100}&currency=USD&sort=price,asc&page=${page}&size=20`);
+    locationSearchTrend.add(res.timings.duration);
+
+    const isOK = check(res, {
+        'locationPriceSearch status is 200': (r) => r.status === 200,
+    });
+
+    if (!isOK) {
+        console.log(`Failed response: status=${res.status}, body=${res.body}`);
+    }
+
+    sleep(1);
+}
+
+function getRandomInt(min, max) {
+    min = Math.ceil(min);
+    max = Math.floor(max);
+    return Math.floor(Math.random() * (max - min + 1)) + min;
+}
@@ -0,0 +1,124 @@
+import http from 'k6/http';
+import {check} from 'k6';
+import {Trend} from 'k6/metrics';
+
+// 가격 업데이트 벤치마크: JPA 서비스 로직(/pricing) vs 프로시저(/pricing/sql), 요청당 날짜 범위 1, 10, 100개
+let serviceLogicTrend = new Trend('pricing_service_logic_duration', true);
+let sqlLogicTrend = new Trend('pricing_sql_logic_duration', true);
+
+const RANGE_COUNTS = [1, 10, 100];
+const DURATION_SECONDS = 10;
+
+// 날짜 범위 개수별로 두 엔드포인트 시나리오를 순서대로 실행 (같은 시간에 하나의 시나리오만 실행)
+const scenarios = {};
+RANGE_COUNTS.forEach((ranges, i) => {
+    ['service', 'sql'].forEach((type, j) => {
+        scenarios[`${type}_${ranges}`] = {
+            executor: 'constant-vus',
+            vus: 10,
+            duration: `${DURATION_SECONDS}s`,
+            startTime: `${(i * 2 + j) * (DURATION_SECONDS + 2)}s`,
+            exec: type === 'service' ? 'updatePricingServiceLogic' : 'updatePricingSqlLogic',
+            env: {RANGES: `${ranges}`},
+            tags: {endpoint_type: `${type}_logic`, ranges: `${ranges}`},
+        };
+    });
+});
+
+export const options = {
+    scenarios: scenarios,
+    thresholds: {
+        // 결과 요약에 날짜 범위 개수별 p(95)가 출력되도록 태그별 threshold 지정
+        ...Object.fromEntries(RANGE_COUNTS.flatMap(ranges => [
+            [`pricing_service_logic_duration{ranges:${ranges}}`, ['p(95)<1000']],
+            [`pricing_sql_logic_duration{ranges:${ranges}}`, ['p(95)<1000']],
+        ])),
+        'http_req_failed': ['rate<0.01'],
+    },
+    userAgent: 'k6/pricing-update-test',
+};
+
+// 테스트에 사용할 호스트 인증 정보 (user1@test.com ~ user10@test.com, userN 은 roomN 의 호스트)
+const USER_CREDENTIALS = new Array(10).fill(null).map((_, i) => ({
+    email: `user${i + 1}@test.com`,
+    password: 'password',
+}));
+
+export function setup() {
+    const tokens = USER_CREDENTIALS.map(user => {
+        const res = http.post(
+            'http://localhost:8080/users/login',
+            JSON.stringify(user),
+            {headers: {'Content-Type': 'application/json'}}
+        );
+
+        check(res, {'login status 200': (r) => r.status === 200});
+        if (res.status !== 200) {
+            throw new Error(`Login failed for user ${user.email}`);
+        }
+        return res.json('token');
+    });
+
+    return {tokens};
+}
+
+export function updatePricingServiceLogic(setupData) {
+    const res = updatePricing(setupData, '/pricing');
+    serviceLogicTrend.add(res.timings.duration, {ranges: __ENV.RANGES});
+}
+
+export function updatePricingSqlLogic(setupData) {
+    const res = updatePricing(setupData, '/pricing/sql');
+    sqlLogicTrend.add(res.timings.duration, {ranges: __ENV.RANGES});
+}
+
+function updatePricing(setupData, path) {
+    const roomId = __VU % USER_CREDENTIALS.length + 1;
+    const token = setupData.tokens[roomId - 1];
+
+    const payload = JSON.stringify({
+        dateSelected: generateDateRanges(parseInt(__ENV.RANGES)),
+        pricePerNight: getRandomInt(50, 500),
+    });
+
+    const res = http.post(`http://localhost:8080/host/rooms/${roomId}${path}`, payload, {
+        headers: {
+            'Content-Type': 'application/json',
+            'Authorization': `Bearer ${token}`,
+        },
+    });
+
+    if (!check(res, {'status is 200': (r) => r.status === 200})) {
+        console.log(`Failed response: status=${res.status}, body=${res.body}`);
+    }
+    return res;
+}
+
+function getRandomInt(min, max) {
+    return Math.floor(Math.random() * (max - min + 1)) + min;
+}
+
+/**
+ * 겹치지 않는 count 개의 날짜 범위 생성 (각 1~2박, 범위 사이 1일 간격, 100개여도 1년 이내).
+ * 시작 위치를 매번 바꿔서 기존 가격 구간과 일부만 겹치는(분할되는) 경우가 생기도록 한다.
+ */
+function generateDateRanges(count) {
+    const dateRanges = [];
+    let offset = getRandomInt(1, 50);
+
+    for (let i = 0; i < count; i++) {
+        const nights = getRandomInt(1, 2);
+        dateRanges.push({
+            startDate: dateAfter(offset),
+            endDate: dateAfter(offset + nights - 1), // endDate 는 마지막 숙박일 (inclusive)
+        });
+        offset += nights + 1;
+    }
+    return dateRanges;
+}
+
+function dateAfter(days) {
+    const date = new Date();
+    date.setDate(date.getDate() + days);
+    return date.toISOString().split('T')[0];
+}
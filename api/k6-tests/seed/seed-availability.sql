@@ -0,0 +1,44 @@
+-- 숙소 검색 날짜 필터 벤치마크용 데이터
+-- 숙소 100,000개 x 숙소당 availability 10개 = availability 1,000,000 row
+-- (schema.sql, data.sql 적용 후 실행)
+
+-- room
+insert into room (host_id, place_type_id, room_type, country, city, street, max_number_of_guests, bedrooms, beds,
+                  title, description, currency, base_price, base_price_in_usd, is_deleted, time_zone_id)
+select 1,
+       1 + (n % 4),
+       'ENTIRE_PLACE',
+       'South Korea',
+       'city' || (n % 100),
+       'street' || n,
+       1 + (n % 8),
+       1 + (n % 4),
+       1 + (n % 4),
+       'title' || n,
+       'description',
+       'KRW',
+       50000 + (n % 50) * 10000,
+       (50000 + (n % 50) * 10000) / 1350.0,
+       false,
+       'Asia/Seoul'
+from generate_series(1, 100000) as n;
+
+-- availability
+-- 오늘부터 36일 단위 10개 구간으로 나누고, 숙소/구간 별로 약 20%는 예약 불가 처리
+insert into availability (room_id, date_range, is_available)
+select r.id,
+       daterange(CURRENT_DATE + s * 36, CURRENT_DATE + (s + 1) * 36, '[)'),
+       (r.id + s) % 5 <> 0
+from room r
+         cross join generate_series(0, 9) as s
+where not exists (select 1 from availability a where a.room_id = r.id);
+
+analyze room;
+analyze availability;
+
+-- 검색 read model 갱신 (batch 의 roomSearchRebuildJob 과 같은 내용)
+insert into room_search
+select * from room_search_source
+on conflict (room_id) do update set next_available_date = excluded.next_available_date;
+
+analyze room_search;
@@ -0,0 +1,52 @@
+-- 숙소 위치 검색 벤치마크용 데이터
+-- 숙소 1,000,000개 (국가 8개 x 국가별 도시 5개, 도로명 2,000 x 8개 조합, amenity 4개 조합 16가지)
+-- 좌표는 도시 중심에서 위도/경도 ±0.1도 이내로 분산
+-- (schema.sql, data.sql 적용 후 실행)
+
+insert into room (host_id, place_type_id, room_type, country, province, city, street, max_number_of_guests, bedrooms,
+                  beds, title, description, currency, base_price, base_price_in_usd, is_deleted, time_zone_id, amenity_bits,
+                  latitude, longitude)
+select 1,
+       1 + (n % 4),
+       'ENTIRE_PLACE',
+       (array ['South Korea', 'Japan', 'United States', 'France', 'Italy', 'Spain', 'Germany', 'Thailand'])[1 + n % 8],
+       'province' || (n % 40),
+       (array ['Seoul', 'Tokyo', 'New York', 'Paris', 'Rome', 'Madrid', 'Berlin', 'Bangkok',
+           'Busan', 'Osaka', 'Los Angeles', 'Lyon', 'Milan', 'Barcelona', 'Munich', 'Phuket',
+           'Jeju', 'Kyoto', 'Chicago', 'Nice', 'Venice', 'Seville', 'Hamburg', 'Chiang Mai',
+           'Incheon', 'Sapporo', 'Boston', 'Marseille', 'Florence', 'Valencia', 'Cologne', 'Pattaya',
+           'Daegu', 'Fukuoka', 'Seattle', 'Bordeaux', 'Naples', 'Bilbao', 'Frankfurt', 'Krabi'])[1 + (n / 8) % 5 * 8 + n % 8],
+       (n % 2000) || ' ' || (array ['Main', 'Oak', 'Maple', 'Cedar', 'Hill', 'Lake', 'Park', 'River'])[1 + n % 8] || ' St',
+       1 + (n % 8),
+       1 + (n % 4),
+       1 + (n % 4),
+       'title' || n,
+       'description',
+       'USD',
+       50 + (n % 50) * 10,
+       50 + (n % 50) * 10,
+       false,
+       'Asia/Seoul',
+       (n * 7) % 16,
+       (array [37.5665, 35.6762, 40.7128, 48.8566, 41.9028, 40.4168, 52.5200, 13.7563,
+           35.1796, 34.6937, 34.0522, 45.7640, 45.4642, 41.3874, 48.1351, 7.8804,
+           33.4996, 35.0116, 41.8781, 43.7102, 45.4408, 37.3891, 53.5511, 18.7883,
+           37.4563, 43.0618, 42.3601, 43.2965, 43.7696, 39.4699, 50.9375, 12.9236,
+           35.8714, 33.5904, 47.6062, 44.8378, 40.8518, 43.2630, 50.1109, 8.0863])[1 + (n / 8) % 5 * 8 + n % 8]
+           + ((n * 37) % 1000 - 500) / 5000.0,
+       (array [126.9780, 139.6503, -74.0060, 2.3522, 12.4964, -3.7038, 13.4050, 100.5018,
+           129.0756, 135.5023, -118.2437, 4.8357, 9.1900, 2.1686, 11.5820, 98.3923,
+           126.5312, 135.7681, -87.6298, 7.2620, 12.3155, -5.9845, 9.9937, 98.9853,
+           126.7052, 141.3545, -71.0589, 5.3698, 11.2558, -0.3763, 6.9603, 100.8825,
+           128.6014, 130.4017, -122.3321, -0.5792, 14.2681, -2.9350, 8.6821, 98.9063])[1 + (n / 8) % 5 * 8 + n % 8]
+           + ((n * 53) % 1000 - 500) / 5000.0
+from generate_series(1, 1000000) as n;
+
+analyze room;
+
+-- 검색 read model 갱신 (batch 의 roomSearchRebuildJob 과 같은 내용)
+insert into room_search
+select * from room_search_source
+on conflict (room_id) do nothing;
+
+analyze room_search;
@@ -0,0 +1,205 @@
+package com.staybnb.bookings.service;
+
+import com.staybnb.StaybnbApplication;
+import com.staybnb.bookings.domain.Booking;
+import com.staybnb.common.exception.custom.UnavailableDateException;
+import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.service.PricingService;
+import com.staybnb.rooms.service.RoomService;
+import com.staybnb.rooms.service.lock.RoomCalendarLockProperties;
+import com.staybnb.users.domain.User;
+import com.staybnb.users.repository.UserRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * 한 숙소에 여러 스레드가 동시에 예약할 때 숙소 잠금 모드(room-calendar-lock.mode)별 처리량, 지연 시간, 충돌률 비교.
+ * <ul>
+ *     <li>OVERLAPPING: 모든 스레드가 같은 날짜를 차례로 예약한다. 날짜마다 한 스레드만 성공하고 나머지는 예약 불가(충돌)가 정상이다.</li>
+ *     <li>DISJOINT: 스레드마다 겹치지 않는 날짜를 예약한다. 모두 성공해야 하며, 실패는 잠금 방식 때문에 생긴 충돌이다.</li>
+ * </ul>
+ * 예약은 createBooking(견적 토큰 없음)으로 만들고, 가격 계산은 측정 전에 한다. 예약 불가(UnavailableDateException)는 충돌,
+ * 그 밖의 예외(교착 상태, 제약 조건 위반 등)는 오류로 센다.
+ * <p>
+ * 실행할 때마다 대상 숙소의 예약과 availability 를 지우고 다시 만들므로 테스트용 DB 에서만 실행한다.
+ * JMH 는 같은 상태를 반복 측정하는 방식이라 예약할수록 availability 가 줄어드는 이 측정에는 맞지 않아 main 으로 실행한다.
+ * <p>
+ * DATASOURCE_URL=... ./gradlew :api:bookingContention -Pargs="--roomId=1 --guestId=1 --threads=8 --bookingsPerThread=25"
+ */
+public class BookingContentionBenchmark {
+
+    enum Scenario {OVERLAPPING, DISJOINT}
+
+    private static final int NIGHTS = 2;
+
+    private final BookingService bookingService;
+    private final PricingService pricingService;
+    private final RoomCalendarLockProperties lockProperties;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Room room;
+    private final User guest;
+    private final int threads;
+    private final int bookingsPerThread;
+    private final LocalDate baseDate = LocalDate.now().plusDays(1);
+
+    private BookingContentionBenchmark(ConfigurableApplicationContext context) {
+        Environment environment = context.getEnvironment();
+        this.bookingService = context.getBean(BookingService.class);
+        this.pricingService = context.getBean(PricingService.class);
+        this.lockProperties = context.getBean(RoomCalendarLockProperties.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.room = context.getBean(RoomService.class).findById(environment.getProperty("roomId", Long.class, 1L));
+        this.guest = context.getBean(UserRepository.class).findById(environment.getProperty("guestId", Long.class, 1L)).orElseThrow();
+        this.threads = environment.getProperty("threads", Integer.class, 8);
+        this.bookingsPerThread = environment.getProperty("bookingsPerThread", Integer.class, 25);
+    }
+
+    public static void main(String[] args) throws Exception {
+        // 설정 파일보다 우선하도록 명령행 인자로 넘긴다
+        String[] arguments = Stream.concat(Stream.of("--spring.jpa.show-sql=false", "--logging.level.root=WARN"), Arrays.stream(args))
+                .toArray(String[]::new);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StaybnbApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments)) {
+            new BookingContentionBenchmark(context).run();
+        }
+    }
+
+    private void run() throws Exception {
+        System.out.printf("room=%d threads=%d bookingsPerThread=%d nights=%d%n", room.getId(), threads, bookingsPerThread, NIGHTS);
+        System.out.printf("%-9s %-11s %9s %10s %10s %10s %10s %9s %9s%n",
+                "mode", "scenario", "attempts", "attempt/s", "booking/s", "p50(ms)", "p99(ms)", "conflict", "error");
+
+        for (RoomCalendarLockProperties.Mode mode : RoomCalendarLockProperties.Mode.values()) {
+            lockProperties.setMode(mode);
+            for (Scenario scenario : Scenario.values()) {
+                // 워밍업 후 측정
+                reset();
+                measure(scenario);
+                reset();
+                Result result = measure(scenario);
+                System.out.printf("%-9s %-11s %9d %10.1f %10.1f %10.2f %10.2f %8.1f%% %8.1f%%%n",
+                        mode, scenario, result.attempts(), result.attempts() / result.seconds(), result.succeeded / result.seconds(),
+                        result.percentileMillis(0.50), result.percentileMillis(0.99),
+                        100.0 * result.conflicts / result.attempts(), 100.0 * result.errors / result.attempts());
+            }
+        }
+        reset();
+    }
+
+    /**
+     * 대상 숙소의 예약을 지우고, 측정에 쓰는 기간 전체를 예약 가능한 availability 하나로 만든다
+     */
+    private void reset() {
+        jdbcTemplate.update("DELETE FROM booking WHERE room_id = ?", room.getId());
+        jdbcTemplate.update("DELETE FROM availability WHERE room_id = ?", room.getId());
+        jdbcTemplate.update("INSERT INTO availability (room_id, date_range, is_available) VALUES (?, daterange(?, ?), true)",
+                room.getId(), baseDate, baseDate.plusDays((long) NIGHTS * threads * bookingsPerThread));
+    }
+
+    private Result measure(Scenario scenario) throws Exception {
+        List<List<Booking>> bookingsByThread = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            List<Booking> bookings = new ArrayList<>();
+            for (int i = 0; i < bookingsPerThread; i++) {
+                long slot = scenario == Scenario.OVERLAPPING ? i : (long) i * threads + thread;
+                LocalDate checkIn = baseDate.plusDays(slot * NIGHTS);
+                LocalDate checkOut = checkIn.plusDays(NIGHTS);
+                double bookingPrice = pricingService.getTotalPrice(room, checkIn, checkOut, room.getCurrency());
+                bookings.add(new Booking(room, guest, 1, checkIn, checkOut, bookingPrice, room.getCurrency()));
+            }
+            bookingsByThread.add(bookings);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Result>> futures = new ArrayList<>();
+            for (List<Booking> bookings : bookingsByThread) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return book(bookings);
+                }));
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            Result total = new Result(new long[0]);
+            for (Future<Result> future : futures) {
+                total = total.merge(future.get());
+            }
+            total.nanos = System.nanoTime() - startedAt;
+            return total;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Result book(List<Booking> bookings) {
+        Result result = new Result(new long[bookings.size()]);
+        for (int i = 0; i < bookings.size(); i++) {
+            long startedAt = System.nanoTime();
+            try {
+                bookingService.createBooking(bookings.get(i));
+                result.succeeded++;
+            } catch (UnavailableDateException e) {
+                result.conflicts++;
+            } catch (RuntimeException e) {
+                result.errors++;
+            }
+            result.latencies[i] = System.nanoTime() - startedAt;
+        }
+        return result;
+    }
+
+    private static class Result {
+        private final long[] latencies;
+        private int succeeded;
+        private int conflicts;
+        private int errors;
+        private long nanos;
+
+        private Result(long[] latencies) {
+            this.latencies = latencies;
+        }
+
+        private int attempts() {
+            return latencies.length;
+        }
+
+        private double seconds() {
+            return nanos / 1e9;
+        }
+
+        private Result merge(Result other) {
+            long[] merged = Arrays.copyOf(latencies, latencies.length + other.latencies.length);
+            System.arraycopy(other.latencies, 0, merged, latencies.length, other.latencies.length);
+            Result result = new Result(merged);
+            result.succeeded = succeeded + other.succeeded;
+            result.conflicts = conflicts + other.conflicts;
+            result.errors = errors + other.errors;
+            return result;
+        }
+
+        private double percentileMillis(double percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.staybnb.rooms.repository.search;
+
+import com.staybnb.StaybnbApplication;
+import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.dto.SearchRoomCondition;
+import com.staybnb.rooms.repository.RoomRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 숙소 검색 한 페이지: 인메모리 인덱스로 room id 를 고른 뒤 페이지의 숙소만 조회하는 경로(index)와
+ * QueryDSL 로 DB 에서 검색하는 경로(database, RoomRepository.findAll) 비교. 두 경로 모두 전체 개수까지 계산한다.
+ * <p>
+ * 실제 DB 필요 (k6-tests/seed/seed-rooms.sql 로 숙소를 적재한 DB 권장). 인덱스는 @Setup 에서 DB 로부터 빌드한다.
+ * DATASOURCE_URL=... ./gradlew :api:roomSearchIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomSearchIndexBenchmark {
+
+    // guests: 인원 수 + 가격 범위, location: 위치 부분 문자열 + 가격 범위
+    @Param({"guests", "location"})
+    private String query;
+
+    private final Pageable pageable = PageRequest.of(0, 20, Sort.by("price"));
+
+    private ConfigurableApplicationContext context;
+    private RoomSearchIndex roomSearchIndex;
+    private RoomRepository roomRepository;
+    private SearchRoomCondition cond;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(StaybnbApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--room-search-index.enabled=true", "--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        roomSearchIndex = context.getBean(RoomSearchIndex.class);
+        roomRepository = context.getBean(RoomRepository.class);
+
+        cond = switch (query) {
+            case "guests" -> SearchRoomCondition.builder().numberOfGuests(4).priceFromInUsd(50.0).priceToInUsd(300.0).build();
+            case "location" -> SearchRoomCondition.builder().location("korea").priceFromInUsd(50.0).priceToInUsd(300.0).build();
+            default -> throw new IllegalArgumentException(query);
+        };
+        if (!roomSearchIndex.supports(cond, pageable)) {
+            throw new IllegalStateException("Room search index is not available for " + query);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Room> index() {
+        Page<Long> roomIds = roomSearchIndex.search(cond, pageable);
+        return roomRepository.findAllInOrder(roomIds.getContent());
+    }
+
+    @Benchmark
+    public Page<Room> database() {
+        return roomRepository.findAll(cond, pageable);
+    }
+}
@@ -0,0 +1,117 @@
+package com.staybnb.rooms.service.calendar;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.staybnb.rooms.domain.Availability;
+import com.staybnb.rooms.domain.Pricing;
+import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.domain.vo.Currency;
+import com.staybnb.rooms.dto.response.vo.DailyInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 달 캘린더 응답 생성: 날짜별 HashMap 으로 펼친 뒤 날마다 환율 변환하던 기존 방식(legacy)과 DailyCalendar 비교.
+ * 환율은 ExchangeRateCacheRepository 와 같이 Caffeine 캐시에서 조회한다.
+ * <p>
+ * ./gradlew :api:jmh -Pjmh.includes=DailyCalendarBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DailyCalendarBenchmark {
+
+    // 한 달 안에 있는 pricing, availability 범위 수
+    @Param({"2", "8", "31"})
+    private int ranges;
+
+    private final YearMonth yearMonth = YearMonth.of(2025, 7);
+    private final Room room = Room.builder().id(1L).basePrice(100_000).currency(Currency.KRW).build();
+    private final Currency guestCurrency = Currency.USD;
+
+    private LoadingCache<Currency, Double> exchangeRates;
+    private List<Pricing> pricingList;
+    private List<Availability> availabilities;
+
+    @Setup
+    public void setup() {
+        exchangeRates = Caffeine.newBuilder().build(currency -> currency == Currency.USD ? 1.0 : 1350.0);
+        exchangeRates.getAll(List.of(Currency.values()));
+
+        pricingList = new ArrayList<>();
+        availabilities = new ArrayList<>();
+        LocalDate start = yearMonth.atDay(1);
+        int days = yearMonth.lengthOfMonth();
+        for (int i = 0; i < ranges; i++) {
+            LocalDate from = start.plusDays((long) days * i / ranges);
+            LocalDate to = start.plusDays((long) days * (i + 1) / ranges);
+            pricingList.add(new Pricing(room, from, to, 100_000 + i * 1_000));
+            availabilities.add(new Availability(room, from, to, i % 2 == 0));
+        }
+    }
+
+    @Benchmark
+    public List<DailyInfo> legacy() {
+        Map<LocalDate, Integer> pricingMap = flattenPricingList(pricingList, yearMonth);
+        Map<LocalDate, Boolean> availabilityMap = flattenAvailabilities(availabilities, yearMonth);
+
+        List<DailyInfo> dailyInfos = new ArrayList<>();
+        for (LocalDate date = yearMonth.atDay(1); !date.isAfter(yearMonth.atEndOfMonth()); date = date.plusDays(1)) {
+            int amount = pricingMap.getOrDefault(date, room.getBasePrice());
+            double price = amount * (exchangeRates.get(guestCurrency) / exchangeRates.get(room.getCurrency()));
+            boolean isAvailable = availabilityMap.getOrDefault(date, false);
+            dailyInfos.add(new DailyInfo(date, price, isAvailable));
+        }
+        return dailyInfos;
+    }
+
+    @Benchmark
+    public List<DailyInfo> dailyCalendar() {
+        double exchangeRate = exchangeRates.get(guestCurrency) / exchangeRates.get(room.getCurrency());
+        return DailyCalendar.of(yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1), room.getBasePrice())
+                .paintPricings(pricingList)
+                .paintAvailabilities(availabilities)
+                .toDailyInfos(exchangeRate);
+    }
+
+    private Map<LocalDate, Integer> flattenPricingList(List<Pricing> pricingList, YearMonth yearMonth) {
+        LocalDate start = yearMonth.atDay(1);
+        LocalDate end = yearMonth.plusMonths(1).atDay(1);
+        Map<LocalDate, Integer> pricingMap = new HashMap<>();
+
+        for (Pricing pricing : pricingList) {
+            for (LocalDate date = max(start, pricing.getStartDate()); date.isBefore(min(end, pricing.getEndDate())); date = date.plusDays(1)) {
+                pricingMap.put(date, pricing.getPricePerNight());
+            }
+        }
+        return pricingMap;
+    }
+
+    private Map<LocalDate, Boolean> flattenAvailabilities(List<Availability> availabilities, YearMonth yearMonth) {
+        LocalDate start = yearMonth.atDay(1);
+        LocalDate end = yearMonth.plusMonths(1).atDay(1);
+        Map<LocalDate, Boolean> availabilityMap = new HashMap<>();
+
+        for (Availability availability : availabilities) {
+            for (LocalDate date = max(start, availability.getStartDate()); date.isBefore(min(end, availability.getEndDate())); date = date.plusDays(1)) {
+                availabilityMap.put(date, availability.isAvailable());
+            }
+        }
+        return availabilityMap;
+    }
+
+    private LocalDate max(LocalDate date1, LocalDate date2) {
+        return date1.isAfter(date2) ? date1 : date2;
+    }
+
+    private LocalDate min(LocalDate date1, LocalDate date2) {
+        return date1.isBefore(date2) ? date1 : date2;
+    }
+}
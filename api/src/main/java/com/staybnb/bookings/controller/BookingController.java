@@ -42,14 +42,14 @@ public class BookingController {
     public CompletableFuture<BookingPreviewResponse> getBookingPreview(@Valid @ModelAttribute GetBookingPreviewRequest request) {
 //        log.info("step: controller entry → {}", Thread.currentThread().getName());
         return CompletableFuture
-                .supplyAsync(() -> bookingService.getBookingPreview(request), asyncExecutor)
-                .thenApply(BookingPreviewResponse::fromEntity);
+                .supplyAsync(() -> bookingService.getBookingQuote(request), asyncExecutor)
+                .thenApply(BookingPreviewResponse::fromQuote);
     }
 
     @PostMapping
     public CompletableFuture<ResponseEntity<BookingResponse>> createBooking(@Valid @RequestBody CreateBookingRequest request) {
         return CompletableFuture
-                .supplyAsync(() -> bookingService.createBooking(toEntity(request)), asyncExecutor)
+                .supplyAsync(() -> bookingService.createBooking(toEntity(request), request.getQuoteToken()), asyncExecutor)
                 .thenApply(booking -> {
                     CompletableFuture.runAsync(() ->
                             bookingEventProducer.produceBookingEvent(booking), asyncExecutor);
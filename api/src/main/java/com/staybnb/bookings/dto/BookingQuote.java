@@ -0,0 +1,16 @@
+package com.staybnb.bookings.dto;
+
+import com.staybnb.bookings.domain.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 예약 미리보기 결과와 그 가격에 대한 견적 토큰
+ */
+@Getter
+@AllArgsConstructor
+public class BookingQuote {
+
+    private Booking booking;
+    private String quoteToken;
+}
@@ -34,7 +34,10 @@ public class CreateBookingRequest {
     @NotNull
     private String currency;
 
-    public CreateBookingRequest(Long roomId, Long guestId, LocalDate checkIn, LocalDate checkOut, Integer numberOfGuests, Double bookingPrice, String currency) {
+    // 예약 미리보기에서 받은 견적 토큰 (없으면 예약 시 가격을 다시 계산)
+    private String quoteToken;
+
+    public CreateBookingRequest(Long roomId, Long guestId, LocalDate checkIn, LocalDate checkOut, Integer numberOfGuests, Double bookingPrice, String currency, String quoteToken) {
         this.roomId = roomId;
         this.guestId = guestId;
         this.checkIn = checkIn;
@@ -42,5 +45,6 @@ public class CreateBookingRequest {
         this.numberOfGuests = numberOfGuests;
         this.bookingPrice = bookingPrice;
         this.currency = currency;
+        this.quoteToken = quoteToken;
     }
 }
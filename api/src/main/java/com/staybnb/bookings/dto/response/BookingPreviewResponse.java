@@ -1,6 +1,7 @@
 package com.staybnb.bookings.dto.response;
 
 import com.staybnb.bookings.domain.Booking;
+import com.staybnb.bookings.dto.BookingQuote;
 import lombok.Getter;
 
 import java.time.LocalDate;
@@ -14,6 +15,7 @@ public class BookingPreviewResponse {
     private Integer numberOfGuests;
     private Double bookingPrice;
     private String currency;
+    private String quoteToken;
 
     public BookingPreviewResponse(Long roomId, LocalDate checkIn, LocalDate checkOut, Integer numberOfGuests, Double bookingPrice, String currency) {
         this.roomId = roomId;
@@ -34,4 +36,10 @@ public class BookingPreviewResponse {
                 booking.getCurrency().toString()
         );
     }
+
+    static public BookingPreviewResponse fromQuote(BookingQuote quote) {
+        BookingPreviewResponse response = fromEntity(quote.getBooking());
+        response.quoteToken = quote.getQuoteToken();
+        return response;
+    }
 }
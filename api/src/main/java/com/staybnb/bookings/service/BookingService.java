@@ -2,14 +2,17 @@ package com.staybnb.bookings.service;
 
 import com.staybnb.bookings.domain.Booking;
 import com.staybnb.bookings.domain.vo.BookingStatus;
+import com.staybnb.bookings.dto.BookingQuote;
 import com.staybnb.bookings.dto.request.GetBookingPreviewRequest;
 import com.staybnb.bookings.repository.BookingRepository;
+import com.staybnb.bookings.service.quote.BookingQuoteSigner;
 import com.staybnb.common.exception.custom.*;
 import com.staybnb.rooms.domain.Room;
 import com.staybnb.rooms.domain.vo.Currency;
 import com.staybnb.rooms.service.AvailabilityService;
 import com.staybnb.rooms.service.PricingService;
 import com.staybnb.rooms.service.RoomService;
+import com.staybnb.rooms.service.lock.RoomCalendarLock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -19,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.OptionalLong;
 
 import static com.staybnb.bookings.domain.vo.BookingStatus.*;
 import static com.staybnb.common.validation.business.AccessValidator.validateHost;
@@ -34,6 +38,8 @@ public class BookingService {
     private final RoomService roomService;
     private final AvailabilityService availabilityService;
     private final PricingService pricingService;
+    private final BookingQuoteSigner bookingQuoteSigner;
+    private final RoomCalendarLock roomCalendarLock;
 
     public Booking getBookingPreview(GetBookingPreviewRequest request) {
 //        log.info("step: service entry → {}", Thread.currentThread().getName());
@@ -48,13 +54,41 @@ public class BookingService {
         return new Booking(room, null, request.getNumberOfGuests(), request.getCheckIn(), request.getCheckOut(), bookingPrice, guestCurrency);
     }
 
+    /**
+     * 예약 미리보기와 함께 견적 토큰 발급.
+     * 가격 버전을 가격 계산보다 먼저 읽으므로, 그 사이에 가격이 바뀌면 토큰의 버전이 현재 버전보다 낮아 예약 시 가격을 다시 계산한다.
+     */
+    public BookingQuote getBookingQuote(GetBookingPreviewRequest request) {
+        long pricingVersion = roomService.getPricingVersion(request.getRoomId());
+        Booking preview = getBookingPreview(request);
+        return new BookingQuote(preview, bookingQuoteSigner.sign(preview, pricingVersion));
+    }
+
     @Transactional
     public Booking createBooking(Booking booking) {
-        checkAvailabilityForUpdate(booking.getRoom(), booking.getCheckIn(), booking.getCheckOut());
+        return createBooking(booking, null);
+    }
+
+    /**
+     * 유효한 견적 토큰이 있고 숙소 가격 버전이 견적 시점과 같으면 가격을 다시 계산하지 않는다.
+     * 토큰이 없거나 만료/변조되었거나 가격이 바뀐 경우에는 가격을 다시 계산해서 비교한다.
+     * <p>
+     * 인원, 가격 확인은 availability 와 관계없으므로 잠금 전에 하고, 잠금 이후에는 예약 가능 여부 확인과 availability 변경만 한다.
+     * 숙소 잠금 모드(room-calendar-lock.mode)에 따라 숙소 단위 잠금 또는 availability 행 잠금으로 같은 숙소의 예약을 직렬화한다.
+     */
+    @Transactional
+    public Booking createBooking(Booking booking, String quoteToken) {
+        boolean quoted = isQuoteValid(booking, quoteToken);
+
         checkNumberOfGuests(booking.getRoom(), booking.getNumberOfGuests());
 
-        double bookingPrice = pricingService.getTotalPrice(booking.getRoom(), booking.getCheckIn(), booking.getCheckOut(), booking.getCurrency());
-        checkIfPriceChanged(booking.getBookingPrice(), bookingPrice);
+        if (!quoted) {
+            double bookingPrice = pricingService.getTotalPrice(booking.getRoom(), booking.getCheckIn(), booking.getCheckOut(), booking.getCurrency());
+            checkIfPriceChanged(booking.getBookingPrice(), bookingPrice);
+        }
+
+        roomCalendarLock.lock(booking.getRoom().getId());
+        checkAvailabilityForUpdate(booking.getRoom(), booking.getCheckIn(), booking.getCheckOut());
 
         availabilityService.updateAvailabilityToFalse(booking.getRoom(), booking.getCheckIn(), booking.getCheckOut());
         booking.setStatus(REQUESTED);
@@ -62,6 +96,23 @@ public class BookingService {
         return bookingRepository.save(booking);
     }
 
+    private boolean isQuoteValid(Booking booking, String quoteToken) {
+        if (quoteToken == null) {
+            return false;
+        }
+
+        OptionalLong quotedPricingVersion = bookingQuoteSigner.verify(quoteToken, booking);
+        if (quotedPricingVersion.isEmpty()) {
+            log.debug("Invalid booking quote token for room {}", booking.getRoom().getId());
+            return false;
+        }
+        if (quotedPricingVersion.getAsLong() != roomService.getPricingVersion(booking.getRoom().getId())) {
+            log.debug("Pricing of room {} changed after quote", booking.getRoom().getId());
+            return false;
+        }
+        return true;
+    }
+
     private void checkAvailability(Room room, LocalDate checkInInclusive, LocalDate checkOutExclusive) {
         if (!availabilityService.isAvailable(room.getId(), checkInInclusive, checkOutExclusive)) {
             throw new UnavailableDateException(checkInInclusive, checkOutExclusive);
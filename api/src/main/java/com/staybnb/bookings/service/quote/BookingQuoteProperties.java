@@ -0,0 +1,16 @@
+package com.staybnb.bookings.service.quote;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "booking-quote")
+public class BookingQuoteProperties {
+
+    private String secretKey;
+    private long ttlSeconds = 600; // 견적 토큰 유효 시간 (이 시간 동안은 견적 시점 환율로 예약 가능)
+}
@@ -0,0 +1,95 @@
+package com.staybnb.bookings.service.quote;
+
+import com.staybnb.bookings.domain.Booking;
+import com.staybnb.common.auth.jwt.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * 예약 견적 토큰 발급/검증 (HMAC-SHA 서명 JWT).
+ * 숙소, 체크인/체크아웃, 인원, 통화, 가격과 견적 시점의 숙소 가격 버전을 담는다.
+ * 서명, 만료, 예약 내용 일치 여부만 확인하며 가격 버전이 현재 값과 같은지는 호출하는 쪽에서 확인한다.
+ * <p>
+ * 로그인 토큰으로 쓰이지 않도록 로그인 JWT 와 다른 키로 서명하고, audience 를 AUDIENCE 로 지정한다 (JwtUtils 는 audience 가 있는 토큰을 거부).
+ */
+@Component
+public class BookingQuoteSigner {
+
+    public static final String AUDIENCE = "booking-quote";
+
+    private static final String CHECK_IN = "checkIn";
+    private static final String CHECK_OUT = "checkOut";
+    private static final String NUMBER_OF_GUESTS = "numberOfGuests";
+    private static final String BOOKING_PRICE = "bookingPrice";
+    private static final String CURRENCY = "currency";
+    private static final String PRICING_VERSION = "pricingVersion";
+
+    private final SecretKey secretKey;
+    private final long ttlMillis;
+
+    BookingQuoteSigner(BookingQuoteProperties bookingQuoteProperties, JwtProperties jwtProperties) {
+        String secretKey = bookingQuoteProperties.getSecretKey();
+        if (secretKey == null || secretKey.isBlank() || secretKey.equals(jwtProperties.getSecretKey())) {
+            throw new IllegalStateException("booking-quote.secret-key(BOOKING_QUOTE_SECRET_KEY) 는 jwt.secret-key 와 다른 값으로 설정해야 합니다.");
+        }
+        this.secretKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.ttlMillis = bookingQuoteProperties.getTtlSeconds() * 1000;
+    }
+
+    public String sign(Booking booking, long pricingVersion) {
+        return Jwts.builder()
+                .subject(booking.getRoom().getId().toString())
+                .audience().add(AUDIENCE).and()
+                .claim(CHECK_IN, booking.getCheckIn().toString())
+                .claim(CHECK_OUT, booking.getCheckOut().toString())
+                .claim(NUMBER_OF_GUESTS, booking.getNumberOfGuests())
+                .claim(BOOKING_PRICE, booking.getBookingPrice())
+                .claim(CURRENCY, booking.getCurrency().toString())
+                .claim(PRICING_VERSION, pricingVersion)
+                .expiration(new Date(System.currentTimeMillis() + ttlMillis))
+                .issuedAt(new Date())
+                .signWith(secretKey)
+                .compact();
+    }
+
+    /**
+     * 토큰이 유효하고 booking 과 내용이 같으면 견적 시점의 가격 버전 반환
+     */
+    public OptionalLong verify(String token, Booking booking) {
+        Claims claims;
+        try {
+            claims = Jwts.parser()
+                    .verifyWith(secretKey)
+                    .requireAudience(AUDIENCE)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return OptionalLong.empty();
+        }
+
+        Number numberOfGuests = claims.get(NUMBER_OF_GUESTS, Number.class);
+        Number bookingPrice = claims.get(BOOKING_PRICE, Number.class);
+        Number pricingVersion = claims.get(PRICING_VERSION, Number.class);
+        if (numberOfGuests == null || bookingPrice == null || pricingVersion == null) {
+            return OptionalLong.empty();
+        }
+
+        boolean matches = booking.getRoom().getId().toString().equals(claims.getSubject())
+                && booking.getCheckIn().toString().equals(claims.get(CHECK_IN, String.class))
+                && booking.getCheckOut().toString().equals(claims.get(CHECK_OUT, String.class))
+                && booking.getNumberOfGuests() == numberOfGuests.intValue()
+                && Objects.equals(booking.getBookingPrice(), bookingPrice.doubleValue())
+                && booking.getCurrency().toString().equals(claims.get(CURRENCY, String.class));
+
+        return matches ? OptionalLong.of(pricingVersion.longValue()) : OptionalLong.empty();
+    }
+}
@@ -29,19 +29,20 @@ public class JwtInterceptor implements HandlerInterceptor {
         }
         String token = authorization.substring(7);
 
-        if (logoutTokenService.isTokenBlacklisted(token)) {
-            sendErrorResponse(response, "A002", "Token is blacklisted (logged out)");
+        // 서명이 다른 토큰(예약 견적 토큰 등)은 blacklist 조회 전에 거부
+        if (!jwtUtil.validateToken(token)) {
+            sendErrorResponse(response, "A003", "Invalid token");
             return false;
         }
 
-        if (jwtUtil.validateToken(token)) {
-            LoginUser loginUser = new LoginUser(Long.parseLong(jwtUtil.getUserId(token)), jwtUtil.getUserName(token));
-            request.setAttribute("LOGIN_USER", loginUser);
-            return true;
-        } else {
-            sendErrorResponse(response, "A003", "Invalid token");
+        if (logoutTokenService.isTokenBlacklisted(token)) {
+            sendErrorResponse(response, "A002", "Token is blacklisted (logged out)");
             return false;
         }
+
+        LoginUser loginUser = new LoginUser(Long.parseLong(jwtUtil.getUserId(token)), jwtUtil.getUserName(token));
+        request.setAttribute("LOGIN_USER", loginUser);
+        return true;
     }
 
     private void sendErrorResponse(HttpServletResponse response, String code, String message) throws IOException {
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Set;
 import java.util.UUID;
 
 @Component
@@ -31,14 +32,19 @@ public class JwtUtils {
                 .compact();
     }
 
+    /**
+     * 로그인 토큰은 audience 없이 발급하므로, audience 가 있는 토큰(예약 견적 토큰 등 다른 용도의 토큰)은 거부한다
+     */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
+            Set<String> audience = Jwts.parser()
                     .verifyWith(secretKey)
                     .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException e) {
+                    .parseSignedClaims(token)
+                    .getPayload()
+                    .getAudience();
+            return audience == null || audience.isEmpty();
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
@@ -2,6 +2,7 @@ package com.staybnb.common.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -9,7 +10,9 @@ import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
-public class AsyncConfig {
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String ROOM_EXPORT_EXECUTOR = "roomExportExecutor";
 
     @Bean
     public Executor asyncExecutor() {
@@ -21,4 +24,27 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * executor 를 지정하지 않은 @Async 는 asyncExecutor 사용 (Executor bean 이 여러 개라 명시)
+     */
+    @Override
+    public Executor getAsyncExecutor() {
+        return asyncExecutor();
+    }
+
+    /**
+     * 숙소 export 전용 executor. export 는 스트리밍이 끝날 때까지 스레드, 트랜잭션, DB 연결을 점유하므로
+     * 다른 @Async 호출과 분리하고, 동시에 max-concurrent 개까지만 실행한다 (대기 큐 없이 거절, 429 응답).
+     */
+    @Bean(ROOM_EXPORT_EXECUTOR)
+    public Executor roomExportExecutor(RoomExportProperties roomExportProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(roomExportProperties.getMaxConcurrent());
+        executor.setMaxPoolSize(roomExportProperties.getMaxConcurrent());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("RoomExport-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,15 @@
+package com.staybnb.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "room-export")
+public class RoomExportProperties {
+
+    private int maxConcurrent = 4; // 동시에 실행하는 export 수 (export 마다 DB 커넥션 하나를 끝날 때까지 사용)
+}
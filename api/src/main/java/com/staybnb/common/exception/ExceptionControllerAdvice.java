@@ -3,6 +3,8 @@ package com.staybnb.common.exception;
 import com.staybnb.common.exception.custom.*;
 import io.jsonwebtoken.ExpiredJwtException;
 import org.hibernate.HibernateException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -19,6 +21,8 @@ import java.util.NoSuchElementException;
 @RestControllerAdvice
 public class ExceptionControllerAdvice {
 
+    private static final String EXCLUSION_VIOLATION = "23P01"; // PostgreSQL exclusion_violation
+
     @ExceptionHandler({UnauthorizedException.class, ExpiredJwtException.class})
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public ExceptionResponse handleUnauthorizedException(RuntimeException e) {
@@ -31,6 +35,12 @@ public class ExceptionControllerAdvice {
         return new ExceptionResponse("S001", e.getMessage()); // 연결 실패 (ex. 레디스 소켓 연결 실패)
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ExceptionResponse handleTaskRejectedException(TaskRejectedException e) {
+        return new ExceptionResponse("S002", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."); // 비동기 작업 실행 거절 (동시 실행 수 초과)
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.METHOD_NOT_ALLOWED)
     public ExceptionResponse handleMethodNotSupportedException(HttpRequestMethodNotSupportedException e) {
@@ -104,6 +114,19 @@ public class ExceptionControllerAdvice {
         return new ExceptionResponse("Q001", e.getMessage()); // SQL 문법 예외
     }
 
+    /**
+     * pricing, availability 의 겹침 금지 제약(EXCLUDE) 위반은 같은 숙소 캘린더를 동시에 바꾼 경우
+     * (예: ROW 모드의 예약과 호스트 수정, 캘린더 압축 batch 와 잠금 없이 행을 바꾼 수정)에 생기며, 다시 시도하면 성공한다.
+     */
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ExceptionResponse handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        if (e.getMostSpecificCause() instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+            return new ExceptionResponse("Q003", "같은 숙소의 캘린더가 동시에 변경되었습니다. 잠시 후 다시 시도해 주세요."); // 캘린더 동시 변경
+        }
+        return new ExceptionResponse("Q004", e.getMostSpecificCause().getMessage()); // 무결성 제약 위반
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ExceptionResponse handleHibernateException(HibernateException e) {
@@ -0,0 +1,7 @@
+package com.staybnb.common.exception.custom;
+
+public class InvalidCursorException extends IllegalArgumentException {
+    public InvalidCursorException(String cursor) {
+        super("cursor가 유효하지 않습니다. cursor: " + cursor);
+    }
+}
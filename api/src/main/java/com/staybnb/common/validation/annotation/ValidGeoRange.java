@@ -0,0 +1,19 @@
+package com.staybnb.common.validation.annotation;
+
+import com.staybnb.common.validation.annotation.validator.GeoRangeValidator;
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = GeoRangeValidator.class)
+public @interface ValidGeoRange {
+    String message() default "지도 검색 범위가 유효하지 않습니다.";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,34 @@
+package com.staybnb.common.validation.annotation.validator;
+
+import com.staybnb.common.validation.annotation.ValidGeoRange;
+import com.staybnb.rooms.dto.request.SearchRoomRequest;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+public class GeoRangeValidator implements ConstraintValidator<ValidGeoRange, SearchRoomRequest> {
+
+    @Override
+    public boolean isValid(SearchRoomRequest request, ConstraintValidatorContext context) {
+        // 중심 좌표는 latitude, longitude 가 함께 있어야 하고, 반경은 중심 좌표가 있어야 함
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            return false;
+        }
+        if (request.getRadiusKm() != null && request.getLatitude() == null) {
+            return false;
+        }
+
+        // 영역은 네 모서리 값이 모두 있거나 모두 없어야 함 (날짜변경선을 넘는 영역은 지원하지 않음)
+        long boxValues = Stream.of(request.getSwLatitude(), request.getSwLongitude(), request.getNeLatitude(), request.getNeLongitude())
+                .filter(Objects::nonNull)
+                .count();
+        if (boxValues == 0) {
+            return true;
+        }
+        return boxValues == 4
+                && request.getSwLatitude() <= request.getNeLatitude()
+                && request.getSwLongitude() <= request.getNeLongitude();
+    }
+}
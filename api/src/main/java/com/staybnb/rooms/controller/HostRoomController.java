@@ -75,6 +75,15 @@ public class HostRoomController {
         return pricingService.updateSelectedDatesPricing(loginUser.getId(), roomId, updatePricingRequest);
     }
 
+    @PostMapping("/{roomId}/pricing/sql")
+    public CompletableFuture<Void> updatePricingSql(
+            @PathVariable long roomId,
+            @Valid @RequestBody UpdatePricingRequest updatePricingRequest,
+            LoginUser loginUser
+    ) {
+        return pricingService.updateSelectedDatesPricingSql(loginUser.getId(), roomId, updatePricingRequest);
+    }
+
     @PostMapping("/{roomId}/availability")
     public CompletableFuture<Void> updateAvailability(
             @PathVariable long roomId,
@@ -1,22 +1,48 @@
 package com.staybnb.rooms.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.staybnb.rooms.domain.Amenity;
 import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.dto.ContentVersion;
+import com.staybnb.rooms.dto.CountedPage;
 import com.staybnb.rooms.dto.SearchRoomCondition;
+import com.staybnb.rooms.dto.request.SearchAvailableStayRequest;
+import com.staybnb.rooms.dto.request.SearchBulkAvailabilityRequest;
+import com.staybnb.rooms.dto.request.SearchBulkPricingRequest;
+import com.staybnb.rooms.dto.request.SearchCalendarRequest;
 import com.staybnb.rooms.dto.request.SearchPricingRequest;
 import com.staybnb.rooms.dto.request.SearchRoomRequest;
+import com.staybnb.rooms.dto.request.vo.RoomCursor;
+import com.staybnb.rooms.dto.response.AvailableStayResponse;
+import com.staybnb.rooms.dto.response.BulkAvailabilityResponse;
+import com.staybnb.rooms.dto.response.CalendarRangeResponse;
 import com.staybnb.rooms.dto.response.CalendarResponse;
 import com.staybnb.rooms.dto.response.PricingResponse;
 import com.staybnb.rooms.dto.response.RoomResponse;
+import com.staybnb.rooms.dto.response.RoomScrollResponse;
 import com.staybnb.rooms.service.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.YearMonth;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
@@ -24,20 +50,90 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 public class RoomController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final String TOTAL_COUNT_STRATEGY_HEADER = "X-Total-Count-Strategy";
+    private static final long EXPORT_TIMEOUT_MILLIS = 10 * 60 * 1000L; // 기본 비동기 요청 타임아웃(30초)보다 길게
+
     private final RoomService roomService;
     private final PricingService pricingService;
     private final CalendarService pricingAndAvailabilityService;
+    private final AvailabilityService availabilityService;
+    private final AmenityService amenityService;
+    private final PlaceTypeService placeTypeService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * 숙소 조회. If-None-Match/If-Modified-Since 가 현재 버전과 같으면 숙소를 조회하지 않고 304 응답
+     */
     @GetMapping("/{roomId}")
-    public CompletableFuture<RoomResponse> getRoom(@PathVariable long roomId) {
+    public CompletableFuture<ResponseEntity<RoomResponse>> getRoom(@PathVariable long roomId, WebRequest webRequest) {
 //        log.info("step: controller entry → {}", Thread.currentThread().getName());
-        return roomService.getRoom(roomId).thenApply(RoomResponse::fromDomain);
+        return conditionalGet(webRequest, roomService.getRoomVersion(roomId),
+                () -> roomService.getRoom(roomId).thenApply(RoomResponse::fromDomain));
     }
 
+    /**
+     * 숙소 검색. 전체 개수를 구한 방식(EXACT, PAGE, CACHED)은 X-Total-Count-Strategy 헤더로 전달
+     */
     @GetMapping
-    public CompletableFuture<PagedModel<RoomResponse>> getRooms(@Valid @ModelAttribute SearchRoomRequest searchRoomRequest, Pageable pageable) {
+    public CompletableFuture<ResponseEntity<PagedModel<RoomResponse>>> getRooms(@Valid @ModelAttribute SearchRoomRequest searchRoomRequest, Pageable pageable) {
         return roomService.findAll(toCondition(searchRoomRequest), pageable)
-                .thenApply(rooms -> new PagedModel<>(rooms.map(RoomResponse::fromDomain)));
+                .thenApply(rooms -> ResponseEntity.ok()
+                        .header(TOTAL_COUNT_STRATEGY_HEADER, CountedPage.countStrategyOf(rooms).name())
+                        .body(new PagedModel<>(rooms.map(RoomResponse::fromDomain))));
+    }
+
+    /**
+     * 커서 기반 숙소 검색 (cursor 파라미터가 있는 경우).
+     * 첫 페이지는 빈 cursor 로 요청하고, 이후에는 응답의 next 값을 cursor 로 전달
+     */
+    @GetMapping(params = "cursor")
+    public CompletableFuture<RoomScrollResponse> getRoomsByCursor(
+            @Valid @ModelAttribute SearchRoomRequest searchRoomRequest,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Sort sort
+    ) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        }
+        RoomCursor roomCursor = StringUtils.hasText(cursor) ? RoomCursor.decode(cursor) : RoomCursor.initial(sort);
+
+        return roomService.findAll(toCondition(searchRoomRequest), roomCursor.getPosition(), roomCursor.getSort(), Math.min(size, MAX_SCROLL_SIZE))
+                .thenApply(rooms -> new RoomScrollResponse(
+                        rooms.map(RoomResponse::fromDomain).getContent(),
+                        rooms.hasNext()
+                                ? new RoomCursor(roomCursor.getSort(), (KeysetScrollPosition) rooms.positionAt(rooms.size() - 1)).encode()
+                                : null
+                ));
+    }
+
+    /**
+     * 검색 결과 전체를 NDJSON(한 줄에 숙소 하나)으로 스트리밍. 페이지, 정렬 없이 id 순으로 전달
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> exportRooms(@Valid @ModelAttribute SearchRoomRequest searchRoomRequest) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(EXPORT_TIMEOUT_MILLIS);
+
+        roomService.exportAll(toCondition(searchRoomRequest), rooms -> sendNdjson(emitter, rooms))
+                .whenComplete((result, e) -> {
+                    if (e == null) {
+                        emitter.complete();
+                    } else {
+                        log.warn("Room export aborted: {}", e.getMessage());
+                        emitter.completeWithError(e);
+                    }
+                });
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    /**
+     * 여러 숙소의 같은 기간 숙박 총 가격 조회 (숙소 비교 화면용)
+     */
+    @GetMapping("/pricing")
+    public CompletableFuture<List<PricingResponse>> getTotalPricings(@Valid @ModelAttribute SearchBulkPricingRequest searchBulkPricingRequest) {
+        return pricingService.getTotalPricings(searchBulkPricingRequest);
     }
 
     @GetMapping("/{roomId}/pricing")
@@ -45,9 +141,71 @@ public class RoomController {
         return pricingService.getTotalPricing(roomId, searchPricingRequest);
     }
 
+    /**
+     * 여러 숙소의 같은 기간 예약 가능 여부 조회 (검색 결과의 예약 가능 표시용)
+     */
+    @GetMapping("/availability")
+    public CompletableFuture<BulkAvailabilityResponse> getAvailableRoomIds(@Valid @ModelAttribute SearchBulkAvailabilityRequest searchBulkAvailabilityRequest) {
+        return availabilityService.getAvailableRoomIds(searchBulkAvailabilityRequest);
+    }
+
+    /**
+     * nights 박 연속으로 예약 가능한 가장 빠른 기간 조회 (from 이 없으면 오늘부터)
+     */
+    @GetMapping("/{roomId}/availability")
+    public CompletableFuture<AvailableStayResponse> getFirstAvailableStay(@PathVariable long roomId, @Valid @ModelAttribute SearchAvailableStayRequest searchAvailableStayRequest) {
+        return availabilityService.findFirstAvailableStay(roomId, searchAvailableStayRequest);
+    }
+
+    /**
+     * 한 달 캘린더 조회. If-None-Match/If-Modified-Since 가 현재 버전과 같으면 pricing, availability 를 조회하지 않고 304 응답
+     */
     @GetMapping("/{roomId}/calendar")
-    public CompletableFuture<CalendarResponse> getCalendar(@PathVariable long roomId, @RequestParam String currency, @RequestParam YearMonth yearMonth) {
-        return pricingAndAvailabilityService.getCalendar(roomId, currency, yearMonth);
+    public CompletableFuture<ResponseEntity<CalendarResponse>> getCalendar(@PathVariable long roomId, @RequestParam String currency, @RequestParam YearMonth yearMonth,
+                                                                           WebRequest webRequest) {
+        return conditionalGet(webRequest, pricingAndAvailabilityService.getCalendarVersion(roomId, currency),
+                () -> pricingAndAvailabilityService.getCalendar(roomId, currency, yearMonth));
+    }
+
+    /**
+     * 여러 달 캘린더 조회 (from, to 가 있으면 한 달 캘린더 대신 처리). 조건부 요청은 한 달 캘린더와 같이 처리
+     */
+    @GetMapping(value = "/{roomId}/calendar", params = {"from", "to"})
+    public CompletableFuture<ResponseEntity<CalendarRangeResponse>> getCalendarRange(@PathVariable long roomId, @Valid @ModelAttribute SearchCalendarRequest searchCalendarRequest,
+                                                                                     WebRequest webRequest) {
+        return conditionalGet(webRequest, pricingAndAvailabilityService.getCalendarVersion(roomId, searchCalendarRequest.getCurrency()),
+                () -> pricingAndAvailabilityService.getCalendar(roomId, searchCalendarRequest));
+    }
+
+    /**
+     * 요청의 조건부 헤더가 version 과 일치하면 body 를 만들지 않고 304, 아니면 body 와 ETag, Last-Modified 를 함께 응답.
+     * version 을 body 보다 먼저 구하므로, 그 사이에 변경이 있어도 다음 요청에서 새 body 를 받는다.
+     */
+    private <T> CompletableFuture<ResponseEntity<T>> conditionalGet(WebRequest webRequest, ContentVersion version,
+                                                                    Supplier<CompletableFuture<T>> body) {
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(version.getETag())
+                    .lastModified(version.getLastModified())
+                    .build());
+        }
+        return body.get().thenApply(content -> ResponseEntity.ok()
+                .eTag(version.getETag())
+                .lastModified(version.getLastModified())
+                .body(content));
+    }
+
+    private void sendNdjson(ResponseBodyEmitter emitter, List<Room> rooms) {
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (Room room : rooms) {
+                lines.write(objectMapper.writeValueAsBytes(RoomResponse.fromDomain(room)));
+                lines.write('\n');
+            }
+            emitter.send(lines.toByteArray(), MediaType.APPLICATION_NDJSON);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private SearchRoomCondition toCondition(SearchRoomRequest request) {
@@ -59,6 +217,17 @@ public class RoomController {
                 .priceFrom(request.getPriceFrom())
                 .priceTo(request.getPriceTo())
                 .currency(request.getCurrency())
+                .amenityBits(request.getAmenities() == null || request.getAmenities().isEmpty()
+                        ? null
+                        : Amenity.bitsOf(amenityService.getAmenitySetByStringSet(request.getAmenities())))
+                .placeTypeId(request.getPlaceType() == null ? null : placeTypeService.getByName(request.getPlaceType()).getId())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .radiusKm(request.getRadiusKm())
+                .swLatitude(request.getSwLatitude())
+                .swLongitude(request.getSwLongitude())
+                .neLatitude(request.getNeLatitude())
+                .neLongitude(request.getNeLongitude())
                 .build();
     }
 }
@@ -0,0 +1,15 @@
+package com.staybnb.rooms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 조건부 GET 용 응답 버전 (ETag, Last-Modified)
+ */
+@Getter
+@AllArgsConstructor
+public class ContentVersion {
+
+    private String eTag;
+    private long lastModified; // epoch millis
+}
@@ -0,0 +1,25 @@
+package com.staybnb.rooms.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class SearchAvailableStayRequest {
+
+    @NotNull
+    @Min(1)
+    private Integer nights;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from; // 없으면 오늘
+
+    public LocalDate getFrom() {
+        return from == null ? LocalDate.now() : from;
+    }
+}
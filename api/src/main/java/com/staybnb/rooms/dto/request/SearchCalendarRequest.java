@@ -0,0 +1,28 @@
+package com.staybnb.rooms.dto.request;
+
+import com.staybnb.rooms.dto.request.vo.CalendarFormat;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.YearMonth;
+
+@Getter
+@AllArgsConstructor
+public class SearchCalendarRequest {
+
+    @NotNull
+    private String currency;
+
+    @NotNull
+    private YearMonth from; // inclusive
+
+    @NotNull
+    private YearMonth to; // inclusive
+
+    private CalendarFormat format; // 없으면 SPANS
+
+    public CalendarFormat getFormat() {
+        return format == null ? CalendarFormat.SPANS : format;
+    }
+}
@@ -2,20 +2,26 @@ package com.staybnb.rooms.dto.request;
 
 import com.staybnb.common.validation.annotation.NullOrNotBlank;
 import com.staybnb.common.validation.annotation.ValidDateRange;
+import com.staybnb.common.validation.annotation.ValidGeoRange;
 import com.staybnb.common.validation.annotation.ValidPriceRange;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
+import java.util.Set;
 
 @Getter
 @Builder
 @ToString
 @ValidDateRange
 @ValidPriceRange
+@ValidGeoRange
 public class SearchRoomRequest {
 
     @Min(1)
@@ -38,4 +44,40 @@ public class SearchRoomRequest {
 
     private String currency;
 
+    // amenity 이름 목록 (모두 갖춘 숙소만 검색), 예: amenities=wifi,kitchen
+    private Set<String> amenities;
+
+    @NullOrNotBlank
+    private String placeType;
+
+    // 지도 검색 중심 좌표 (radiusKm 이 없으면 거리순 정렬에만 사용)
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+
+    @Positive
+    @DecimalMax("500.0")
+    private Double radiusKm;
+
+    // 지도 화면 영역 (남서, 북동 모서리)
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double swLatitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double swLongitude;
+
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double neLatitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double neLongitude;
+
 }
@@ -0,0 +1,9 @@
+package com.staybnb.rooms.dto.request.vo;
+
+/**
+ * 캘린더 응답 형식
+ */
+public enum CalendarFormat {
+    DAILY, // 날짜별 DailyInfo
+    SPANS  // 가격, 예약 가능 여부가 같은 연속된 날짜를 하나로 묶은 CalendarSpan
+}
@@ -0,0 +1,64 @@
+package com.staybnb.rooms.dto.request.vo;
+
+import com.staybnb.common.exception.custom.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 숙소 검색 키셋 페이지네이션 커서.
+ * 정렬 조건과 이전 페이지 마지막 숙소의 정렬 키 값을 "property:direction:value,..." 형태로 만든 뒤
+ * Base64(URL-safe) 인코딩해서 클라이언트에 불투명한 문자열로 전달
+ */
+@Getter
+@AllArgsConstructor
+public class RoomCursor {
+
+    private Sort sort;
+    private KeysetScrollPosition position;
+
+    public static RoomCursor initial(Sort sort) {
+        return new RoomCursor(sort, ScrollPosition.keyset());
+    }
+
+    public static RoomCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            List<Sort.Order> orders = new ArrayList<>();
+            Map<String, Object> keys = new LinkedHashMap<>();
+
+            for (String token : decoded.split(",")) {
+                String[] parts = token.split(":");
+                orders.add(new Sort.Order(Sort.Direction.valueOf(parts[1]), parts[0]));
+                keys.put(parts[0], new BigDecimal(parts[2]));
+            }
+
+            return new RoomCursor(Sort.by(orders), ScrollPosition.forward(keys));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public String encode() {
+        List<String> tokens = new ArrayList<>();
+        // position 에는 정렬 조건 뒤에 붙는 id 키까지 포함되어 있음 (정렬 조건에 없는 키는 오름차순)
+        for (Map.Entry<String, Object> key : position.getKeys().entrySet()) {
+            Sort.Order order = sort.getOrderFor(key.getKey());
+            Sort.Direction direction = order == null ? Sort.Direction.ASC : order.getDirection();
+            tokens.add(key.getKey() + ":" + direction + ":" + key.getValue());
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(",", tokens).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,21 @@
+package com.staybnb.rooms.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 연속 N 박 예약 가능한 가장 빠른 기간. 1년 안에 없으면 checkIn, checkOut 을 채우지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailableStayResponse {
+
+    private Long roomId;
+    private Integer nights;
+    private LocalDate checkIn;
+    private LocalDate checkOut; // exclusive
+}
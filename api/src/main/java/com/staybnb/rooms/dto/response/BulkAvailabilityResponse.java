@@ -0,0 +1,19 @@
+package com.staybnb.rooms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 여러 숙소 중 [startDate, endDate) 전체가 예약 가능한 숙소 id (요청한 roomIds 순서)
+ */
+@Getter
+@AllArgsConstructor
+public class BulkAvailabilityResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate; // exclusive
+    private List<Long> availableRoomIds;
+}
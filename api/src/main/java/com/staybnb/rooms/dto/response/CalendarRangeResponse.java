@@ -0,0 +1,26 @@
+package com.staybnb.rooms.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.staybnb.rooms.dto.response.vo.CalendarSpan;
+import com.staybnb.rooms.dto.response.vo.DailyInfo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 여러 달 캘린더. 요청 형식에 따라 dailyInfos, spans 중 하나만 채운다.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CalendarRangeResponse {
+
+    private Long roomId;
+    private String currency;
+    private LocalDate startDate; // inclusive
+    private LocalDate endDate; // exclusive
+    private List<DailyInfo> dailyInfos;
+    private List<CalendarSpan> spans;
+}
@@ -0,0 +1,14 @@
+package com.staybnb.rooms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class RoomScrollResponse {
+
+    private List<RoomResponse> content;
+    private String next; // 마지막 페이지인 경우 null
+}
@@ -0,0 +1,19 @@
+package com.staybnb.rooms.dto.response.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * [startDate, endDate) 기간 동안 1박 가격과 예약 가능 여부가 같은 구간
+ */
+@Getter
+@AllArgsConstructor
+public class CalendarSpan {
+
+    private LocalDate startDate; // inclusive
+    private LocalDate endDate; // exclusive
+    private Double price;
+    private Boolean isAvailable;
+}
@@ -0,0 +1,25 @@
+package com.staybnb.rooms.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 숙소의 availability 또는 pricing 이 [startDate, endDate) 구간에서 변경된 경우 변경한 트랜잭션 안에서 발행한다.
+ * pricing 변경의 가격, 캘린더 버전은 같은 트랜잭션의 커밋 직전(BEFORE_COMMIT)에 증가시키고,
+ * availability 변경의 캘린더 버전과 room_search, 캐시와 인덱스는 커밋 후에 갱신한다.
+ */
+@Getter
+@AllArgsConstructor
+public class RoomCalendarChangedEvent {
+
+    private long roomId;
+    private Type type;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    public enum Type {
+        AVAILABILITY, PRICING
+    }
+}
@@ -0,0 +1,17 @@
+package com.staybnb.rooms.event;
+
+import com.staybnb.rooms.domain.Room;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 숙소 등록/수정/삭제 이벤트. 변경한 트랜잭션 안에서 발행한다.
+ * 숙소 버전과 room_search 는 같은 트랜잭션의 커밋 직전(BEFORE_COMMIT)에, 캐시와 인메모리 인덱스는 커밋 후에 갱신한다.
+ * 삭제된 숙소는 room.isDeleted() == true
+ */
+@Getter
+@AllArgsConstructor
+public class RoomChangedEvent {
+
+    private Room room;
+}
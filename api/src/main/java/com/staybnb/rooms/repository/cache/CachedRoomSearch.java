@@ -0,0 +1,20 @@
+package com.staybnb.rooms.repository.cache;
+
+import com.staybnb.rooms.dto.SearchRoomCondition;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 검색 결과 캐시 값. Room 엔티티 대신 페이지의 room id 목록과 전체 개수만 저장
+ */
+@Getter
+@AllArgsConstructor
+public class CachedRoomSearch {
+
+    private SearchRoomCondition condition; // 무효화 대상 판단용
+    private List<Long> roomIds;
+    private long total;
+    private long generation; // Redis generation (Redis tier 를 쓰지 않으면 0)
+}
@@ -0,0 +1,280 @@
+package com.staybnb.rooms.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.staybnb.rooms.domain.Availability;
+import com.staybnb.rooms.event.RoomCalendarChangedEvent;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import com.staybnb.rooms.repository.AvailabilityRepository;
+import com.staybnb.rooms.service.calendar.DailyCalendar;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 숙소별 예약 가능 날짜 bitmap 인덱스 (오늘부터 WINDOW_DAYS 일, 1bit = 1일).
+ * 기간 예약 가능 여부는 기간 bit 가 모두 1 인지, 연속 N 박 예약 가능한 첫 날짜는 1 인 bit 구간을 건너뛰며 찾는다.
+ * <p>
+ * 처음 조회할 때 availability 로 만들고(여러 숙소를 함께 조회하면 availability 조회 한 번) 날짜가 바뀌면 다시 만든다. availability 변경, 숙소 삭제 이벤트로 해당 숙소만 제거하며,
+ * 메모리 상한을 넘으면 오래 사용하지 않은 숙소부터 제거한다.
+ * Redis tier 를 켜면 bitmap 을 Redis bitmap 형식(SETBIT/BITFIELD 와 같은 bit 순서)으로 서버 간 공유하고,
+ * 다른 서버의 변경은 Redis 에서 바로, 로컬 캐시에서는 ttl 안에 반영된다.
+ * Redis 의 bitmap key 에는 숙소별 버전이 들어가며 무효화할 때 버전을 올린다. availability 조회 전에 읽은 버전의 key 에 쓰므로,
+ * 조회 중에 어느 서버에서든 무효화가 있었다면 변경 전 bitmap 은 더 이상 읽지 않는 key 에 쓰인다 (RoomSearchResultCache 의 generation 과 같은 방식).
+ */
+@Slf4j
+@Repository
+public class RoomAvailabilityIndex {
+
+    public static final int WINDOW_DAYS = RoomPriceIndex.WINDOW_DAYS;
+
+    private static final String REDIS_KEY_PREFIX = "room-availability:";
+    private static final String REDIS_VERSION_KEY_PREFIX = "room-availability-version:";
+    private static final int ENTRY_BYTES = 96 + (WINDOW_DAYS + 7) / 8; // 객체 헤더, 날짜 포함 추정치
+
+    private final AvailabilityRepository availabilityRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RoomAvailabilityIndexProperties properties;
+    private final Cache<Long, DailyCalendar> entries;
+
+    // 무효화가 일어날 때마다 증가. availability 조회 시작 후 무효화가 있었다면 조회 결과를 인덱스에 넣지 않는다.
+    private final AtomicLong generation = new AtomicLong();
+
+    public RoomAvailabilityIndex(AvailabilityRepository availabilityRepository, StringRedisTemplate redisTemplate,
+                                 RoomAvailabilityIndexProperties properties) {
+        this.availabilityRepository = availabilityRepository;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxMemoryMb() * 1024L * 1024L)
+                .weigher((Long roomId, DailyCalendar entry) -> ENTRY_BYTES)
+                .expireAfterWrite(properties.getTtlSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * [startDate, endDate) 이 인덱스 범위(오늘부터 WINDOW_DAYS 일) 안에 있는지 여부
+     */
+    public boolean covers(LocalDate startDateInclusive, LocalDate endDateExclusive) {
+        LocalDate today = LocalDate.now();
+        return properties.isEnabled()
+                && !startDateInclusive.isBefore(today)
+                && !endDateExclusive.isAfter(today.plusDays(WINDOW_DAYS));
+    }
+
+    /**
+     * roomIds 중 [checkIn, checkOut) 의 모든 날짜가 예약 가능한 숙소 id. covers() 가 true 인 기간만 조회 가능.
+     * 인덱스에 없는 숙소는 availability 조회 한 번으로 함께 만든다.
+     */
+    public Set<Long> findAvailableRoomIds(Collection<Long> roomIds, LocalDate checkInDateInclusive, LocalDate checkOutDateExclusive) {
+        Set<Long> availableRoomIds = new HashSet<>();
+        getCalendars(roomIds).forEach((roomId, calendar) -> {
+            if (calendar.isAllAvailable(checkInDateInclusive, checkOutDateExclusive)) {
+                availableRoomIds.add(roomId);
+            }
+        });
+        return availableRoomIds;
+    }
+
+    /**
+     * fromDate 부터 인덱스 범위 끝까지 중 nights 박 연속으로 예약 가능한 가장 빠른 체크인 날짜
+     */
+    public Optional<LocalDate> findFirstAvailableCheckIn(long roomId, LocalDate fromDateInclusive, int nights) {
+        return getCalendars(List.of(roomId)).get(roomId).findFirstAvailableCheckIn(fromDateInclusive, nights);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        invalidate(event.getRoom().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomCalendarChanged(RoomCalendarChangedEvent event) {
+        if (event.getType() == RoomCalendarChangedEvent.Type.AVAILABILITY) {
+            invalidate(event.getRoomId());
+        }
+    }
+
+    private Map<Long, DailyCalendar> getCalendars(Collection<Long> roomIds) {
+        LocalDate today = LocalDate.now();
+
+        Map<Long, DailyCalendar> calendars = new HashMap<>();
+        List<Long> missingRoomIds = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            DailyCalendar entry = entries.getIfPresent(roomId);
+            if (entry != null && entry.startDate().isEqual(today)) {
+                calendars.put(roomId, entry);
+            } else {
+                missingRoomIds.add(roomId);
+            }
+        }
+
+        if (!missingRoomIds.isEmpty()) {
+            calendars.putAll(load(missingRoomIds, today));
+        }
+        return calendars;
+    }
+
+    /**
+     * 오늘부터 WINDOW_DAYS 일의 예약 가능 날짜 bitmap 생성. Redis tier 에 있으면 가져오고, 없는 숙소만 availability 를 한 번에 조회한다.
+     * 조회 중에 무효화가 있었다면 변경 전 availability 일 수 있으므로 결과만 반환하고 인덱스에서는 뺀다.
+     */
+    private Map<Long, DailyCalendar> load(List<Long> roomIds, LocalDate today) {
+        long loadGeneration = generation.get();
+        LocalDate windowEnd = today.plusDays(WINDOW_DAYS);
+
+        // availability 조회 전에 읽어야 조회 중의 무효화(버전 증가)를 알 수 있다
+        Map<Long, Long> redisVersions = readRedisVersions(roomIds);
+        Map<Long, DailyCalendar> loaded = readRedis(redisVersions, today);
+
+        List<Long> unresolvedRoomIds = roomIds.stream().filter(roomId -> !loaded.containsKey(roomId)).toList();
+        if (!unresolvedRoomIds.isEmpty()) {
+            Map<Long, List<Availability>> availabilitiesByRoomId = availabilityRepository
+                    .findTrueAvailabilitiesByRoomIdsAndDate(unresolvedRoomIds.toArray(Long[]::new), today, windowEnd)
+                    .stream()
+                    .collect(Collectors.groupingBy(availability -> availability.getRoom().getId()));
+
+            Map<Long, DailyCalendar> built = new HashMap<>();
+            for (Long roomId : unresolvedRoomIds) {
+                built.put(roomId, DailyCalendar.of(today, windowEnd)
+                        .paintAvailabilities(availabilitiesByRoomId.getOrDefault(roomId, List.of())));
+            }
+            writeRedis(built, redisVersions, today, loadGeneration);
+            loaded.putAll(built);
+        }
+
+        // 넣은 뒤 다시 확인해서, 넣는 사이에 일어난 무효화도 놓치지 않는다
+        entries.putAll(loaded);
+        if (generation.get() != loadGeneration) {
+            entries.invalidateAll(loaded.keySet());
+        }
+        return loaded;
+    }
+
+    private void invalidate(long roomId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        generation.incrementAndGet();
+        entries.invalidate(roomId);
+
+        // 이전 버전 key 의 bitmap 은 읽지 않으며 ttl 이 지나면 사라진다
+        if (properties.isRedisEnabled()) {
+            try {
+                redisTemplate.opsForValue().increment(REDIS_VERSION_KEY_PREFIX + roomId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to invalidate room availability index in redis: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 숙소별 Redis 버전 (없으면 0). Redis tier 를 끄거나 읽지 못하면 빈 Map 을 반환하고 Redis 를 쓰지 않는다.
+     */
+    private Map<Long, Long> readRedisVersions(List<Long> roomIds) {
+        Map<Long, Long> versions = new HashMap<>();
+        if (!properties.isRedisEnabled()) {
+            return versions;
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(roomIds.stream().map(roomId -> REDIS_VERSION_KEY_PREFIX + roomId).toList());
+            for (int i = 0; values != null && i < values.size(); i++) {
+                versions.put(roomIds.get(i), values.get(i) == null ? 0 : Long.parseLong(values.get(i)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to read room availability index versions from redis: {}", e.getMessage());
+            versions.clear();
+        }
+        return versions;
+    }
+
+    private Map<Long, DailyCalendar> readRedis(Map<Long, Long> redisVersions, LocalDate today) {
+        Map<Long, DailyCalendar> calendars = new HashMap<>();
+        if (redisVersions.isEmpty()) {
+            return calendars;
+        }
+        try {
+            List<Long> roomIds = new ArrayList<>(redisVersions.keySet());
+            byte[][] keys = roomIds.stream()
+                    .map(roomId -> redisKey(roomId, redisVersions.get(roomId), today).getBytes(StandardCharsets.UTF_8))
+                    .toArray(byte[][]::new);
+            List<byte[]> bitmaps = redisTemplate.execute((RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(keys));
+            for (int i = 0; bitmaps != null && i < bitmaps.size(); i++) {
+                if (bitmaps.get(i) != null) {
+                    calendars.put(roomIds.get(i), DailyCalendar.ofAvailableDays(today, today.plusDays(WINDOW_DAYS), fromRedisBitmap(bitmaps.get(i))));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to read room availability index from redis: {}", e.getMessage());
+        }
+        return calendars;
+    }
+
+    /**
+     * availability 조회 전에 읽은 버전의 key 에 쓴다. 그 사이 다른 서버에서 버전을 올렸다면 아무도 읽지 않는 key 에 쓰이고 ttl 후 사라진다.
+     * 이 서버에서 무효화가 있었다면 쓰지 않는다.
+     */
+    private void writeRedis(Map<Long, DailyCalendar> calendars, Map<Long, Long> redisVersions, LocalDate today, long loadGeneration) {
+        if (redisVersions.isEmpty() || generation.get() != loadGeneration) {
+            return;
+        }
+        try {
+            Expiration expiration = Expiration.seconds(properties.getTtlSeconds());
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                calendars.forEach((roomId, calendar) -> connection.stringCommands().set(
+                        redisKey(roomId, redisVersions.get(roomId), today).getBytes(StandardCharsets.UTF_8),
+                        toRedisBitmap(calendar.availableDays()),
+                        expiration,
+                        RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to write room availability index to redis: {}", e.getMessage());
+        }
+    }
+
+    private String redisKey(long roomId, long version, LocalDate baseDate) {
+        return REDIS_KEY_PREFIX + roomId + ":" + version + ":" + baseDate;
+    }
+
+    /**
+     * Redis bitmap 은 offset 0 이 첫 byte 의 최상위 bit, BitSet 은 최하위 bit 이므로 byte 마다 bit 순서를 뒤집는다
+     */
+    static byte[] toRedisBitmap(BitSet bits) {
+        byte[] bytes = new byte[(WINDOW_DAYS + 7) / 8];
+        for (int i = bits.nextSetBit(0); i >= 0 && i < WINDOW_DAYS; i = bits.nextSetBit(i + 1)) {
+            bytes[i / 8] |= (byte) (0x80 >>> (i % 8));
+        }
+        return bytes;
+    }
+
+    static BitSet fromRedisBitmap(byte[] bytes) {
+        BitSet bits = new BitSet(WINDOW_DAYS);
+        for (int i = 0; i < bytes.length * 8; i++) {
+            if ((bytes[i / 8] & (0x80 >>> (i % 8))) != 0) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,18 @@
+package com.staybnb.rooms.repository.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "room-availability-index")
+public class RoomAvailabilityIndexProperties {
+
+    private boolean enabled = true;
+    private boolean redisEnabled = false; // 여러 서버 간 bitmap 공유용 Redis tier
+    private int maxMemoryMb = 16; // 숙소당 약 150B, 초과 시 오래 사용하지 않은 숙소부터 제거
+    private long ttlSeconds = 300; // 다른 서버의 변경, 이벤트로 무효화할 수 없는 변경(batch 등)에 대한 안전장치
+}
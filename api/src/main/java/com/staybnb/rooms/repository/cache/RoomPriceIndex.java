@@ -0,0 +1,165 @@
+package com.staybnb.rooms.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.dto.RoomPricingRange;
+import com.staybnb.rooms.event.RoomCalendarChangedEvent;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import com.staybnb.rooms.repository.PricingRepository;
+import com.staybnb.rooms.service.calendar.DailyCalendar;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 숙소별 1박 가격 누적합 인덱스 (오늘부터 WINDOW_DAYS 일).
+ * prefix[i] = [오늘, 오늘 + i) 숙박 가격 합이므로 숙박 총 가격은 prefix[end] - prefix[start] 로 계산한다.
+ * <p>
+ * 처음 조회할 때 DB 의 기본 가격과 pricing 으로 만들고(여러 숙소를 함께 조회하면 쿼리 한 번), 날짜가 바뀌면 다시 만든다.
+ * pricing 변경, 숙소 변경(기본 가격, 삭제) 이벤트로 해당 숙소만 제거하며, 메모리 상한을 넘으면 오래 사용하지 않은 숙소부터 제거한다.
+ * 이벤트로 알 수 없는 다른 서버의 변경은 ttl 안에 반영된다.
+ */
+@Repository
+public class RoomPriceIndex {
+
+    public static final int WINDOW_DAYS = 365;
+
+    private static final int ENTRY_BYTES = 64 + Integer.BYTES * (WINDOW_DAYS + 1); // 객체 헤더, 날짜 포함 추정치
+
+    private final PricingRepository pricingRepository;
+    private final RoomPriceIndexProperties properties;
+    private final Clock clock;
+    private final Cache<Long, PriceEntry> entries;
+
+    // 무효화가 일어날 때마다 증가. 가격 조회 시작 후 무효화가 있었다면 조회 결과를 인덱스에 넣지 않는다.
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public RoomPriceIndex(PricingRepository pricingRepository, RoomPriceIndexProperties properties) {
+        this(pricingRepository, properties, Clock.systemDefaultZone());
+    }
+
+    RoomPriceIndex(PricingRepository pricingRepository, RoomPriceIndexProperties properties, Clock clock) {
+        this.pricingRepository = pricingRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxMemoryMb() * 1024L * 1024L)
+                .weigher((Long roomId, PriceEntry entry) -> ENTRY_BYTES)
+                .expireAfterWrite(properties.getTtlSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * [checkIn, checkOut) 이 인덱스 범위(오늘부터 WINDOW_DAYS 일) 안에 있는지 여부
+     */
+    public boolean covers(LocalDate checkInDateInclusive, LocalDate checkOutDateExclusive) {
+        LocalDate today = LocalDate.now(clock);
+        return properties.isEnabled()
+                && !checkInDateInclusive.isBefore(today)
+                && !checkOutDateExclusive.isAfter(today.plusDays(WINDOW_DAYS));
+    }
+
+    /**
+     * 숙소별 [checkIn, checkOut) 숙박 총 가격 (숙소 통화 기준). covers() 가 true 인 기간만 조회 가능.
+     * 인덱스에 없는 숙소는 pricing 조회 한 번으로 함께 만든다.
+     */
+    public Map<Long, Integer> getTotalPrices(List<Room> rooms, LocalDate checkInDateInclusive, LocalDate checkOutDateExclusive) {
+        LocalDate today = LocalDate.now(clock);
+        int from = (int) ChronoUnit.DAYS.between(today, checkInDateInclusive);
+        int to = (int) ChronoUnit.DAYS.between(today, checkOutDateExclusive);
+
+        Map<Long, Integer> totalPrices = new HashMap<>();
+        List<Room> missingRooms = new ArrayList<>();
+        for (Room room : rooms) {
+            PriceEntry entry = entries.getIfPresent(room.getId());
+            if (entry != null && entry.baseDate.isEqual(today)) {
+                totalPrices.put(room.getId(), entry.totalPrice(from, to));
+            } else {
+                missingRooms.add(room);
+            }
+        }
+
+        if (!missingRooms.isEmpty()) {
+            load(missingRooms, today).forEach((roomId, entry) -> totalPrices.put(roomId, entry.totalPrice(from, to)));
+        }
+        return totalPrices;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        invalidate(event.getRoom().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomCalendarChanged(RoomCalendarChangedEvent event) {
+        if (event.getType() == RoomCalendarChangedEvent.Type.PRICING) {
+            invalidate(event.getRoomId());
+        }
+    }
+
+    private void invalidate(long roomId) {
+        generation.incrementAndGet();
+        entries.invalidate(roomId);
+    }
+
+    /**
+     * 오늘부터 WINDOW_DAYS 일의 1박 가격 누적합 생성. 기본 가격은 호출한 쪽의 Room 이 아닌 DB 에서 함께 읽는다.
+     * DB 에 없는 숙소는 전달받은 Room 의 기본 가격으로 계산하고 인덱스에는 넣지 않는다.
+     * 조회 중에 무효화가 있었다면 변경 전 가격일 수 있으므로 결과만 반환하고 인덱스에서는 뺀다.
+     */
+    private Map<Long, PriceEntry> load(List<Room> rooms, LocalDate today) {
+        long loadGeneration = generation.get();
+        LocalDate endDate = today.plusDays(WINDOW_DAYS);
+
+        Map<Long, DailyCalendar> calendarsByRoomId = new HashMap<>();
+        List<RoomPricingRange> ranges = pricingRepository
+                .findPricingRangesByRoomIdsAndDate(rooms.stream().map(Room::getId).toArray(Long[]::new), today, endDate);
+        for (RoomPricingRange range : ranges) {
+            DailyCalendar calendar = calendarsByRoomId.computeIfAbsent(range.getRoomId(),
+                    roomId -> DailyCalendar.of(today, endDate, range.getBasePrice()));
+            if (range.getPricePerNight() != null) {
+                calendar.paintPrice(today.plusDays(range.getFromDay()), today.plusDays(range.getToDay()), range.getPricePerNight());
+            }
+        }
+
+        Map<Long, PriceEntry> loaded = new HashMap<>();
+        calendarsByRoomId.forEach((roomId, calendar) -> loaded.put(roomId, new PriceEntry(today, calendar.prefixSums())));
+
+        // 넣은 뒤 다시 확인해서, 넣는 사이에 일어난 무효화도 놓치지 않는다
+        entries.putAll(loaded);
+        if (generation.get() != loadGeneration) {
+            entries.invalidateAll(loaded.keySet());
+        }
+
+        Map<Long, PriceEntry> result = new HashMap<>(loaded);
+        for (Room room : rooms) {
+            result.computeIfAbsent(room.getId(),
+                    roomId -> new PriceEntry(today, DailyCalendar.of(today, endDate, room.getBasePrice()).prefixSums()));
+        }
+        return result;
+    }
+
+    @AllArgsConstructor
+    private static class PriceEntry {
+
+        private final LocalDate baseDate;
+        private final int[] prefix;
+
+        private int totalPrice(int fromDayInclusive, int toDayExclusive) {
+            return prefix[toDayExclusive] - prefix[fromDayInclusive];
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.staybnb.rooms.repository.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "room-search-cache")
+public class RoomSearchCacheProperties {
+
+    private boolean enabled = true;
+    private boolean redisEnabled = false; // 여러 서버 간 결과 공유용 Redis tier
+    private long maximumSize = 10_000;
+    private long ttlSeconds = 300; // 이벤트로 무효화할 수 없는 변경(batch 등)에 대한 안전장치
+}
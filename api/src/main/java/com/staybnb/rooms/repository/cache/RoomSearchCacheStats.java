@@ -0,0 +1,22 @@
+package com.staybnb.rooms.repository.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class RoomSearchCacheStats {
+
+    private long localHits;
+    private long redisHits;
+    private long misses;
+    private long invalidations;
+    private long size;
+
+    public double getHitRate() {
+        long requests = localHits + redisHits + misses;
+        return requests == 0 ? 0 : (double) (localHits + redisHits) / requests;
+    }
+}
@@ -0,0 +1,264 @@
+package com.staybnb.rooms.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.domain.embedded.Address;
+import com.staybnb.rooms.dto.SearchRoomCondition;
+import com.staybnb.rooms.event.RoomCalendarChangedEvent;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import com.staybnb.rooms.repository.RoomRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 숙소 검색 결과 캐시 (검색 조건 + 페이지 -> 페이지의 room id 목록, 전체 개수).
+ * 로컬 Caffeine 캐시와 선택적인 Redis tier 로 구성된다.
+ * <p>
+ * 로컬 캐시는 숙소 변경 시 해당 숙소가 포함될 수 있는 검색 조건(위치, 지도 영역)만,
+ * availability/pricing 변경 시 날짜가 겹치는 검색 조건만 무효화한다.
+ * Redis tier 는 서버 간 무효화를 위해 generation 을 올려서 전체를 무효화한다.
+ * DB 검색의 조건별 전체 개수 캐시(RoomRepository.evictCachedCounts)도 같은 조건으로 무효화한다.
+ */
+@Slf4j
+@Repository
+public class RoomSearchResultCache {
+
+    private static final String REDIS_KEY_PREFIX = "room-search:";
+    private static final String REDIS_GENERATION_KEY = "room-search:generation";
+    private static final double KM_PER_LATITUDE_DEGREE = 111.32;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RoomRepository roomRepository;
+    private final RoomSearchCacheProperties properties;
+    private final Cache<String, CachedRoomSearch> localCache;
+
+    // 무효화가 일어날 때마다 증가. 조회 시작 후 무효화가 있었다면 그 결과는 캐시하지 않는다.
+    private final AtomicLong localGeneration = new AtomicLong();
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RoomSearchResultCache(StringRedisTemplate redisTemplate, RoomRepository roomRepository, RoomSearchCacheProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.roomRepository = roomRepository;
+        this.properties = properties;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtlSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 캐시 조회. 캐시에 없으면 검색 후 결과를 같은 Lookup 으로 put 한다.
+     */
+    public Lookup lookup(SearchRoomCondition cond, Pageable pageable) {
+        if (!properties.isEnabled() || pageable == null || pageable.isUnpaged()) {
+            return new Lookup(null, cond, 0, 0, null);
+        }
+
+        String key = cond.cacheKey() + "#" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+        long generation = localGeneration.get();
+        long redisGeneration = redisGeneration();
+
+        CachedRoomSearch cached = localCache.getIfPresent(key);
+        if (cached != null && cached.getGeneration() == redisGeneration) {
+            localHits.increment();
+            return new Lookup(key, cond, generation, redisGeneration, cached);
+        }
+
+        cached = readRedis(key, cond, redisGeneration);
+        if (cached != null) {
+            localCache.put(key, cached);
+            redisHits.increment();
+            return new Lookup(key, cond, generation, redisGeneration, cached);
+        }
+
+        misses.increment();
+        return new Lookup(key, cond, generation, redisGeneration, null);
+    }
+
+    public void put(Lookup lookup, Page<Room> rooms) {
+        if (lookup.getKey() == null || localGeneration.get() != lookup.getGeneration()) {
+            return;
+        }
+
+        List<Long> roomIds = rooms.getContent().stream().map(Room::getId).toList();
+        localCache.put(lookup.getKey(),
+                new CachedRoomSearch(lookup.getCondition(), roomIds, rooms.getTotalElements(), lookup.getRedisGeneration()));
+        writeRedis(lookup, roomIds, rooms.getTotalElements());
+    }
+
+    /**
+     * 숙소 등록/수정/삭제: 해당 숙소가 결과에 포함될 수 있는 검색 조건만 무효화
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        Room room = event.getRoom();
+        invalidate(cond -> mayContain(cond, room.getAddress()));
+    }
+
+    /**
+     * availability/pricing 변경: 숙박 기간이 변경 구간과 겹치는 검색 조건만 무효화
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomCalendarChanged(RoomCalendarChangedEvent event) {
+        invalidate(cond -> cond.getStartDate() != null
+                && cond.getStartDate().isBefore(event.getEndDate())
+                && cond.getEndDate().isAfter(event.getStartDate()));
+    }
+
+    /**
+     * 전체 무효화 (로컬 캐시, Redis tier, 검색 개수 캐시)
+     */
+    public void invalidateAll() {
+        invalidate(cond -> true);
+    }
+
+    public RoomSearchCacheStats stats() {
+        return new RoomSearchCacheStats(localHits.sum(), redisHits.sum(), misses.sum(), invalidations.sum(), localCache.estimatedSize());
+    }
+
+    @Scheduled(fixedRate = 1, timeUnit = TimeUnit.MINUTES)
+    public void reportStats() {
+        RoomSearchCacheStats stats = stats();
+        if (stats.getLocalHits() + stats.getRedisHits() + stats.getMisses() > 0) {
+            log.info("Room search cache stats: {}", stats);
+        }
+    }
+
+    private void invalidate(Predicate<SearchRoomCondition> affected) {
+        roomRepository.evictCachedCounts(affected);
+
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        localGeneration.incrementAndGet();
+        localCache.asMap().values().removeIf(cached -> affected.test(cached.getCondition()));
+        invalidations.increment();
+
+        if (properties.isRedisEnabled()) {
+            try {
+                redisTemplate.opsForValue().increment(REDIS_GENERATION_KEY);
+            } catch (RuntimeException e) {
+                log.warn("Failed to invalidate room search cache in redis: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 숙소 위치가 검색 조건의 위치 검색어, 지도 영역(반경은 반경을 감싸는 영역으로 근사)에 포함될 수 있는지 여부
+     */
+    private boolean mayContain(SearchRoomCondition cond, Address address) {
+        if (StringUtils.hasText(cond.getLocation()) && !address.toLocationSearch().contains(cond.getLocation().toLowerCase())) {
+            return false;
+        }
+
+        boolean hasBox = cond.getSwLatitude() != null;
+        boolean hasRadius = cond.getLatitude() != null && cond.getRadiusKm() != null;
+        if (!hasBox && !hasRadius) {
+            return true;
+        }
+
+        Double latitude = address.getLatitude();
+        Double longitude = address.getLongitude();
+        if (latitude == null || longitude == null) {
+            return false;
+        }
+        if (hasBox && (latitude < cond.getSwLatitude() || latitude > cond.getNeLatitude()
+                || longitude < cond.getSwLongitude() || longitude > cond.getNeLongitude())) {
+            return false;
+        }
+        if (hasRadius) {
+            double latitudeDelta = cond.getRadiusKm() / KM_PER_LATITUDE_DEGREE;
+            double longitudeDelta = cond.getRadiusKm() / (KM_PER_LATITUDE_DEGREE * Math.cos(Math.toRadians(cond.getLatitude())));
+            return Math.abs(latitude - cond.getLatitude()) <= latitudeDelta
+                    && (longitudeDelta >= 180 || Math.abs(longitude - cond.getLongitude()) <= longitudeDelta);
+        }
+        return true;
+    }
+
+    private long redisGeneration() {
+        if (!properties.isRedisEnabled()) {
+            return 0;
+        }
+        try {
+            String generation = redisTemplate.opsForValue().get(REDIS_GENERATION_KEY);
+            return generation == null ? 0 : Long.parseLong(generation);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read room search cache generation from redis: {}", e.getMessage());
+            return -1; // Redis 장애 시 로컬 캐시만 사용 (-1 generation 은 Redis 에 쓰지 않음)
+        }
+    }
+
+    /**
+     * Redis 값 형식: "total;id,id,..."
+     */
+    private CachedRoomSearch readRedis(String key, SearchRoomCondition cond, long redisGeneration) {
+        if (!properties.isRedisEnabled() || redisGeneration < 0) {
+            return null;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + redisGeneration + ":" + key);
+            if (value == null) {
+                return null;
+            }
+            String[] parts = value.split(";", -1);
+            List<Long> roomIds = parts[1].isEmpty()
+                    ? List.of()
+                    : Arrays.stream(parts[1].split(",")).map(Long::valueOf).toList();
+            return new CachedRoomSearch(cond, roomIds, Long.parseLong(parts[0]), redisGeneration);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read room search cache from redis: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(Lookup lookup, List<Long> roomIds, long total) {
+        if (!properties.isRedisEnabled() || lookup.getRedisGeneration() < 0) {
+            return;
+        }
+        try {
+            String value = total + ";" + roomIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+            redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + lookup.getRedisGeneration() + ":" + lookup.getKey(),
+                    value, properties.getTtlSeconds(), TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write room search cache to redis: {}", e.getMessage());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Lookup {
+
+        private String key; // null 이면 캐시 대상이 아님
+        private SearchRoomCondition condition;
+        private long generation;
+        private long redisGeneration;
+        private CachedRoomSearch cached;
+
+        public Optional<CachedRoomSearch> getCached() {
+            return Optional.ofNullable(cached);
+        }
+    }
+}
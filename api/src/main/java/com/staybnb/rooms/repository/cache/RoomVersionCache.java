@@ -0,0 +1,51 @@
+package com.staybnb.rooms.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.staybnb.common.exception.custom.NoSuchRoomException;
+import com.staybnb.rooms.dto.RoomVersion;
+import com.staybnb.rooms.event.RoomCalendarChangedEvent;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import com.staybnb.rooms.repository.RoomRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 숙소 상세, 캘린더 버전 캐시 (조건부 GET 의 ETag/Last-Modified 계산용).
+ * 이 서버의 변경은 커밋 후 이벤트로 바로 제거하고, 다른 서버의 변경은 ttl 이 지나면 반영된다.
+ * 조회 중인 항목을 제거하면 조회가 끝난 뒤 제거되므로, 커밋 전 버전이 남지 않는다.
+ */
+@Repository
+public class RoomVersionCache {
+
+    private final RoomRepository roomRepository;
+    private final Cache<Long, RoomVersion> versions;
+
+    public RoomVersionCache(RoomRepository roomRepository, RoomVersionCacheProperties properties) {
+        this.roomRepository = roomRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtlSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    public RoomVersion get(long roomId) {
+        RoomVersion version = versions.get(roomId, id -> roomRepository.findVersionById(id).orElse(null));
+        if (version == null) {
+            throw new NoSuchRoomException(roomId);
+        }
+        return version;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        versions.invalidate(event.getRoom().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomCalendarChanged(RoomCalendarChangedEvent event) {
+        versions.invalidate(event.getRoomId());
+    }
+}
@@ -0,0 +1,16 @@
+package com.staybnb.rooms.repository.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "room-version-cache")
+public class RoomVersionCacheProperties {
+
+    private long maximumSize = 100_000;
+    private long ttlSeconds = 10; // 다른 서버에서 일어난 변경이 늦게 반영될 수 있는 최대 시간
+}
@@ -0,0 +1,15 @@
+package com.staybnb.rooms.repository.projection;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "room-search-projection")
+public class RoomSearchProjectionProperties {
+
+    private boolean enabled = true; // false 면 room 테이블로 검색 (room_search 갱신은 계속함)
+}
@@ -0,0 +1,44 @@
+package com.staybnb.rooms.repository.projection;
+
+import com.staybnb.rooms.event.RoomCalendarChangedEvent;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import com.staybnb.rooms.repository.RoomSearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 숙소, availability 변경 시 해당 숙소의 room_search 행 갱신.
+ * 숙소 변경은 같은 트랜잭션에서 커밋 직전에 갱신하므로 room 과 room_search 가 어긋난 상태로 커밋되지 않는다.
+ * availability 변경(예약 포함)은 커밋 후 별도 트랜잭션에서 갱신해서, 예약 트랜잭션이 room_search 행 잠금을 커밋까지 잡지 않게 한다.
+ * (batch 등 이벤트 없이 바뀐 내용, 커밋 후 갱신에 실패한 내용은 batch 의 room_search 재빌드 job 으로 맞춘다)
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomSearchProjectionUpdater {
+
+    private final RoomSearchRepository roomSearchRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        roomSearchRepository.refresh(new Long[]{event.getRoom().getId()});
+    }
+
+    /**
+     * next_available_date 가 availability 로 계산되므로 availability 변경 시에만 갱신.
+     * 검색 결과 캐시가 커밋 후 이벤트로 항목을 제거하기 전에 실행한다(@Order).
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomCalendarChanged(RoomCalendarChangedEvent event) {
+        if (event.getType() == RoomCalendarChangedEvent.Type.AVAILABILITY) {
+            roomSearchRepository.refresh(new Long[]{event.getRoomId()});
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.staybnb.rooms.repository.search;
+
+import java.util.Arrays;
+
+/**
+ * 박싱 없는 int 가변 배열 (역색인 posting list 용)
+ */
+class IntList {
+
+    private int[] values;
+    private int size;
+
+    IntList() {
+        this(4);
+    }
+
+    IntList(int capacity) {
+        this.values = new int[capacity];
+    }
+
+    void add(int value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+    }
+
+    /**
+     * 오름차순 정렬 상태를 유지하며 추가
+     */
+    void insertSorted(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * from 이상인 값을 모두 1씩 증가 (중간 위치에 row 가 삽입된 경우)
+     */
+    void shiftFrom(int from) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] >= from) {
+                values[i]++;
+            }
+        }
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return values.length;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.staybnb.rooms.repository.search;
+
+import com.staybnb.rooms.dto.SearchRoomCondition;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 숙소 검색 인덱스의 컬럼형 저장소.
+ * row 는 room id 오름차순으로 유지되며, 같은 위치(position)의 값이 한 숙소를 나타낸다.
+ * 삭제된 숙소는 deleted 비트로만 표시하고, 다음 재빌드 때 제거된다.
+ * 동시성 제어는 RoomSearchIndex 의 lock 에서 처리 (이 클래스는 thread-safe 하지 않음)
+ */
+class RoomColumns {
+
+    private static final int ROW_BYTES = Long.BYTES + Integer.BYTES + Double.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int GRAM_OVERHEAD_BYTES = 40 + 40 + 32; // String + TreeMap.Entry + IntList
+    private static final int LOCATION_OVERHEAD_BYTES = 8 + 40;     // 배열 참조 + String
+    private static final int GRAM_LENGTH = 3;
+    private static final String GRAM_PADDING = "\0\0"; // 토큰 끝의 1~2 글자도 trigram 의 앞부분이 되도록 붙이는 문자
+
+    private long[] ids;
+    private int[] maxNumberOfGuests;
+    private double[] basePriceInUsd;
+    private int[] placeTypeIds;
+    private long[] amenityBits;
+    private String[] locations; // location_search (소문자)
+    private BitSet deleted = new BitSet();
+    private int size;
+    private int deletedCount;
+
+    // 위치 토큰의 trigram -> 해당 trigram 을 가진 row position 목록 (오름차순)
+    private final TreeMap<String, IntList> postings = new TreeMap<>();
+
+    RoomColumns(int capacity) {
+        ids = new long[capacity];
+        maxNumberOfGuests = new int[capacity];
+        basePriceInUsd = new double[capacity];
+        placeTypeIds = new int[capacity];
+        amenityBits = new long[capacity];
+        locations = new String[capacity];
+    }
+
+    /**
+     * 숙소 추가 또는 수정.
+     * 주소는 숙소 수정 API 로 변경할 수 없으므로 위치 토큰은 최초 추가 시에만 색인한다.
+     */
+    void put(long roomId, int guests, double priceInUsd, int placeTypeId, long amenities, String location) {
+        int position = positionOf(roomId);
+        if (position >= 0) {
+            set(position, roomId, guests, priceInUsd, placeTypeId, amenities);
+            return;
+        }
+
+        position = -position - 1;
+        ensureCapacity(size + 1);
+        if (position < size) {
+            // 커밋 순서가 id 순서와 다른 경우에만 발생 (중간 삽입)
+            shiftRows(position);
+        }
+        size++;
+        set(position, roomId, guests, priceInUsd, placeTypeId, amenities);
+        locations[position] = location == null ? "" : location;
+
+        for (String gram : grams(location)) {
+            postings.computeIfAbsent(gram, key -> new IntList()).insertSorted(position);
+        }
+    }
+
+    void remove(long roomId) {
+        int position = positionOf(roomId);
+        if (position >= 0 && !deleted.get(position)) {
+            deleted.set(position);
+            deletedCount++;
+        }
+    }
+
+    /**
+     * 위치 검색어를 부분 문자열로 포함하는 삭제되지 않은 row 집합 (DB 검색의 location_search LIKE '%검색어%' 와 같은 결과).
+     * 검색어의 각 토큰이 가진 trigram 의 posting 교집합으로 후보를 좁힌 뒤, 위치 문자열에 검색어 전체가 있는지 확인한다.
+     * 3 글자보다 짧은 토큰은 그 토큰으로 시작하는 trigram 범위(subMap)의 posting 합집합을 사용한다.
+     */
+    BitSet candidates(String location) {
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+        result.andNot(deleted);
+        if (!StringUtils.hasText(location)) {
+            return result;
+        }
+
+        for (String token : tokenize(location)) {
+            if (token.length() < GRAM_LENGTH) {
+                BitSet matched = new BitSet(size);
+                for (IntList posting : postings.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                    addAll(matched, posting);
+                }
+                result.and(matched);
+                continue;
+            }
+            for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+                IntList posting = postings.get(token.substring(i, i + GRAM_LENGTH));
+                if (posting == null) {
+                    result.clear();
+                    return result;
+                }
+                BitSet matched = new BitSet(size);
+                addAll(matched, posting);
+                result.and(matched);
+            }
+        }
+
+        String term = location.toLowerCase();
+        for (int position = result.nextSetBit(0); position >= 0; position = result.nextSetBit(position + 1)) {
+            if (!locations[position].contains(term)) {
+                result.clear(position);
+            }
+        }
+        return result;
+    }
+
+    boolean matches(int position, SearchRoomCondition cond) {
+        if (cond.getNumberOfGuests() != null && maxNumberOfGuests[position] < cond.getNumberOfGuests()) {
+            return false;
+        }
+        if (cond.getPriceFromInUsd() != null && basePriceInUsd[position] < cond.getPriceFromInUsd()) {
+            return false;
+        }
+        if (cond.getPriceToInUsd() != null && basePriceInUsd[position] > cond.getPriceToInUsd()) {
+            return false;
+        }
+        if (cond.getPlaceTypeId() != null && placeTypeIds[position] != cond.getPlaceTypeId()) {
+            return false;
+        }
+        return cond.getAmenityBits() == null || (amenityBits[position] & cond.getAmenityBits()) == cond.getAmenityBits();
+    }
+
+    long idAt(int position) {
+        return ids[position];
+    }
+
+    double basePriceInUsdAt(int position) {
+        return basePriceInUsd[position];
+    }
+
+    RoomSearchIndexMemoryReport memoryReport() {
+        long postingCount = 0;
+        long postingBytes = 0;
+        for (Map.Entry<String, IntList> entry : postings.entrySet()) {
+            postingCount += entry.getValue().size();
+            postingBytes += GRAM_OVERHEAD_BYTES + entry.getKey().length() + (long) entry.getValue().capacity() * Integer.BYTES;
+        }
+        long columnBytes = (long) ids.length * ROW_BYTES + deleted.size() / Byte.SIZE;
+        for (int i = 0; i < size; i++) {
+            columnBytes += LOCATION_OVERHEAD_BYTES + locations[i].length();
+        }
+
+        return new RoomSearchIndexMemoryReport(size - deletedCount, deletedCount, postings.size(), postingCount, columnBytes, postingBytes);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 위치 문자열의 각 토큰 끝에 GRAM_PADDING 을 붙여 만든 trigram 집합.
+     * 토큰의 모든 부분 문자열은 길이가 3 이상이면 trigram 들의 연속으로, 3 미만이면 어떤 trigram 의 앞부분으로 나타난다.
+     */
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (String token : tokenize(text)) {
+            String padded = token + GRAM_PADDING;
+            for (int i = 0; i < token.length(); i++) {
+                grams.add(padded.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        return grams;
+    }
+
+    private static void addAll(BitSet target, IntList posting) {
+        for (int i = 0; i < posting.size(); i++) {
+            target.set(posting.get(i));
+        }
+    }
+
+    private int positionOf(long roomId) {
+        return Arrays.binarySearch(ids, 0, size, roomId);
+    }
+
+    private void set(int position, long roomId, int guests, double priceInUsd, int placeTypeId, long amenities) {
+        ids[position] = roomId;
+        maxNumberOfGuests[position] = guests;
+        basePriceInUsd[position] = priceInUsd;
+        placeTypeIds[position] = placeTypeId;
+        amenityBits[position] = amenities;
+    }
+
+    private void shiftRows(int from) {
+        int length = size - from;
+        System.arraycopy(ids, from, ids, from + 1, length);
+        System.arraycopy(maxNumberOfGuests, from, maxNumberOfGuests, from + 1, length);
+        System.arraycopy(basePriceInUsd, from, basePriceInUsd, from + 1, length);
+        System.arraycopy(placeTypeIds, from, placeTypeIds, from + 1, length);
+        System.arraycopy(amenityBits, from, amenityBits, from + 1, length);
+        System.arraycopy(locations, from, locations, from + 1, length);
+
+        BitSet shifted = new BitSet(size + 1);
+        for (int i = deleted.nextSetBit(0); i >= 0; i = deleted.nextSetBit(i + 1)) {
+            shifted.set(i >= from ? i + 1 : i);
+        }
+        deleted = shifted;
+
+        for (IntList posting : postings.values()) {
+            posting.shiftFrom(from);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        maxNumberOfGuests = Arrays.copyOf(maxNumberOfGuests, newCapacity);
+        basePriceInUsd = Arrays.copyOf(basePriceInUsd, newCapacity);
+        placeTypeIds = Arrays.copyOf(placeTypeIds, newCapacity);
+        amenityBits = Arrays.copyOf(amenityBits, newCapacity);
+        locations = Arrays.copyOf(locations, newCapacity);
+    }
+}
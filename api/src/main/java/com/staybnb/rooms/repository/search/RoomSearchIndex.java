@@ -0,0 +1,287 @@
+package com.staybnb.rooms.repository.search;
+
+import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.dto.SearchRoomCondition;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 숙소 검색용 인메모리 인덱스 (room-search-index.enabled=true 인 경우에만 사용).
+ * 인원 수, USD 환산 가격, 위치, 숙소 유형, amenity 조건을 메모리에서 처리해서 페이지에 해당하는 room id 만 반환하고,
+ * Room 엔티티는 최종 페이지의 id 로만 조회한다.
+ * 애플리케이션 시작 시 DB 에서 빌드하고, 이후에는 RoomChangedEvent 로 갱신한다.
+ * 빌드 중에 커밋된 변경은 모아 두었다가 빌드한 인덱스로 교체하기 전에 적용한다.
+ */
+@Slf4j
+@Repository
+public class RoomSearchIndex {
+
+    private static final int BUILD_CHUNK_SIZE = 10_000;
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("price", "basePrice", "id");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoomSearchIndexProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private RoomColumns columns; // null 이면 인덱스 사용 불가 (비활성, 빌드 전, 메모리 예산 초과)
+    private List<RoomChangedEvent> pendingEvents; // 빌드 중에 커밋된 숙소 변경 (빌드 중이 아니면 null)
+
+    public RoomSearchIndex(JdbcTemplate jdbcTemplate, RoomSearchIndexProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        RoomColumns built;
+        try {
+            built = load();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        RoomSearchIndexMemoryReport report = built.memoryReport();
+        log.info("Room search index built in {}ms: {}", System.currentTimeMillis() - start, report);
+
+        if (report.getTotalMegabytes() > properties.getMaxMemoryMb()) {
+            log.warn("Room search index exceeds memory budget ({}MB > {}MB), falling back to database search",
+                    report.getTotalMegabytes(), properties.getMaxMemoryMb());
+            built = null;
+        }
+
+        // 적재하는 동안 커밋된 변경을 다시 적용한 뒤 교체 (적재 결과에 이미 반영된 변경을 다시 적용해도 결과는 같다)
+        lock.writeLock().lock();
+        try {
+            if (built != null) {
+                for (RoomChangedEvent event : pendingEvents) {
+                    apply(built, event);
+                }
+            }
+            columns = built;
+            pendingEvents = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 인덱스로 처리할 수 있는 검색인지 여부.
+     * 날짜 조건(availability)과 지도 검색 조건은 인덱스에 없으므로 DB 검색으로 처리한다.
+     * 정렬 조건 없는 위치 검색은 DB 검색에서 위치 검색어 관련도 순으로 정렬하므로 역시 DB 검색으로 처리한다.
+     */
+    public boolean supports(SearchRoomCondition cond, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            return columns != null
+                    && pageable != null
+                    && cond.getStartDate() == null
+                    && cond.getEndDate() == null
+                    && cond.getLatitude() == null
+                    && cond.getSwLatitude() == null
+                    && !(StringUtils.hasText(cond.getLocation()) && pageable.getSort().isUnsorted())
+                    && pageable.getSort().stream().allMatch(order -> SORTABLE_PROPERTIES.contains(order.getProperty()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색 조건에 맞는 숙소 중 pageable 에 해당하는 room id 목록과 전체 개수 반환
+     */
+    public Page<Long> search(SearchRoomCondition cond, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = columns.candidates(cond.getLocation());
+            IntList matched = new IntList(Math.max(candidates.cardinality(), 1));
+            for (int position = candidates.nextSetBit(0); position >= 0; position = candidates.nextSetBit(position + 1)) {
+                if (columns.matches(position, cond)) {
+                    matched.add(position);
+                }
+            }
+
+            return new PageImpl<>(pageOf(matched, pageable), pageable, matched.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public RoomSearchIndexMemoryReport memoryReport() {
+        lock.readLock().lock();
+        try {
+            return columns == null ? null : columns.memoryReport();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            if (columns != null) {
+                apply(columns, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(RoomColumns target, RoomChangedEvent event) {
+        Room room = event.getRoom();
+        if (room.isDeleted()) {
+            target.remove(room.getId());
+            return;
+        }
+        target.put(
+                room.getId(),
+                room.getMaxNumberOfGuests(),
+                room.getBasePriceInUsd(),
+                room.getPlaceType().getId(),
+                room.getAmenityBits(),
+                room.getAddress().toLocationSearch()
+        );
+    }
+
+    /**
+     * room id 순(= row position 순)으로 BUILD_CHUNK_SIZE 개씩 나눠서 적재
+     */
+    private RoomColumns load() {
+        Long roomCount = jdbcTemplate.queryForObject("select count(*) from room where is_deleted = false", Long.class);
+        RoomColumns loaded = new RoomColumns((int) (roomCount == null ? 0 : roomCount));
+
+        long lastRoomId = 0;
+        while (true) {
+            List<Long> roomIds = new ArrayList<>(BUILD_CHUNK_SIZE);
+            jdbcTemplate.query("""
+                            select id, max_number_of_guests, base_price_in_usd, place_type_id, amenity_bits, location_search
+                            from room
+                            where is_deleted = false and id > ?
+                            order by id
+                            limit ?""",
+                    rs -> {
+                        long roomId = rs.getLong("id");
+                        roomIds.add(roomId);
+                        loaded.put(roomId,
+                                rs.getInt("max_number_of_guests"),
+                                rs.getDouble("base_price_in_usd"),
+                                rs.getInt("place_type_id"),
+                                rs.getLong("amenity_bits"),
+                                rs.getString("location_search"));
+                    },
+                    lastRoomId, BUILD_CHUNK_SIZE);
+
+            if (roomIds.isEmpty()) {
+                return loaded;
+            }
+
+            lastRoomId = roomIds.get(roomIds.size() - 1);
+        }
+    }
+
+    /**
+     * matched(position 오름차순 = id 오름차순) 중 pageable 에 해당하는 room id 목록.
+     * id 오름차순이 아닌 정렬은 offset + size 개만 유지하는 heap 으로 상위 row 를 고른다.
+     */
+    private List<Long> pageOf(IntList matched, Pageable pageable) {
+        long offset = pageable.getOffset();
+        if (offset >= matched.size()) {
+            return List.of();
+        }
+        int end = (int) Math.min(matched.size(), offset + pageable.getPageSize());
+
+        List<Long> roomIds = new ArrayList<>(end - (int) offset);
+        Sort sort = pageable.getSort();
+        if (sort.isUnsorted() || isIdAscending(sort)) {
+            for (int i = (int) offset; i < end; i++) {
+                roomIds.add(columns.idAt(matched.get(i)));
+            }
+            return roomIds;
+        }
+
+        Comparator<Integer> order = comparatorOf(sort);
+        PriorityQueue<Integer> top = new PriorityQueue<>(end, order.reversed());
+        for (int i = 0; i < matched.size(); i++) {
+            int position = matched.get(i);
+            if (top.size() < end) {
+                top.add(position);
+            } else if (order.compare(position, top.peek()) < 0) {
+                top.poll();
+                top.add(position);
+            }
+        }
+
+        List<Integer> sorted = new ArrayList<>(top);
+        sorted.sort(order);
+        for (int i = (int) offset; i < end; i++) {
+            roomIds.add(columns.idAt(sorted.get(i)));
+        }
+        return roomIds;
+    }
+
+    /**
+     * 정렬 조건을 row position 비교자로 변환 (DB 검색과 같이 마지막에 id 오름차순을 붙인다)
+     */
+    private Comparator<Integer> comparatorOf(Sort sort) {
+        Comparator<Integer> comparator = null;
+        boolean hasIdOrder = false;
+
+        for (Sort.Order order : sort) {
+            Comparator<Integer> next = switch (order.getProperty()) {
+                case "price", "basePrice" -> Comparator.comparingDouble(columns::basePriceInUsdAt);
+                default -> {
+                    hasIdOrder = true;
+                    yield Comparator.comparingLong(columns::idAt);
+                }
+            };
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+
+        Comparator<Integer> idAscending = Comparator.comparingLong(columns::idAt);
+        return hasIdOrder ? comparator : comparator.thenComparing(idAscending);
+    }
+
+    private boolean isIdAscending(Sort sort) {
+        Sort.Order first = sort.iterator().next();
+        return first.getProperty().equals("id") && first.isAscending();
+    }
+}
@@ -0,0 +1,29 @@
+package com.staybnb.rooms.repository.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 숙소 검색 인덱스 메모리 사용량 추정치 (객체 헤더, 참조 크기는 64bit JVM compressed oops 기준 근사값)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RoomSearchIndexMemoryReport {
+
+    private int rooms;
+    private int deletedRooms;
+    private int grams; // 위치 trigram 수
+    private long postings;
+    private long columnBytes;
+    private long invertedIndexBytes;
+
+    public long getTotalBytes() {
+        return columnBytes + invertedIndexBytes;
+    }
+
+    public long getTotalMegabytes() {
+        return getTotalBytes() / (1024 * 1024);
+    }
+}
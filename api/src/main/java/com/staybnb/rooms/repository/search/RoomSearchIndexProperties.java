@@ -0,0 +1,16 @@
+package com.staybnb.rooms.repository.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "room-search-index")
+public class RoomSearchIndexProperties {
+
+    private boolean enabled = false;
+    private int maxMemoryMb = 256; // 추정 메모리 사용량이 이 값을 넘으면 인덱스를 사용하지 않음
+}
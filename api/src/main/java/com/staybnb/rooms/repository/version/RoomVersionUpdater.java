@@ -0,0 +1,59 @@
+package com.staybnb.rooms.repository.version;
+
+import com.staybnb.rooms.event.RoomCalendarChangedEvent;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import com.staybnb.rooms.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 숙소, pricing, availability 변경 시 해당 숙소의 버전 증가.
+ * <ul>
+ *     <li>pricing_version: pricing, 숙소(기본 가격, 통화) 변경 (예약 견적 토큰 검증)</li>
+ *     <li>detail_version: 숙소 변경 (숙소 조회 ETag)</li>
+ *     <li>calendar_version: 숙소, pricing, availability 변경 (캘린더 조회 ETag)</li>
+ * </ul>
+ * 숙소, pricing 변경(호스트 수정)은 같은 트랜잭션에서 커밋 직전에 증가시키므로, 이전 버전으로 발급된 견적 토큰과 ETag 는 커밋 이후 모두 무효가 된다.
+ * availability 변경(예약 포함)은 커밋 후 별도 트랜잭션에서 calendar_version 만 증가시킨다. 커밋 직전에 room 행을 갱신하면
+ * 같은 숙소의 예약이 모두 room 행 잠금에서 커밋까지 기다리게 되므로, 행 잠금은 UPDATE 한 문장 동안만 잡는다.
+ * 대신 커밋과 버전 증가 사이의 짧은 동안에는 이전 캘린더 ETag 로 304 를 응답할 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomVersionUpdater {
+
+    private final RoomRepository roomRepository;
+
+    /**
+     * 어떤 필드가 바뀌었는지 알 수 없으므로 숙소 변경 시 항상 모든 버전 증가 (견적 토큰이 무효가 되면 예약 시 가격을 다시 계산할 뿐)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        roomRepository.increaseAllVersions(event.getRoom().getId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRoomCalendarChanged(RoomCalendarChangedEvent event) {
+        if (event.getType() == RoomCalendarChangedEvent.Type.PRICING) {
+            roomRepository.increasePricingVersion(event.getRoomId());
+        }
+    }
+
+    /**
+     * 버전 캐시(RoomVersionCache)가 커밋 후 이벤트로 항목을 제거하기 전에 실행해서(@Order), 제거 후 다시 읽은 캐시에 이전 버전이 남지 않게 한다
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomAvailabilityChanged(RoomCalendarChangedEvent event) {
+        if (event.getType() == RoomCalendarChangedEvent.Type.AVAILABILITY) {
+            roomRepository.increaseCalendarVersion(event.getRoomId());
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package com.staybnb.rooms.service;
 
+import com.staybnb.common.exception.custom.InvalidDateRangeException;
 import com.staybnb.rooms.domain.Availability;
 import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.dto.request.SearchAvailableStayRequest;
+import com.staybnb.rooms.dto.request.SearchBulkAvailabilityRequest;
 import com.staybnb.rooms.dto.request.UpdateAvailabilityRequest;
 import com.staybnb.rooms.dto.request.vo.DateRange;
 import com.staybnb.rooms.dto.request.vo.DateRangeRequest;
+import com.staybnb.rooms.dto.response.AvailableStayResponse;
+import com.staybnb.rooms.dto.response.BulkAvailabilityResponse;
+import com.staybnb.rooms.event.RoomCalendarChangedEvent;
 import com.staybnb.rooms.repository.AvailabilityRepository;
+import com.staybnb.rooms.repository.cache.RoomAvailabilityIndex;
+import com.staybnb.rooms.service.calendar.DailyCalendar;
+import com.staybnb.rooms.service.lock.RoomCalendarLock;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,7 +24,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import static com.staybnb.common.validation.business.AccessValidator.validateHost;
@@ -24,8 +38,11 @@ import static com.staybnb.common.validation.business.AccessValidator.validateHos
 public class AvailabilityService {
 
     private final AvailabilityRepository availabilityRepository;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
 
     private final RoomService roomService;
+    private final RoomCalendarLock roomCalendarLock;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Async
     @Transactional
@@ -34,6 +51,7 @@ public class AvailabilityService {
         validateHost(userId, room);
         DateRangeRequest.sortAndValidateDateSelected(request.getDateSelected());
 
+        roomCalendarLock.lockForCalendarUpdate(roomId);
         // DateRangeRequest는 endDate가 exclusive인 DateRange로 변경 후 전달
         updateAvailabilities(room,
                 request.getDateSelected().stream().map(DateRangeRequest::toDateRange).toList(),
@@ -49,9 +67,12 @@ public class AvailabilityService {
         validateHost(userId, room);
         DateRangeRequest.sortAndValidateDateSelected(request.getDateSelected());
 
-        List<String> dateRanges = request.getDateSelected().stream().map(DateRangeRequest::toDateRange).map(DateRange::toString).toList();
+        List<DateRange> sortedDateRanges = request.getDateSelected().stream().map(DateRangeRequest::toDateRange).toList();
 
-        availabilityRepository.updateRoomAvailability(roomId, dateRanges, request.getIsAvailable());
+        roomCalendarLock.lockForCalendarUpdate(roomId);
+        availabilityRepository.updateRoomAvailability(roomId, sortedDateRanges.stream().map(DateRange::toString).toList(), request.getIsAvailable());
+        eventPublisher.publishEvent(new RoomCalendarChangedEvent(roomId, RoomCalendarChangedEvent.Type.AVAILABILITY,
+                sortedDateRanges.getFirst().getStartDate(), sortedDateRanges.getLast().getEndDate()));
 
         return CompletableFuture.completedFuture(null);
     }
@@ -69,17 +90,14 @@ public class AvailabilityService {
         LocalDate minStartDate = sortedSelectedDateRanges.getFirst().getStartDate();
         LocalDate maxEndDate = sortedSelectedDateRanges.getLast().getEndDate();
 
+        roomCalendarLock.lock(room.getId());
+
         // 업데이트 할 dateRanges 구간과 겹치는 데이터 조회
         List<Availability> sortedConflictedAvailabilities = availabilityRepository
                 .findOrderedAvailabilitiesByDate(room.getId(), minStartDate, maxEndDate);
 
-        // 충돌 하는 범위 내 데이터 전체 삭제
-        if (!sortedConflictedAvailabilities.isEmpty()) {
-            availabilityRepository.deleteAllInBatch(sortedConflictedAvailabilities);
-            availabilityRepository.flush();
-        }
-
-        // 새로 요청 온 날짜 구간(dateRanges)과 기존 데이터 중 겹치지 않는 구간의 데이터 저장
+        // 새로 요청 온 날짜 구간(dateRanges)과 기존 데이터 중 겹치지 않는 구간의 데이터를 만든 뒤,
+        // 충돌 하는 범위 내 데이터 전체 삭제와 저장을 DELETE, INSERT 한 번씩으로 처리
         List<Availability> newAvailabilities = new ArrayList<>();
 
         for (DateRange range : sortedSelectedDateRanges) {
@@ -88,7 +106,8 @@ public class AvailabilityService {
 
         addNonOverlappingRanges(newAvailabilities, room, sortedConflictedAvailabilities, sortedSelectedDateRanges);
 
-        availabilityRepository.saveAll(newAvailabilities);
+        availabilityRepository.replaceAvailabilities(room.getId(), sortedConflictedAvailabilities, newAvailabilities);
+        eventPublisher.publishEvent(new RoomCalendarChangedEvent(room.getId(), RoomCalendarChangedEvent.Type.AVAILABILITY, minStartDate, maxEndDate));
     }
 
     /**
@@ -138,31 +157,90 @@ public class AvailabilityService {
     }
 
     public List<Availability> findAvailabilitiesByMonth(Long roomId, YearMonth yearMonth) {
-        return availabilityRepository.findAvailabilitiesByDate(roomId, yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1));
+        return findAvailabilitiesByMonths(roomId, yearMonth, yearMonth);
+    }
+
+    /**
+     * from 달부터 to 달까지(양 끝 포함) 기간과 겹치는 availability 조회
+     */
+    public List<Availability> findAvailabilitiesByMonths(Long roomId, YearMonth from, YearMonth to) {
+        return availabilityRepository.findAvailabilitiesByDate(roomId, from.atDay(1), to.plusMonths(1).atDay(1));
     }
 
     public boolean isAvailable(long roomId, LocalDate checkInDateInclusive, LocalDate checkOutDateExclusive) {
-        LocalDate date = checkInDateInclusive;
-        List<Availability> availabilities = availabilityRepository.findTrueAvailabilitiesByDate(roomId, checkInDateInclusive, checkOutDateExclusive);
-        for (Availability availability : availabilities) {
-            if (availability.getStartDate().isAfter(date)) {
-                return false;
-            }
-            date = availability.getEndDate();
+        return findAvailableRoomIds(List.of(roomId), checkInDateInclusive, checkOutDateExclusive).contains(roomId);
+    }
+
+    /**
+     * 여러 숙소의 같은 기간 예약 가능 여부 조회 (검색 결과의 예약 가능 표시용)
+     */
+    @Async
+    public CompletableFuture<BulkAvailabilityResponse> getAvailableRoomIds(SearchBulkAvailabilityRequest request) {
+        validateDateRange(request.getStartDate(), request.getEndDate());
+
+        Set<Long> availableRoomIds = findAvailableRoomIds(request.getRoomIds(), request.getStartDate(), request.getEndDate());
+
+        return CompletableFuture.completedFuture(new BulkAvailabilityResponse(
+                request.getStartDate(),
+                request.getEndDate(),
+                request.getRoomIds().stream().distinct().filter(availableRoomIds::contains).toList()));
+    }
+
+    /**
+     * roomIds 중 [checkIn, checkOut) 전체가 예약 가능한 숙소 id.
+     * 인덱스 범위(오늘부터 1년) 안의 기간은 availability bitmap 인덱스로,
+     * 그 외 기간은 DB 에서 숙소별 availability 구간 합으로 숙소 수와 관계없이 한 번에 확인
+     */
+    public Set<Long> findAvailableRoomIds(Collection<Long> roomIds, LocalDate checkInDateInclusive, LocalDate checkOutDateExclusive) {
+        if (roomAvailabilityIndex.covers(checkInDateInclusive, checkOutDateExclusive)) {
+            return roomAvailabilityIndex.findAvailableRoomIds(roomIds, checkInDateInclusive, checkOutDateExclusive);
         }
-        return !date.isBefore(checkOutDateExclusive);
+        return new HashSet<>(availabilityRepository.findAvailableRoomIds(roomIds.toArray(Long[]::new), checkInDateInclusive, checkOutDateExclusive));
     }
 
+    /**
+     * from 부터 1년 안에서 nights 박 연속으로 예약 가능한 가장 빠른 기간 조회
+     */
+    @Async
+    public CompletableFuture<AvailableStayResponse> findFirstAvailableStay(long roomId, SearchAvailableStayRequest request) {
+        roomService.findById(roomId);
+
+        LocalDate today = LocalDate.now();
+        LocalDate windowEnd = today.plusDays(RoomAvailabilityIndex.WINDOW_DAYS);
+        LocalDate from = request.getFrom();
+        int nights = request.getNights();
+        if (from.isBefore(today) || from.plusDays(nights).isAfter(windowEnd)) {
+            throw new InvalidDateRangeException("1년 이내의 기간만 조회 가능합니다.", from, from.plusDays(nights));
+        }
+
+        Optional<LocalDate> checkIn = roomAvailabilityIndex.covers(from, windowEnd)
+                ? roomAvailabilityIndex.findFirstAvailableCheckIn(roomId, from, nights)
+                : DailyCalendar.of(from, windowEnd)
+                        .paintAvailabilities(availabilityRepository.findTrueAvailabilitiesByDate(roomId, from, windowEnd))
+                        .findFirstAvailableCheckIn(from, nights);
+
+        return CompletableFuture.completedFuture(new AvailableStayResponse(roomId, nights,
+                checkIn.orElse(null), checkIn.map(date -> date.plusDays(nights)).orElse(null)));
+    }
+
+    private void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isBefore(LocalDate.now())) {
+            throw new InvalidDateRangeException("startDate가 과거 일자입니다.", startDate, LocalDate.now());
+        }
+        if (!startDate.isBefore(endDate)) {
+            throw new InvalidDateRangeException("startDate는 endDate 보다 이전 일자여야 합니다.", startDate, endDate);
+        }
+    }
+
+    /**
+     * 예약 생성 시 사용. 인덱스를 거치지 않고 DB 에서 확인한다.
+     * 숙소 잠금 모드(RoomCalendarLock)에서는 호출하는 쪽이 숙소 잠금을 가지고 있으므로 행 잠금 없이, 아니면 availability 행에 락을 걸어 조회한다.
+     */
     public boolean isAvailableForUpdate(long roomId, LocalDate checkInDateInclusive, LocalDate checkOutDateExclusive) {
-        LocalDate date = checkInDateInclusive;
-        List<Availability> availabilities = availabilityRepository.findTrueAvailabilitiesByDateForUpdate(roomId, checkInDateInclusive, checkOutDateExclusive);
-        for (Availability availability : availabilities) {
-            if (availability.getStartDate().isAfter(date)) {
-                return false;
-            }
-            date = availability.getEndDate();
+        if (roomCalendarLock.isRoomLockMode()) {
+            return availabilityRepository.findAvailableRoomIds(new Long[]{roomId}, checkInDateInclusive, checkOutDateExclusive).contains(roomId);
         }
-        return !date.isBefore(checkOutDateExclusive);
+        return availabilityRepository.isCoveredByTrueAvailabilitiesForUpdate(roomId, checkInDateInclusive, checkOutDateExclusive);
     }
 
 }
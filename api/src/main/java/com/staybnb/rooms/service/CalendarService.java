@@ -4,29 +4,37 @@ import com.staybnb.rooms.domain.vo.Currency;
 import com.staybnb.rooms.domain.Availability;
 import com.staybnb.rooms.domain.Pricing;
 import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.dto.ContentVersion;
+import com.staybnb.rooms.dto.RoomVersion;
+import com.staybnb.rooms.dto.request.SearchCalendarRequest;
+import com.staybnb.rooms.dto.request.vo.CalendarFormat;
+import com.staybnb.rooms.dto.response.CalendarRangeResponse;
 import com.staybnb.rooms.dto.response.CalendarResponse;
 import com.staybnb.rooms.dto.response.vo.DailyInfo;
 import com.staybnb.common.exception.custom.InvalidYearMonthException;
+import com.staybnb.rooms.repository.cache.RoomVersionCache;
+import com.staybnb.rooms.service.calendar.DailyCalendar;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class CalendarService {
 
+    // 여러 달 캘린더 최대 조회 개월 수 (이번 달부터 조회 가능한 마지막 달인 1년 뒤 달까지)
+    private static final int MAX_CALENDAR_MONTHS = 13;
+
     private final PricingService pricingService;
     private final AvailabilityService availabilityService;
     private final RoomService roomService;
     private final ExchangeRateService exchangeRateService;
+    private final RoomVersionCache roomVersionCache;
 
     /**
      * yearMonth에 해당하는 달의 price, availability 리스트 반환
@@ -39,55 +47,62 @@ public class CalendarService {
         List<Pricing> pricingList = pricingService.findPricingsByMonth(roomId, yearMonth);
         List<Availability> availabilities = availabilityService.findAvailabilitiesByMonth(roomId, yearMonth);
 
-        Map<LocalDate, Integer> pricingMap = flattenPricingList(pricingList, yearMonth);
-        Map<LocalDate, Boolean> availabilityMap = flattenAvailabilities(availabilities, yearMonth);
-
-        List<DailyInfo> dailyInfos = new ArrayList<>();
-
-        for (LocalDate date = yearMonth.atDay(1); !date.isAfter(yearMonth.atEndOfMonth()); date = date.plusDays(1)) {
-            int amount = pricingMap.getOrDefault(date, room.getBasePrice());
-            double price = exchangeRateService.convert(room.getCurrency(), Currency.valueOf(currency), amount);
-            boolean isAvailable = availabilityMap.getOrDefault(date, false);
-            dailyInfos.add(new DailyInfo(date, price, isAvailable));
-        }
+        List<DailyInfo> dailyInfos = DailyCalendar.of(yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1), room.getBasePrice())
+                .paintPricings(pricingList)
+                .paintAvailabilities(availabilities)
+                .toDailyInfos(exchangeRateService.getExchangeRate(room.getCurrency(), Currency.valueOf(currency)));
 
         return CompletableFuture.completedFuture(new CalendarResponse(roomId, currency, dailyInfos));
     }
 
-    private Map<LocalDate, Integer> flattenPricingList(List<Pricing> pricingList, YearMonth yearMonth) {
-        LocalDate start = yearMonth.atDay(1);
-        LocalDate end = yearMonth.plusMonths(1).atDay(1);
-        Map<LocalDate, Integer> pricingMap = new HashMap<>();
-
-        for (Pricing pricing : pricingList) {
-            for (LocalDate date = max(start, pricing.getStartDate()); date.isBefore(min(end, pricing.getEndDate())); date = date.plusDays(1)) {
-                pricingMap.put(date, pricing.getPricePerNight());
-            }
-        }
-
-        return pricingMap;
-    }
-
-    private Map<LocalDate, Boolean> flattenAvailabilities(List<Availability> availabilities, YearMonth yearMonth) {
-        LocalDate start = yearMonth.atDay(1);
-        LocalDate end = yearMonth.plusMonths(1).atDay(1);
-        Map<LocalDate, Boolean> availabilityMap = new HashMap<>();
-
-        for (Availability availability : availabilities) {
-            for (LocalDate date = max(start, availability.getStartDate()); date.isBefore(min(end, availability.getEndDate())); date = date.plusDays(1)) {
-                availabilityMap.put(date, availability.isAvailable());
-            }
-        }
-
-        return availabilityMap;
+    /**
+     * from 달부터 to 달까지(양 끝 포함)의 price, availability 를 pricing, availability 각각 한 번의 조회로 반환.
+     * 요청 형식에 따라 날짜별(DAILY) 또는 값이 같은 연속된 날짜를 묶은 구간별(SPANS)로 응답한다.
+     */
+    @Async
+    public CompletableFuture<CalendarRangeResponse> getCalendar(long roomId, SearchCalendarRequest request) {
+        Room room = roomService.findById(roomId);
+        validateYearMonthRange(request.getFrom(), request.getTo());
+
+        List<Pricing> pricingList = pricingService.findPricingsByMonths(roomId, request.getFrom(), request.getTo());
+        List<Availability> availabilities = availabilityService.findAvailabilitiesByMonths(roomId, request.getFrom(), request.getTo());
+
+        LocalDate startDate = request.getFrom().atDay(1);
+        LocalDate endDate = request.getTo().plusMonths(1).atDay(1);
+        DailyCalendar calendar = DailyCalendar.of(startDate, endDate, room.getBasePrice())
+                .paintPricings(pricingList)
+                .paintAvailabilities(availabilities);
+        double exchangeRate = exchangeRateService.getExchangeRate(room.getCurrency(), Currency.valueOf(request.getCurrency()));
+
+        CalendarRangeResponse response = request.getFormat() == CalendarFormat.DAILY
+                ? new CalendarRangeResponse(roomId, request.getCurrency(), startDate, endDate, calendar.toDailyInfos(exchangeRate), null)
+                : new CalendarRangeResponse(roomId, request.getCurrency(), startDate, endDate, null, calendar.toSpans(exchangeRate));
+        return CompletableFuture.completedFuture(response);
     }
 
-    private LocalDate max(LocalDate date1, LocalDate date2) {
-        return date1.isAfter(date2) ? date1 : date2;
+    /**
+     * 캘린더 응답 버전 (캐시된 숙소 캘린더 버전과 환율로 계산, pricing/availability 는 조회하지 않음).
+     * 같은 버전이라도 환율이 바뀌면 요청 통화 기준 가격이 달라지므로 ETag 에 환율을 포함한다.
+     */
+    public ContentVersion getCalendarVersion(long roomId, String currency) {
+        RoomVersion version = roomVersionCache.get(roomId);
+        Currency roomCurrency = Currency.valueOf(version.getCurrency());
+        Currency guestCurrency = Currency.valueOf(currency);
+
+        double exchangeRate = exchangeRateService.getExchangeRate(roomCurrency, guestCurrency);
+        String eTag = "\"" + version.getCalendarVersion() + "-" + Long.toHexString(Double.doubleToLongBits(exchangeRate)) + "\"";
+        long lastModified = Math.max(version.getCalendarUpdatedAt(), exchangeRateService.getLastModified(roomCurrency, guestCurrency));
+        return new ContentVersion(eTag, lastModified);
     }
 
-    private LocalDate min(LocalDate date1, LocalDate date2) {
-        return date1.isBefore(date2) ? date1 : date2;
+    private void validateYearMonthRange(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new InvalidYearMonthException("시작 달이 마지막 달보다 늦습니다.", from);
+        }
+        if (from.plusMonths(MAX_CALENDAR_MONTHS).isBefore(to.plusMonths(1))) {
+            throw new InvalidYearMonthException("최대 " + MAX_CALENDAR_MONTHS + "개월까지 조회 가능합니다.", to);
+        }
+        validateYearMonth(to);
     }
 
     private void validateYearMonth(YearMonth yearMonth) {
@@ -5,6 +5,9 @@ import com.staybnb.rooms.repository.cache.ExchangeRateCacheRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 @Service
 @RequiredArgsConstructor
 public class ExchangeRateService {
@@ -16,7 +19,26 @@ public class ExchangeRateService {
     }
 
     public double convert(Currency from, Currency to, int amount) {
-        return amount * (exchangeRateRepository.getExchangeRate(to).getRate() / exchangeRateRepository.getExchangeRate(from).getRate());
+        return amount * getExchangeRate(from, to);
+    }
+
+    /**
+     * from 통화 1 단위의 to 통화 금액 (여러 금액을 같은 환율로 변환할 때 한 번만 조회)
+     */
+    public double getExchangeRate(Currency from, Currency to) {
+        return exchangeRateRepository.getExchangeRate(to).getRate() / exchangeRateRepository.getExchangeRate(from).getRate();
+    }
+
+    /**
+     * from, to 통화 환율 중 마지막으로 바뀐 시각 (epoch millis, 변경 기록이 없으면 0)
+     */
+    public long getLastModified(Currency from, Currency to) {
+        return Math.max(toEpochMilli(exchangeRateRepository.getExchangeRate(from).getUpdatedAt()),
+                toEpochMilli(exchangeRateRepository.getExchangeRate(to).getUpdatedAt()));
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
 }
@@ -3,24 +3,33 @@ package com.staybnb.rooms.service;
 import com.staybnb.rooms.domain.Pricing;
 import com.staybnb.rooms.domain.Room;
 import com.staybnb.rooms.domain.vo.Currency;
+import com.staybnb.rooms.dto.request.SearchBulkPricingRequest;
 import com.staybnb.rooms.dto.request.SearchPricingRequest;
 import com.staybnb.rooms.dto.request.UpdatePricingRequest;
 import com.staybnb.rooms.dto.request.vo.DateRange;
 import com.staybnb.rooms.dto.request.vo.DateRangeRequest;
 import com.staybnb.rooms.dto.response.PricingResponse;
 import com.staybnb.common.exception.custom.InvalidDateRangeException;
+import com.staybnb.rooms.event.RoomCalendarChangedEvent;
 import com.staybnb.rooms.repository.PricingRepository;
+import com.staybnb.rooms.repository.cache.RoomPriceIndex;
+import com.staybnb.rooms.service.calendar.DailyCalendar;
+import com.staybnb.rooms.service.lock.RoomCalendarLock;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static com.staybnb.common.validation.business.AccessValidator.validateHost;
 
@@ -29,9 +38,12 @@ import static com.staybnb.common.validation.business.AccessValidator.validateHos
 public class PricingService {
 
     private final PricingRepository pricingRepository;
+    private final RoomPriceIndex roomPriceIndex;
 
     private final RoomService roomService;
     private final ExchangeRateService exchangeRateService;
+    private final RoomCalendarLock roomCalendarLock;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 숙박 총 가격 조회
@@ -40,7 +52,7 @@ public class PricingService {
     @Async
     public CompletableFuture<PricingResponse> getTotalPricing(Long roomId, SearchPricingRequest request) {
         Room room = roomService.findById(roomId);
-        validateDateRange(request);
+        validateDateRange(request.getStartDate(), request.getEndDate());
 
         double totalPrice = getTotalPrice(room, request.getStartDate(), request.getEndDate(), Currency.valueOf(request.getCurrency()));
 
@@ -49,6 +61,33 @@ public class PricingService {
         );
     }
 
+    /**
+     * 여러 숙소의 같은 기간 숙박 총 가격 조회.
+     * 숙소 조회, pricing 조회는 숙소 수와 관계없이 한 번씩 하고, 환율은 통화별로 한 번만 조회한다.
+     * 존재하지 않는(삭제된) 숙소는 결과에서 제외
+     * @return 요청한 roomIds 순서의 PricingResponse 목록
+     */
+    @Async
+    public CompletableFuture<List<PricingResponse>> getTotalPricings(SearchBulkPricingRequest request) {
+        validateDateRange(request.getStartDate(), request.getEndDate());
+        Currency currency = Currency.valueOf(request.getCurrency());
+
+        List<Room> rooms = roomService.findAllById(request.getRoomIds());
+        Map<Long, Integer> totalPrices = calcTotalPrices(rooms, request.getStartDate(), request.getEndDate());
+
+        Map<Currency, Double> rates = new EnumMap<>(Currency.class);
+        List<PricingResponse> responses = rooms.stream()
+                .map(room -> new PricingResponse(
+                        room.getId(),
+                        request.getStartDate(),
+                        request.getEndDate(),
+                        totalPrices.get(room.getId()) * rates.computeIfAbsent(room.getCurrency(), from -> exchangeRateService.convert(from, currency, 1)),
+                        request.getCurrency()))
+                .toList();
+
+        return CompletableFuture.completedFuture(responses);
+    }
+
     /**
      * 숙박 총 가격 조회
      * @return double
@@ -62,33 +101,39 @@ public class PricingService {
     }
 
     /**
-     * [startDate, endDate] 기간 총 숙박 가격 계산
+     * [startDate, endDate] 기간 총 숙박 가격 계산.
+     * 오늘부터 1년 이내 기간은 가격 인덱스로, 그 외 기간은 pricing 조회로 계산
      */
     private int calcTotalPrice(Room room, LocalDate checkInDateInclusive, LocalDate checkOutDateExclusive) {
-        int totalDays = (int) ChronoUnit.DAYS.between(checkInDateInclusive, checkOutDateExclusive);
-        int totalPrice = 0;
-
-        List<Pricing> pricingList = pricingRepository.findPricingsByDate(room.getId(), checkInDateInclusive, checkOutDateExclusive);
+        return calcTotalPrices(List.of(room), checkInDateInclusive, checkOutDateExclusive).get(room.getId());
+    }
 
-        for (Pricing pricing : pricingList) {
-            int days = countDaysWithinRange(pricing, checkInDateInclusive, checkOutDateExclusive);
-            totalPrice += days * pricing.getPricePerNight();
-            totalDays -= days;
+    /**
+     * 숙소별 [startDate, endDate) 기간 총 숙박 가격 계산 (숙소 통화 기준).
+     * 오늘부터 1년 이내 기간은 가격 인덱스로, 그 외 기간은 전체 숙소의 pricing 을 한 번에 조회해서 계산
+     */
+    private Map<Long, Integer> calcTotalPrices(List<Room> rooms, LocalDate checkInDateInclusive, LocalDate checkOutDateExclusive) {
+        if (roomPriceIndex.covers(checkInDateInclusive, checkOutDateExclusive)) {
+            return roomPriceIndex.getTotalPrices(rooms, checkInDateInclusive, checkOutDateExclusive);
         }
 
-        totalPrice += totalDays * room.getBasePrice();
+        Map<Long, List<Pricing>> pricingsByRoomId = pricingRepository
+                .findPricingsByRoomIdsAndDate(rooms.stream().map(Room::getId).toArray(Long[]::new), checkInDateInclusive, checkOutDateExclusive)
+                .stream()
+                .collect(Collectors.groupingBy(pricing -> pricing.getRoom().getId()));
 
-        return totalPrice;
+        Map<Long, Integer> totalPrices = new HashMap<>();
+        for (Room room : rooms) {
+            totalPrices.put(room.getId(), calcTotalPrice(room, pricingsByRoomId.getOrDefault(room.getId(), List.of()),
+                    checkInDateInclusive, checkOutDateExclusive));
+        }
+        return totalPrices;
     }
 
-    /**
-     * pricing 날짜 범위 중 [startDate, endDate) 구간에 포함되는 일수 카운트
-     */
-    private int countDaysWithinRange(Pricing pricing, LocalDate startDateInclusive, LocalDate endDateExclusive) {
-        return (int) ChronoUnit.DAYS.between(
-                pricing.getStartDate().isBefore(startDateInclusive) ? startDateInclusive : pricing.getStartDate(),
-                pricing.getEndDate().isAfter(endDateExclusive) ? endDateExclusive : pricing.getEndDate()
-        );
+    private int calcTotalPrice(Room room, List<Pricing> pricingList, LocalDate checkInDateInclusive, LocalDate checkOutDateExclusive) {
+        return DailyCalendar.of(checkInDateInclusive, checkOutDateExclusive, room.getBasePrice())
+                .paintPricings(pricingList)
+                .totalPrice();
     }
 
     @Async
@@ -98,6 +143,7 @@ public class PricingService {
         validateHost(userId, room);
         DateRangeRequest.sortAndValidateDateSelected(request.getDateSelected());
 
+        roomCalendarLock.lockForCalendarUpdate(roomId);
         // DateRangeRequest는 endDate가 exclusive인 DateRange로 변경 후 전달
         updatePricing(room,
                 request.getDateSelected().stream().map(DateRangeRequest::toDateRange).toList(),
@@ -107,8 +153,28 @@ public class PricingService {
     }
 
     /**
-     * dateRanges 날짜 범위에 대한 availability 데이터 추가.
-     * dateRanges 전체 날짜 범위와 겹치는 기존 availability 데이터가 있을 경우, 기존 데이터는 삭제하고 겹치지 않는 구간 데이터만 다시 저장
+     * updateSelectedDatesPricing 과 같은 결과를 update_room_pricing 프로시저 호출 한 번으로 처리
+     */
+    @Async
+    @Transactional
+    public CompletableFuture<Void> updateSelectedDatesPricingSql(long userId, long roomId, UpdatePricingRequest request) {
+        Room room = roomService.findById(roomId);
+        validateHost(userId, room);
+        DateRangeRequest.sortAndValidateDateSelected(request.getDateSelected());
+
+        List<DateRange> sortedDateRanges = request.getDateSelected().stream().map(DateRangeRequest::toDateRange).toList();
+
+        roomCalendarLock.lockForCalendarUpdate(roomId);
+        pricingRepository.updateRoomPricing(roomId, sortedDateRanges.stream().map(DateRange::toString).toList(), request.getPricePerNight());
+        eventPublisher.publishEvent(new RoomCalendarChangedEvent(roomId, RoomCalendarChangedEvent.Type.PRICING,
+                sortedDateRanges.getFirst().getStartDate(), sortedDateRanges.getLast().getEndDate()));
+
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * dateRanges 날짜 범위의 1박 가격을 pricePerNight 로 변경.
+     * dateRanges 전체 날짜 범위와 겹치는 기존 pricing 데이터가 있을 경우, 기존 데이터는 삭제하고 선택 날짜와 겹치지 않는 구간만 기존 가격으로 다시 저장
      */
     private void updatePricing(Room room, List<DateRange> sortedSelectedDateRanges, int pricePerNight) {
         LocalDate minStartDate = sortedSelectedDateRanges.getFirst().getStartDate();
@@ -118,13 +184,8 @@ public class PricingService {
         List<Pricing> sortedConflictedPricings = pricingRepository
                 .findOrderedPricingsByDate(room.getId(), minStartDate, maxEndDate);
 
-        // 충돌 하는 범위 내 데이터 전체 삭제
-        if (!sortedConflictedPricings.isEmpty()) {
-            pricingRepository.deleteAllInBatch(sortedConflictedPricings);
-            pricingRepository.flush();
-        }
-
-        // 새로 요청 온 날짜 구간(dateRanges)과 기존 데이터 중 겹치지 않는 구간의 데이터 저장
+        // 새로 요청 온 날짜 구간(dateRanges)과 기존 데이터 중 겹치지 않는 구간의 데이터를 만든 뒤,
+        // 충돌 하는 범위 내 데이터 전체 삭제와 저장을 DELETE, INSERT 한 번씩으로 처리
         List<Pricing> newPricings = new ArrayList<>();
 
         for (DateRange range : sortedSelectedDateRanges) {
@@ -133,7 +194,8 @@ public class PricingService {
 
         addNonOverlappingRanges(newPricings, room, sortedConflictedPricings, sortedSelectedDateRanges);
 
-        pricingRepository.saveAll(newPricings);
+        pricingRepository.replacePricings(room.getId(), sortedConflictedPricings, newPricings);
+        eventPublisher.publishEvent(new RoomCalendarChangedEvent(room.getId(), RoomCalendarChangedEvent.Type.PRICING, minStartDate, maxEndDate));
     }
 
     /**
@@ -183,18 +245,25 @@ public class PricingService {
     }
 
     public List<Pricing> findPricingsByMonth(Long roomId, YearMonth yearMonth) {
-        return pricingRepository.findPricingsByDate(roomId, yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1));
+        return findPricingsByMonths(roomId, yearMonth, yearMonth);
+    }
+
+    /**
+     * from 달부터 to 달까지(양 끝 포함) 기간과 겹치는 pricing 조회
+     */
+    public List<Pricing> findPricingsByMonths(Long roomId, YearMonth from, YearMonth to) {
+        return pricingRepository.findPricingsByDate(roomId, from.atDay(1), to.plusMonths(1).atDay(1));
     }
 
-    private void validateDateRange(SearchPricingRequest request) {
-        if (request.getStartDate().isBefore(LocalDate.now())) {
-            throw new InvalidDateRangeException("startDate가 과거 일자입니다.", request.getStartDate(), LocalDate.now());
+    private void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isBefore(LocalDate.now())) {
+            throw new InvalidDateRangeException("startDate가 과거 일자입니다.", startDate, LocalDate.now());
         }
-        if (!request.getStartDate().isBefore(request.getEndDate())) {
-            throw new InvalidDateRangeException("startDate는 endDate 보다 이전 일자여야 합니다.", request.getStartDate(), request.getEndDate());
+        if (!startDate.isBefore(endDate)) {
+            throw new InvalidDateRangeException("startDate는 endDate 보다 이전 일자여야 합니다.", startDate, endDate);
         }
-        if (!request.getEndDate().isBefore(LocalDate.now().plusYears(1))) {
-            throw new InvalidDateRangeException("1년 이내의 가격만 조회 가능합니다.", request.getStartDate(), request.getEndDate());
+        if (!endDate.isBefore(LocalDate.now().plusYears(1))) {
+            throw new InvalidDateRangeException("1년 이내의 가격만 조회 가능합니다.", startDate, endDate);
         }
     }
 
@@ -1,23 +1,45 @@
 package com.staybnb.rooms.service;
 
+import com.staybnb.common.config.AsyncConfig;
 import com.staybnb.common.exception.custom.InvalidTimeZoneIdException;
+import com.staybnb.rooms.domain.Amenity;
 import com.staybnb.rooms.domain.Room;
 import com.staybnb.rooms.domain.vo.Currency;
+import com.staybnb.rooms.dto.ContentVersion;
+import com.staybnb.rooms.dto.CountedPage;
+import com.staybnb.rooms.dto.CountedPage.CountStrategy;
+import com.staybnb.rooms.dto.RoomStayPrice;
+import com.staybnb.rooms.dto.RoomVersion;
 import com.staybnb.rooms.dto.SearchRoomCondition;
 import com.staybnb.rooms.dto.request.UpdateRoomRequest;
 import com.staybnb.common.exception.custom.NoSuchRoomException;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import com.staybnb.rooms.repository.PricingRepository;
 import com.staybnb.rooms.repository.RoomRepository;
+import com.staybnb.rooms.repository.cache.CachedRoomSearch;
+import com.staybnb.rooms.repository.cache.RoomSearchResultCache;
+import com.staybnb.rooms.repository.cache.RoomVersionCache;
+import com.staybnb.rooms.repository.projection.RoomSearchProjectionProperties;
+import com.staybnb.rooms.repository.search.RoomSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.*;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static com.staybnb.common.validation.business.AccessValidator.validateHost;
 
@@ -26,7 +48,19 @@ import static com.staybnb.common.validation.business.AccessValidator.validateHos
 @RequiredArgsConstructor
 public class RoomService {
 
+    // 검색 결과 스트리밍 시 한 번에 읽고 전달하는 숙소 수 (JDBC fetch size)
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
+    // 총 숙박 가격 정렬 시 가격을 계산할 수 있는 최대 후보 숙소 수
+    private static final int MAX_TOTAL_PRICE_CANDIDATES = 10_000;
+
     private final RoomRepository roomRepository;
+    private final PricingRepository pricingRepository;
+    private final RoomSearchIndex roomSearchIndex;
+    private final RoomSearchResultCache roomSearchResultCache;
+    private final RoomSearchProjectionProperties roomSearchProjectionProperties;
+    private final RoomVersionCache roomVersionCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final AmenityService amenityService;
     private final ExchangeRateService exchangeRateService;
@@ -35,7 +69,10 @@ public class RoomService {
     public CompletableFuture<Room> save(Room room) {
         validateTimeZoneId(room.getTimeZoneId());
         room.setBasePriceInUsd(exchangeRateService.convertToUSD(room.getCurrency(), room.getBasePrice()));
-        return CompletableFuture.completedFuture(roomRepository.save(room));
+        room.setAmenityBits(Amenity.bitsOf(room.getAmenities()));
+        Room savedRoom = roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomChangedEvent(savedRoom));
+        return CompletableFuture.completedFuture(savedRoom);
     }
 
     @Async
@@ -44,9 +81,44 @@ public class RoomService {
         return CompletableFuture.completedFuture(findByIdFetchJoin(roomId));
     }
 
+    /**
+     * 검색 결과 캐시에 페이지의 room id 목록이 있으면 해당 숙소만 조회.
+     * 없으면 검색 인덱스로 처리할 수 있는 조건은 인덱스에서, 아니면 DB 에서 검색한 뒤 결과를 캐시한다.
+     */
     @Async
     public CompletableFuture<Page<Room>> findAll(SearchRoomCondition condition, Pageable pageable) {
-        return CompletableFuture.completedFuture(roomRepository.findAll(condition, pageable));
+        SearchRoomCondition conditionInUsd = withPriceInUsd(condition);
+
+        RoomSearchResultCache.Lookup lookup = roomSearchResultCache.lookup(conditionInUsd, pageable);
+        if (lookup.getCached().isPresent()) {
+            CachedRoomSearch cached = lookup.getCached().get();
+            List<Room> rooms = roomRepository.findAllInOrder(cached.getRoomIds());
+            return CompletableFuture.completedFuture(new CountedPage<>(rooms, pageable, cached.getTotal(), CountStrategy.CACHED));
+        }
+
+        Page<Room> rooms = search(conditionInUsd, pageable);
+        roomSearchResultCache.put(lookup, rooms);
+        return CompletableFuture.completedFuture(rooms);
+    }
+
+    /**
+     * 키셋(seek) 페이지네이션 검색. 전체 개수(count)는 조회하지 않음
+     */
+    @Async
+    public CompletableFuture<Window<Room>> findAll(SearchRoomCondition condition, KeysetScrollPosition position, Sort sort, int size) {
+        return CompletableFuture.completedFuture(roomRepository.findAll(withPriceInUsd(condition), position, sort, size));
+    }
+
+    /**
+     * 검색 조건에 맞는 숙소 전체를 id 순으로 EXPORT_CHUNK_SIZE 개씩 전달 (Page 로 모으지 않음).
+     * 커서를 사용하므로 전달이 끝날 때까지 읽기 전용 트랜잭션을 유지한다.
+     * 전용 executor 에서 실행하며, 동시 export 수(room-export.max-concurrent)를 넘으면 TaskRejectedException 이 발생한다.
+     */
+    @Async(AsyncConfig.ROOM_EXPORT_EXECUTOR)
+    @Transactional(readOnly = true)
+    public CompletableFuture<Void> exportAll(SearchRoomCondition condition, Consumer<List<Room>> consumer) {
+        roomRepository.forEachChunk(withPriceInUsd(condition), EXPORT_CHUNK_SIZE, consumer);
+        return CompletableFuture.completedFuture(null);
     }
 
     @Async
@@ -66,6 +138,7 @@ public class RoomService {
         }
         if (request.getAmenities() != null && !request.getAmenities().isEmpty()) {
             room.setAmenities(amenityService.getAmenitySetByStringSet(request.getAmenities()));
+            room.setAmenityBits(Amenity.bitsOf(room.getAmenities()));
         }
         if (request.getTitle() != null) {
             room.setTitle(request.getTitle());
@@ -81,6 +154,7 @@ public class RoomService {
             room.setCurrency(Currency.valueOf(request.getCurrency()));
         }
 
+        eventPublisher.publishEvent(new RoomChangedEvent(room));
         return CompletableFuture.completedFuture(room);
     }
 
@@ -92,6 +166,7 @@ public class RoomService {
 
         room.setDeleted(true);
         room.setDeletedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(new RoomChangedEvent(room));
 
         return CompletableFuture.completedFuture(null);
     }
@@ -100,10 +175,115 @@ public class RoomService {
         return roomRepository.findById(roomId).orElseThrow(() -> new NoSuchRoomException(roomId));
     }
 
+    /**
+     * roomIds 숙소를 한 번에 조회해서 요청 순서대로 반환 (존재하지 않는 숙소, 중복 id 는 제외)
+     */
+    public List<Room> findAllById(List<Long> roomIds) {
+        Map<Long, Room> rooms = new HashMap<>();
+        roomRepository.findAllById(roomIds).forEach(room -> rooms.put(room.getId(), room));
+        return roomIds.stream().distinct().map(rooms::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * 숙소 가격 버전 조회 (pricing, 기본 가격/통화 변경 시 증가)
+     */
+    public long getPricingVersion(long roomId) {
+        return roomRepository.findPricingVersionById(roomId).orElseThrow(() -> new NoSuchRoomException(roomId));
+    }
+
+    /**
+     * 숙소 조회 응답 버전 (캐시된 숙소 상세 버전으로 계산, room 외 테이블은 조회하지 않음)
+     */
+    public ContentVersion getRoomVersion(long roomId) {
+        RoomVersion version = roomVersionCache.get(roomId);
+        return new ContentVersion("\"" + version.getDetailVersion() + "\"", version.getDetailUpdatedAt());
+    }
+
     public Room findByIdFetchJoin(long roomId) {
         return roomRepository.findByIdFetchJoin(roomId).orElseThrow(() -> new NoSuchRoomException(roomId));
     }
 
+    /**
+     * 검색 가격 조건(priceFrom, priceTo)을 요청 통화 기준에서 USD 로 한 번만 환산.
+     * 통화가 없는 경우 USD 로 간주
+     */
+    private SearchRoomCondition withPriceInUsd(SearchRoomCondition condition) {
+        if (condition.getPriceFrom() == null && condition.getPriceTo() == null) {
+            return condition;
+        }
+
+        Currency currency = condition.getCurrency() == null ? Currency.USD : Currency.valueOf(condition.getCurrency());
+
+        return condition.toBuilder()
+                .priceFromInUsd(condition.getPriceFrom() == null ? null : exchangeRateService.convertToUSD(currency, condition.getPriceFrom()))
+                .priceToInUsd(condition.getPriceTo() == null ? null : exchangeRateService.convertToUSD(currency, condition.getPriceTo()))
+                .build();
+    }
+
+    private Page<Room> search(SearchRoomCondition conditionInUsd, Pageable pageable) {
+        if (pageable != null && pageable.getSort().getOrderFor("totalPrice") != null) {
+            return searchOrderByTotalPrice(conditionInUsd, pageable);
+        }
+        if (roomSearchIndex.supports(conditionInUsd, pageable)) {
+            Page<Long> roomIds = roomSearchIndex.search(conditionInUsd, pageable);
+            List<Room> rooms = roomRepository.findAllInOrder(roomIds.getContent());
+            return new CountedPage<>(rooms, pageable, roomIds.getTotalElements(), CountStrategy.EXACT);
+        }
+        if (roomSearchProjectionProperties.isEnabled()) {
+            return roomRepository.findAllByProjection(conditionInUsd, pageable);
+        }
+
+        return roomRepository.findAll(conditionInUsd, pageable);
+    }
+
+    /**
+     * 숙박 기간 총 가격(USD 환산) 순 검색.
+     * 검색 조건에 맞는 후보 숙소의 총 숙박 가격을 쿼리 한 번으로 계산해서 정렬한 뒤, 페이지에 해당하는 숙소만 조회
+     */
+    private Page<Room> searchOrderByTotalPrice(SearchRoomCondition conditionInUsd, Pageable pageable) {
+        if (conditionInUsd.getStartDate() == null || conditionInUsd.getEndDate() == null) {
+            throw new IllegalArgumentException("총 숙박 가격 정렬은 숙박 기간(startDate, endDate)이 필요합니다.");
+        }
+
+        List<Long> candidateIds = roomRepository.findAllIds(conditionInUsd, MAX_TOTAL_PRICE_CANDIDATES + 1);
+        if (candidateIds.size() > MAX_TOTAL_PRICE_CANDIDATES) {
+            throw new IllegalArgumentException("검색 결과가 너무 많아 총 숙박 가격으로 정렬할 수 없습니다. 검색 조건을 좁혀주세요.");
+        }
+
+        Map<Long, Double> totalPricesInUsd = findTotalPricesInUsd(candidateIds, conditionInUsd.getStartDate(), conditionInUsd.getEndDate());
+
+        Comparator<Long> byTotalPrice = Comparator.comparingDouble(totalPricesInUsd::get);
+        if (pageable.getSort().getOrderFor("totalPrice").isDescending()) {
+            byTotalPrice = byTotalPrice.reversed();
+        }
+        List<Long> sortedIds = candidateIds.stream()
+                // 후보 조회 후 가격 계산 전에 삭제된 숙소는 총 가격이 없으므로 제외
+                .filter(totalPricesInUsd::containsKey)
+                .sorted(byTotalPrice.thenComparing(Comparator.naturalOrder()))
+                .toList();
+
+        int from = (int) Math.min(pageable.getOffset(), sortedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), sortedIds.size());
+        List<Room> rooms = roomRepository.findAllInOrder(sortedIds.subList(from, to));
+
+        return new CountedPage<>(rooms, pageable, sortedIds.size(), CountStrategy.EXACT);
+    }
+
+    /**
+     * 숙소별 [startDate, endDate) 총 숙박 가격을 USD 로 환산 (환율은 통화별로 한 번만 조회)
+     */
+    private Map<Long, Double> findTotalPricesInUsd(List<Long> roomIds, LocalDate startDateInclusive, LocalDate endDateExclusive) {
+        Map<Currency, Double> usdRates = new EnumMap<>(Currency.class);
+        Map<Long, Double> totalPricesInUsd = new HashMap<>();
+
+        for (RoomStayPrice stayPrice : pricingRepository.findStayPrices(roomIds.toArray(Long[]::new), startDateInclusive, endDateExclusive)) {
+            double usdRate = usdRates.computeIfAbsent(Currency.valueOf(stayPrice.getCurrency()),
+                    currency -> exchangeRateService.convertToUSD(currency, 1));
+            totalPricesInUsd.put(stayPrice.getRoomId(), stayPrice.getTotalPrice() * usdRate);
+        }
+        return totalPricesInUsd;
+    }
+
     private void validateTimeZoneId(String timeZoneId) {
         try {
             ZoneId.of(timeZoneId);
@@ -0,0 +1,215 @@
+package com.staybnb.rooms.service.calendar;
+
+import com.staybnb.rooms.domain.Availability;
+import com.staybnb.rooms.domain.Pricing;
+import com.staybnb.rooms.dto.response.vo.CalendarSpan;
+import com.staybnb.rooms.dto.response.vo.DailyInfo;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * [startDate, endDate) 기간의 1박 가격과 예약 가능 여부를 날짜 offset(startDate 로부터의 일수) 인덱스 배열로 표현.
+ * pricing, availability 의 날짜 범위를 배열 구간에 그대로 채워 넣으므로(Arrays.fill, BitSet.set)
+ * 날짜별 Map 이나 boxing 없이 기간 총 가격, 예약 가능 여부, 캘린더 응답(날짜별 또는 구간별)을 만든다.
+ * 범위가 기간을 벗어나는 부분은 잘라내며, 나중에 채운 범위가 앞서 채운 값을 덮어쓴다.
+ */
+public class DailyCalendar {
+
+    private final LocalDate startDate;
+    private final int days;
+
+    private int[] prices;                                // 1박 가격 (숙소 통화 기준), 가격을 다루지 않으면 null
+    private final BitSet available = new BitSet();       // 예약 가능한 날짜 offset (availability 가 없는 날은 불가)
+
+    private DailyCalendar(LocalDate startDateInclusive, LocalDate endDateExclusive) {
+        long days = ChronoUnit.DAYS.between(startDateInclusive, endDateExclusive);
+        if (days < 0 || days > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("유효하지 않은 기간입니다: " + startDateInclusive + " ~ " + endDateExclusive);
+        }
+        this.startDate = startDateInclusive;
+        this.days = (int) days;
+    }
+
+    /**
+     * 예약 가능 여부만 다루는 캘린더
+     */
+    public static DailyCalendar of(LocalDate startDateInclusive, LocalDate endDateExclusive) {
+        return new DailyCalendar(startDateInclusive, endDateExclusive);
+    }
+
+    /**
+     * 모든 날짜의 1박 가격을 basePrice 로 채운 캘린더
+     */
+    public static DailyCalendar of(LocalDate startDateInclusive, LocalDate endDateExclusive, int basePrice) {
+        DailyCalendar calendar = new DailyCalendar(startDateInclusive, endDateExclusive);
+        calendar.prices = new int[calendar.days];
+        Arrays.fill(calendar.prices, basePrice);
+        return calendar;
+    }
+
+    /**
+     * 날짜 offset 별 예약 가능 여부(availableDays)로 만든 캘린더. 기간을 벗어나는 offset 은 무시한다.
+     */
+    public static DailyCalendar ofAvailableDays(LocalDate startDateInclusive, LocalDate endDateExclusive, BitSet availableDays) {
+        DailyCalendar calendar = new DailyCalendar(startDateInclusive, endDateExclusive);
+        calendar.available.or(availableDays);
+        calendar.available.clear(calendar.days, Math.max(calendar.days, calendar.available.length()));
+        return calendar;
+    }
+
+    public LocalDate startDate() {
+        return startDate;
+    }
+
+    public int days() {
+        return days;
+    }
+
+    public DailyCalendar paintPricings(List<Pricing> pricingList) {
+        for (Pricing pricing : pricingList) {
+            paintPrice(pricing.getStartDate(), pricing.getEndDate(), pricing.getPricePerNight());
+        }
+        return this;
+    }
+
+    /**
+     * [startDate, endDate) 의 1박 가격을 pricePerNight 로 채운다
+     */
+    public DailyCalendar paintPrice(LocalDate startDateInclusive, LocalDate endDateExclusive, int pricePerNight) {
+        int[] prices = requirePrices();
+        int from = offset(startDateInclusive);
+        int to = offset(endDateExclusive);
+        if (from < to) {
+            Arrays.fill(prices, from, to, pricePerNight);
+        }
+        return this;
+    }
+
+    public DailyCalendar paintAvailabilities(List<Availability> availabilities) {
+        for (Availability availability : availabilities) {
+            int from = offset(availability.getStartDate());
+            int to = offset(availability.getEndDate());
+            if (from < to) {
+                available.set(from, to, availability.isAvailable());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 기간 전체 숙박 가격 합 (숙소 통화 기준)
+     */
+    public int totalPrice() {
+        int totalPrice = 0;
+        for (int price : requirePrices()) {
+            totalPrice += price;
+        }
+        return totalPrice;
+    }
+
+    /**
+     * prefix[i] = [startDate, startDate + i) 숙박 가격 합. 길이는 days + 1
+     */
+    public int[] prefixSums() {
+        int[] prices = requirePrices();
+        int[] prefix = new int[days + 1];
+        for (int i = 0; i < days; i++) {
+            prefix[i + 1] = prefix[i] + prices[i];
+        }
+        return prefix;
+    }
+
+    /**
+     * 기간의 모든 날짜가 예약 가능한지 여부
+     */
+    public boolean isAllAvailable() {
+        return available.nextClearBit(0) >= days;
+    }
+
+    /**
+     * [startDate, endDate) 의 모든 날짜가 예약 가능한지 여부. 캘린더 기간을 벗어나는 날짜는 예약 불가로 본다.
+     */
+    public boolean isAllAvailable(LocalDate startDateInclusive, LocalDate endDateExclusive) {
+        long from = startDateInclusive.toEpochDay() - startDate.toEpochDay();
+        long to = endDateExclusive.toEpochDay() - startDate.toEpochDay();
+        if (from < 0 || to > days) {
+            return false;
+        }
+        return available.nextClearBit((int) from) >= to;
+    }
+
+    /**
+     * fromDate 이후 nights 박 연속으로 예약 가능한 가장 빠른 체크인 날짜.
+     * 예약 가능한 연속 구간 단위로 건너뛰므로 구간 수에 비례하는 시간에 찾는다.
+     */
+    public Optional<LocalDate> findFirstAvailableCheckIn(LocalDate fromDateInclusive, int nights) {
+        int start = available.nextSetBit(fromDateInclusive.isBefore(startDate) ? 0 : offset(fromDateInclusive));
+        while (start >= 0 && start + nights <= days) {
+            int end = available.nextClearBit(start);
+            if (end - start >= nights) {
+                return Optional.of(startDate.plusDays(start));
+            }
+            start = available.nextSetBit(end);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 예약 가능한 날짜 offset 목록 (복사본)
+     */
+    public BitSet availableDays() {
+        return (BitSet) available.clone();
+    }
+
+    /**
+     * 날짜별 캘린더 응답 생성. 가격에는 환율(숙소 통화 → 요청 통화) exchangeRate 를 곱한다.
+     */
+    public List<DailyInfo> toDailyInfos(double exchangeRate) {
+        int[] prices = requirePrices();
+        List<DailyInfo> dailyInfos = new ArrayList<>(days);
+        LocalDate date = startDate;
+        for (int i = 0; i < days; i++) {
+            dailyInfos.add(new DailyInfo(date, prices[i] * exchangeRate, available.get(i)));
+            date = date.plusDays(1);
+        }
+        return dailyInfos;
+    }
+
+    /**
+     * 1박 가격과 예약 가능 여부가 같은 연속된 날짜를 하나로 묶은 구간 목록 생성 (run-length encoding).
+     * 가격에는 환율(숙소 통화 → 요청 통화) exchangeRate 를 곱한다.
+     */
+    public List<CalendarSpan> toSpans(double exchangeRate) {
+        int[] prices = requirePrices();
+        List<CalendarSpan> spans = new ArrayList<>();
+        int from = 0;
+        for (int i = 1; i <= days; i++) {
+            if (i == days || prices[i] != prices[from] || available.get(i) != available.get(from)) {
+                spans.add(new CalendarSpan(startDate.plusDays(from), startDate.plusDays(i), prices[from] * exchangeRate, available.get(from)));
+                from = i;
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * date 의 offset 을 [0, days] 로 잘라서 반환
+     */
+    private int offset(LocalDate date) {
+        long offset = date.toEpochDay() - startDate.toEpochDay();
+        return (int) Math.max(0, Math.min(days, offset));
+    }
+
+    private int[] requirePrices() {
+        if (prices == null) {
+            throw new IllegalStateException("가격 없이 생성된 캘린더입니다.");
+        }
+        return prices;
+    }
+}
@@ -0,0 +1,77 @@
+package com.staybnb.rooms.service.lock;
+
+import com.staybnb.rooms.repository.AvailabilityRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 숙소 캘린더를 바꾸는 트랜잭션(예약, 호스트의 availability, pricing 수정)을 숙소 단위로 직렬화하는 잠금.
+ * ADVISORY, LOCAL 모드에서는 트랜잭션이 끝날 때까지 잠금을 유지하며, 같은 트랜잭션에서 다시 잠가도 된다.
+ * ROW 모드에서는 아무것도 하지 않고 예약 시 availability 행 잠금(SELECT ... FOR UPDATE)으로 직렬화한다.
+ * 호스트의 캘린더 수정은 모드와 관계없이 숙소 advisory lock 도 잡는다 (lockForCalendarUpdate).
+ */
+@Component
+public class RoomCalendarLock {
+
+    private final AvailabilityRepository availabilityRepository;
+    private final RoomCalendarLockProperties properties;
+    private final ReentrantLock[] stripes;
+
+    public RoomCalendarLock(AvailabilityRepository availabilityRepository, RoomCalendarLockProperties properties) {
+        this.availabilityRepository = availabilityRepository;
+        this.properties = properties;
+        this.stripes = new ReentrantLock[properties.getStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 숙소 잠금을 현재 트랜잭션이 끝날 때까지 획득. 트랜잭션 안에서만 호출할 수 있다.
+     */
+    public void lock(long roomId) {
+        switch (properties.getMode()) {
+            case ROW -> {
+            }
+            case ADVISORY -> availabilityRepository.lockRoomAvailability(roomId);
+            case LOCAL -> lockLocal(roomId);
+        }
+    }
+
+    /**
+     * 호스트의 캘린더(availability, pricing) 수정용 숙소 잠금. 트랜잭션 안에서만 호출할 수 있다.
+     * lock() 에 더해 모드와 관계없이 숙소 advisory lock 을 잡아서, 같은 잠금을 pg_try_advisory_xact_lock 으로 확인하는
+     * 캘린더 압축 batch 와 다른 서버의 캘린더 수정이 이 숙소의 pricing, availability 행을 동시에 바꾸지 않게 한다.
+     */
+    public void lockForCalendarUpdate(long roomId) {
+        lock(roomId);
+        if (properties.getMode() != RoomCalendarLockProperties.Mode.ADVISORY) {
+            availabilityRepository.lockRoomAvailability(roomId);
+        }
+    }
+
+    /**
+     * lock() 으로 숙소 단위 잠금을 잡는 모드인지 여부. false 면 availability 행 잠금으로 직렬화해야 한다.
+     */
+    public boolean isRoomLockMode() {
+        return properties.getMode() != RoomCalendarLockProperties.Mode.ROW;
+    }
+
+    private void lockLocal(long roomId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("숙소 잠금은 트랜잭션 안에서만 획득할 수 있습니다.");
+        }
+
+        ReentrantLock lock = stripes[Math.floorMod(roomId, stripes.length)];
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
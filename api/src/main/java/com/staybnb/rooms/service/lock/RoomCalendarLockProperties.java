@@ -0,0 +1,22 @@
+package com.staybnb.rooms.service.lock;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "room-calendar-lock")
+public class RoomCalendarLockProperties {
+
+    private Mode mode = Mode.ROW;
+    private int stripes = 1024; // LOCAL 모드의 lock 개수 (숙소 id 로 나눠 가짐)
+
+    public enum Mode {
+        ROW,        // 예약 시 겹치는 availability 행을 SELECT ... FOR UPDATE
+        ADVISORY,   // 숙소별 pg_advisory_xact_lock (여러 서버)
+        LOCAL       // 숙소별 striped lock (서버 한 대)
+    }
+}
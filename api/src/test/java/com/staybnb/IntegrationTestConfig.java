@@ -0,0 +1,39 @@
+package com.staybnb;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * 모든 통합 테스트가 공유하는 테스트 전용 bean.
+ * 테스트 클래스마다 @Import, @TestPropertySource 를 붙이면 Spring 컨텍스트가 따로 만들어져 같은 DB 에
+ * schema.sql, data.sql 을 다시 실행하므로, 테스트용 bean 은 여기에 등록한다.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class IntegrationTestConfig {
+
+    @Bean
+    static StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    /**
+     * procedures.sql 프로시저 생성.
+     * 프로시저 본문($$ ... $$) 안의 ';' 로 문장이 나뉘지 않도록 spring.sql.init 대신 스크립트 전체를 한 문장으로 실행한다
+     */
+    @Bean
+    DataSourceInitializer proceduresInitializer(DataSource dataSource) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("procedures.sql"));
+        populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(populator);
+        return initializer;
+    }
+}
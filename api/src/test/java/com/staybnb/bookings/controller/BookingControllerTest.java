@@ -53,8 +53,10 @@ class BookingControllerTest extends AbstractIntegrationTest {
         BookingPreviewResponse expected = new BookingPreviewResponse(
                 roomId, checkIn, checkOut, numberOfGuests, 600_000.0, guestCurrency);
 
+        assertThat(response.getQuoteToken()).isNotBlank();
         assertThat(response)
                 .usingRecursiveComparison()
+                .ignoringFields("quoteToken")
                 .isEqualTo(expected);
     }
 
@@ -68,7 +70,7 @@ class BookingControllerTest extends AbstractIntegrationTest {
         double bookingPrice = 600_000.0;
         String guestCurrency = "KRW";
 
-        CreateBookingRequest request = new CreateBookingRequest(roomId, guestId, checkIn, checkOut, numberOfGuests, bookingPrice, guestCurrency);
+        CreateBookingRequest request = new CreateBookingRequest(roomId, guestId, checkIn, checkOut, numberOfGuests, bookingPrice, guestCurrency, null);
 
         BookingResponse response = given().log().all()
                 .port(port)
@@ -97,6 +99,42 @@ class BookingControllerTest extends AbstractIntegrationTest {
                 .statusCode(400);
     }
 
+    @Test
+    void createBookingWithQuoteToken() {
+        long roomId = 1L;
+        long guestId = 2L;
+        LocalDate checkIn = LocalDate.now().plusDays(20);
+        LocalDate checkOut = LocalDate.now().plusDays(22);
+        int numberOfGuests = 2;
+        String guestCurrency = "KRW";
+
+        BookingPreviewResponse preview = given().log().all()
+                .port(port)
+                .when().get("/bookings/preview?roomId=" + roomId + "&numberOfGuests=" + numberOfGuests + "&checkIn=" + checkIn + "&checkOut=" + checkOut + "&guestCurrency=" + guestCurrency)
+                .then().log().all()
+                .statusCode(200)
+                .extract().as(BookingPreviewResponse.class);
+
+        CreateBookingRequest request = new CreateBookingRequest(roomId, guestId, checkIn, checkOut, numberOfGuests,
+                preview.getBookingPrice(), guestCurrency, preview.getQuoteToken());
+
+        BookingResponse response = given().log().all()
+                .port(port)
+                .body(request)
+                .contentType(ContentType.JSON)
+                .when().post("/bookings")
+                .then().log().all()
+                .statusCode(201)
+                .extract().as(BookingResponse.class);
+
+        BookingResponse expected = new BookingResponse(null, roomId, guestId, checkIn, checkOut, numberOfGuests, preview.getBookingPrice(), guestCurrency, BookingStatus.REQUESTED.toString());
+
+        assertThat(response)
+                .usingRecursiveComparison()
+                .ignoringFields("id")
+                .isEqualTo(expected);
+    }
+
     @Test
     void getBooking() {
         long bookingId = 1L;
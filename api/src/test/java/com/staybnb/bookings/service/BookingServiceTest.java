@@ -3,8 +3,10 @@ package com.staybnb.bookings.service;
 import com.staybnb.bookings.domain.Booking;
 import com.staybnb.bookings.domain.vo.BookingStatus;
 import com.staybnb.bookings.dto.request.GetBookingPreviewRequest;
+import com.staybnb.common.exception.custom.BookingPriceChangedException;
 import com.staybnb.common.exception.custom.InvalidStatusChangeException;
 import com.staybnb.bookings.repository.BookingRepository;
+import com.staybnb.bookings.service.quote.BookingQuoteSigner;
 import com.staybnb.rooms.domain.Amenity;
 import com.staybnb.rooms.domain.PlaceType;
 import com.staybnb.rooms.domain.Room;
@@ -15,14 +17,17 @@ import com.staybnb.rooms.domain.vo.RoomType;
 import com.staybnb.rooms.service.AvailabilityService;
 import com.staybnb.rooms.service.PricingService;
 import com.staybnb.rooms.service.RoomService;
+import com.staybnb.rooms.service.lock.RoomCalendarLock;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -47,6 +52,12 @@ class BookingServiceTest {
     @Mock
     PricingService pricingService;
 
+    @Mock
+    BookingQuoteSigner bookingQuoteSigner;
+
+    @Mock
+    RoomCalendarLock roomCalendarLock;
+
     @Test
     void getBookingPreview() {
         // given
@@ -151,12 +162,120 @@ class BookingServiceTest {
         bookingService.createBooking(booking);
 
         // then
-        verify(availabilityService, times(1)).isAvailableForUpdate(room.getId(), checkIn, checkOut);
-        verify(pricingService, times(1)).getTotalPrice(room, checkIn, checkOut, Currency.KRW);
+        InOrder inOrder = inOrder(pricingService, roomCalendarLock, availabilityService);
+        inOrder.verify(pricingService, times(1)).getTotalPrice(room, checkIn, checkOut, Currency.KRW);
+        inOrder.verify(roomCalendarLock, times(1)).lock(room.getId());
+        inOrder.verify(availabilityService, times(1)).isAvailableForUpdate(room.getId(), checkIn, checkOut);
+        inOrder.verify(availabilityService, times(1)).updateAvailabilityToFalse(room, checkIn, checkOut);
+        verify(bookingRepository, times(1)).save(booking);
+    }
+
+    @Test
+    void createBookingWithQuoteToken() {
+        // given
+        User host = new User("host@gmamil.com", "host", "password");
+        PlaceType placeType = new PlaceType(1, "HOUSE");
+        Set<Amenity> amenities = Set.of();
+
+        Address address = Address.builder()
+                .country("United States")
+                .province("Kentucky")
+                .city("Louisville")
+                .street("610 W Magnolia Ave")
+                .build();
+
+        Room room = Room.builder()
+                .id(1L)
+                .host(host)
+                .placeType(placeType)
+                .roomType(RoomType.ENTIRE_PLACE)
+                .address(address)
+                .maxNumberOfGuests(2)
+                .bedrooms(1)
+                .beds(1)
+                .amenities(amenities)
+                .title("Modern building in Kentucky")
+                .description("Modern building in Kentucky")
+                .basePrice(700_000)
+                .currency(Currency.KRW)
+                .build();
+
+        User guest = new User("guest@gmail.com", "guest", "password");
+        int numberOfGuests = 2;
+        LocalDate checkIn = LocalDate.now();
+        LocalDate checkOut = LocalDate.now().plusDays(2);
+        double totalPrice = 1_400_000.0;
+
+        Booking booking = new Booking(room, guest, numberOfGuests, checkIn, checkOut, totalPrice, Currency.KRW);
+        String quoteToken = "quote-token";
+
+        when(bookingQuoteSigner.verify(quoteToken, booking)).thenReturn(OptionalLong.of(3L));
+        when(roomService.getPricingVersion(room.getId())).thenReturn(3L);
+        when(availabilityService.isAvailableForUpdate(room.getId(), checkIn, checkOut)).thenReturn(true);
+        when(bookingRepository.save(booking)).thenReturn(booking);
+
+        // when
+        bookingService.createBooking(booking, quoteToken);
+
+        // then
+        verify(pricingService, never()).getTotalPrice(any(), any(), any(), any());
         verify(availabilityService, times(1)).updateAvailabilityToFalse(room, checkIn, checkOut);
         verify(bookingRepository, times(1)).save(booking);
     }
 
+    @Test
+    void createBookingWithStaleQuoteToken() {
+        // given
+        User host = new User("host@gmamil.com", "host", "password");
+        PlaceType placeType = new PlaceType(1, "HOUSE");
+        Set<Amenity> amenities = Set.of();
+
+        Address address = Address.builder()
+                .country("United States")
+                .province("Kentucky")
+                .city("Louisville")
+                .street("610 W Magnolia Ave")
+                .build();
+
+        Room room = Room.builder()
+                .id(1L)
+                .host(host)
+                .placeType(placeType)
+                .roomType(RoomType.ENTIRE_PLACE)
+                .address(address)
+                .maxNumberOfGuests(2)
+                .bedrooms(1)
+                .beds(1)
+                .amenities(amenities)
+                .title("Modern building in Kentucky")
+                .description("Modern building in Kentucky")
+                .basePrice(700_000)
+                .currency(Currency.KRW)
+                .build();
+
+        User guest = new User("guest@gmail.com", "guest", "password");
+        int numberOfGuests = 2;
+        LocalDate checkIn = LocalDate.now();
+        LocalDate checkOut = LocalDate.now().plusDays(2);
+        double totalPrice = 1_400_000.0;
+
+        Booking booking = new Booking(room, guest, numberOfGuests, checkIn, checkOut, totalPrice, Currency.KRW);
+        String quoteToken = "quote-token";
+
+        when(bookingQuoteSigner.verify(quoteToken, booking)).thenReturn(OptionalLong.of(3L));
+        when(roomService.getPricingVersion(room.getId())).thenReturn(4L);
+        when(pricingService.getTotalPrice(room, checkIn, checkOut, Currency.KRW)).thenReturn(1_500_000.0);
+
+        // when, then
+        assertThrows(BookingPriceChangedException.class, () -> bookingService.createBooking(booking, quoteToken));
+        verify(pricingService, times(1)).getTotalPrice(room, checkIn, checkOut, Currency.KRW);
+        verify(bookingRepository, never()).save(any());
+
+        // 가격 확인은 잠금 전에 하므로 가격이 바뀐 예약은 숙소 잠금, availability 확인 없이 실패
+        verifyNoInteractions(roomCalendarLock);
+        verify(availabilityService, never()).isAvailableForUpdate(anyLong(), any(), any());
+    }
+
     @Test
     void getBooking() {
         // given
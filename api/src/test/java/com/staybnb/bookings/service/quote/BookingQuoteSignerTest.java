@@ -0,0 +1,134 @@
+package com.staybnb.bookings.service.quote;
+
+import com.staybnb.bookings.domain.Booking;
+import com.staybnb.common.auth.jwt.JwtProperties;
+import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.domain.vo.Currency;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Date;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingQuoteSignerTest {
+
+    private static final String JWT_SECRET_KEY = "test-secret-key-secure-enough-for-JWT-HMAC-SHA-algorithm";
+    private static final String QUOTE_SECRET_KEY = "test-booking-quote-secret-key-secure-enough-for-HMAC-SHA";
+    private static final long PRICING_VERSION = 3L;
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(7);
+    private final LocalDate checkOut = checkIn.plusDays(2);
+    private final Room room = Room.builder().id(1L).basePrice(100_000).currency(Currency.KRW).build();
+
+    private JwtProperties jwtProperties;
+    private BookingQuoteSigner signer;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecretKey(JWT_SECRET_KEY);
+        jwtProperties.setExpirationTime(600_000L);
+
+        signer = new BookingQuoteSigner(quoteProperties(QUOTE_SECRET_KEY, 600), jwtProperties);
+    }
+
+    @Test
+    void verify() {
+        // given
+        String token = signer.sign(booking(room, checkIn, checkOut, 200_000.0), PRICING_VERSION);
+
+        // when
+        OptionalLong pricingVersion = signer.verify(token, booking(room, checkIn, checkOut, 200_000.0));
+
+        // then
+        assertThat(pricingVersion).hasValue(PRICING_VERSION);
+    }
+
+    @Test
+    void verify_Tampered() {
+        // given
+        String token = signer.sign(booking(room, checkIn, checkOut, 200_000.0), PRICING_VERSION);
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]))
+                .replace("\"bookingPrice\":200000.0", "\"bookingPrice\":1.0");
+        String tampered = parts[0] + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes()) + "." + parts[2];
+
+        // when
+        OptionalLong pricingVersion = signer.verify(tampered, booking(room, checkIn, checkOut, 1.0));
+
+        // then
+        assertThat(payload).contains("\"bookingPrice\":1.0");
+        assertThat(pricingVersion).isEmpty();
+    }
+
+    @Test
+    void verify_Expired() {
+        // given
+        BookingQuoteSigner expiredSigner = new BookingQuoteSigner(quoteProperties(QUOTE_SECRET_KEY, -1), jwtProperties);
+        String token = expiredSigner.sign(booking(room, checkIn, checkOut, 200_000.0), PRICING_VERSION);
+
+        // when
+        OptionalLong pricingVersion = signer.verify(token, booking(room, checkIn, checkOut, 200_000.0));
+
+        // then
+        assertThat(pricingVersion).isEmpty();
+    }
+
+    @Test
+    void verify_Mismatch() {
+        // given
+        String token = signer.sign(booking(room, checkIn, checkOut, 200_000.0), PRICING_VERSION);
+        Room otherRoom = Room.builder().id(2L).basePrice(100_000).currency(Currency.KRW).build();
+
+        // when, then
+        assertThat(signer.verify(token, booking(otherRoom, checkIn, checkOut, 200_000.0))).isEmpty();
+        assertThat(signer.verify(token, booking(room, checkIn, checkOut.plusDays(1), 200_000.0))).isEmpty();
+        assertThat(signer.verify(token, booking(room, checkIn.minusDays(1), checkOut, 200_000.0))).isEmpty();
+        assertThat(signer.verify(token, booking(room, checkIn, checkOut, 199_999.0))).isEmpty();
+    }
+
+    @Test
+    void verify_LoginToken() {
+        // given: 로그인 키로 서명한 로그인 토큰 (JwtUtils.generateToken 과 같은 형식)
+        String loginToken = Jwts.builder()
+                .subject("1")
+                .claim("name", "guest")
+                .expiration(new Date(System.currentTimeMillis() + 600_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET_KEY.getBytes()))
+                .compact();
+
+        // when
+        OptionalLong pricingVersion = signer.verify(loginToken, booking(room, checkIn, checkOut, 200_000.0));
+
+        // then
+        assertThat(pricingVersion).isEmpty();
+    }
+
+    @Test
+    void create_SameKeyAsJwt() {
+        assertThatThrownBy(() -> new BookingQuoteSigner(quoteProperties(JWT_SECRET_KEY, 600), jwtProperties))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new BookingQuoteSigner(quoteProperties(null, 600), jwtProperties))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new BookingQuoteSigner(quoteProperties("", 600), jwtProperties))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private BookingQuoteProperties quoteProperties(String secretKey, long ttlSeconds) {
+        BookingQuoteProperties properties = new BookingQuoteProperties();
+        properties.setSecretKey(secretKey);
+        properties.setTtlSeconds(ttlSeconds);
+        return properties;
+    }
+
+    private Booking booking(Room room, LocalDate checkIn, LocalDate checkOut, double bookingPrice) {
+        return new Booking(room, null, 2, checkIn, checkOut, bookingPrice, Currency.KRW);
+    }
+}
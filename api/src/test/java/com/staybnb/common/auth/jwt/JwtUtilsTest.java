@@ -0,0 +1,59 @@
+package com.staybnb.common.auth.jwt;
+
+import com.staybnb.bookings.service.quote.BookingQuoteSigner;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private static final String JWT_SECRET_KEY = "test-secret-key-secure-enough-for-JWT-HMAC-SHA-algorithm";
+    private static final String QUOTE_SECRET_KEY = "test-booking-quote-secret-key-secure-enough-for-HMAC-SHA";
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecretKey(JWT_SECRET_KEY);
+        jwtProperties.setExpirationTime(600_000L);
+
+        jwtUtils = new JwtUtils(jwtProperties);
+    }
+
+    @Test
+    void validateToken_LoginToken() {
+        // given
+        String token = jwtUtils.generateToken("1", "guest");
+
+        // when, then
+        assertThat(jwtUtils.validateToken(token)).isTrue();
+        assertThat(jwtUtils.getUserId(token)).isEqualTo("1");
+        assertThat(jwtUtils.getUserName(token)).isEqualTo("guest");
+    }
+
+    @Test
+    void validateToken_QuoteToken() {
+        // given: 견적 키로 서명한 견적 토큰과, 로그인 키로 서명했더라도 견적 audience 가 있는 토큰
+        String quoteToken = quoteAudienceToken(QUOTE_SECRET_KEY);
+        String loginKeyQuoteToken = quoteAudienceToken(JWT_SECRET_KEY);
+
+        // when, then
+        assertThat(jwtUtils.validateToken(quoteToken)).isFalse();
+        assertThat(jwtUtils.validateToken(loginKeyQuoteToken)).isFalse();
+    }
+
+    private String quoteAudienceToken(String secretKey) {
+        return Jwts.builder()
+                .subject("1")
+                .audience().add(BookingQuoteSigner.AUDIENCE).and()
+                .expiration(new Date(System.currentTimeMillis() + 600_000))
+                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes()))
+                .compact();
+    }
+}
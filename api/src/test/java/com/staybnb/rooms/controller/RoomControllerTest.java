@@ -5,11 +5,14 @@ import com.staybnb.common.auth.jwt.JwtUtils;
 import com.staybnb.rooms.dto.response.CalendarResponse;
 import com.staybnb.rooms.dto.response.PricingResponse;
 import com.staybnb.rooms.dto.response.RoomResponse;
+import com.staybnb.rooms.repository.cache.RoomSearchResultCache;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,6 +21,8 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -32,12 +37,21 @@ public class RoomControllerTest extends AbstractIntegrationTest {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    RoomSearchResultCache roomSearchResultCache;
+
     @BeforeAll
     void setup() {
         String token = jwtUtils.generateToken("2", "test");
         RestAssured.requestSpecification = given().header("Authorization", "Bearer " + token);
     }
 
+    @BeforeEach
+    void clearSearchCache() {
+        // 앞선 테스트의 검색 결과/개수 캐시가 다음 테스트 결과에 영향을 주지 않도록 비운다
+        roomSearchResultCache.invalidateAll();
+    }
+
     @Nested
     @DisplayName("getOneRoom Tests")
     class GetOneRoom {
@@ -68,6 +82,27 @@ public class RoomControllerTest extends AbstractIntegrationTest {
                     .then().log().all()
                     .statusCode(400);
         }
+
+        @Test
+        @DisplayName("GetOne: If-None-Match 가 현재 ETag 와 같으면 304")
+        public void testGetRoomNotModified() {
+            long roomId = 1L;
+            String eTag = given().log().all()
+                    .port(port)
+                    .when().get("/rooms/{roomId}", roomId)
+                    .then().log().all()
+                    .statusCode(200)
+                    .header("Last-Modified", notNullValue())
+                    .extract().header("ETag");
+
+            given().log().all()
+                    .port(port)
+                    .header("If-None-Match", eTag)
+                    .when().get("/rooms/{roomId}", roomId)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_NOT_MODIFIED)
+                    .header("ETag", equalTo(eTag));
+        }
     }
 
     @Nested
@@ -95,6 +130,282 @@ public class RoomControllerTest extends AbstractIntegrationTest {
                     .statusCode(HttpStatus.SC_BAD_REQUEST)
                     .contentType(ContentType.JSON);
         }
+
+        @Test
+        @DisplayName("GetAll: 위치 검색은 대소문자 구분 없이 부분 문자열로 검색")
+        public void testLocationGetRooms() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?location=KOREA")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("page.totalElements", equalTo(2))
+                    .body("content.id", contains(1, 2));
+        }
+
+        @Test
+        @DisplayName("GetAll: 전체 개수를 구한 방식을 헤더로 전달 (마지막 페이지는 count 쿼리 생략, 같은 검색은 결과 캐시 사용)")
+        public void testTotalCountStrategyGetRooms() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?size=20")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .header("X-Total-Count-Strategy", equalTo("PAGE"))
+                    .body("page.totalElements", equalTo(3));
+
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?size=2")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .header("X-Total-Count-Strategy", equalTo("EXACT"))
+                    .body("page.totalElements", equalTo(3));
+
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?size=2")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .header("X-Total-Count-Strategy", equalTo("CACHED"))
+                    .body("content.id", contains(1, 2))
+                    .body("page.totalElements", equalTo(3));
+        }
+
+        @Test
+        @DisplayName("GetAll: 가격 조건은 요청 통화를 USD 로 환산해서 비교")
+        public void testPriceRangeInCurrencyGetRooms() {
+            // 300 USD 숙소(3번)만 조회, 300,000 KRW(약 222 USD) 숙소는 제외
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?priceFrom=250&priceTo=350&currency=USD")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("page.totalElements", equalTo(1))
+                    .body("content[0].id", equalTo(3));
+        }
+
+        @Test
+        @DisplayName("GetAll: 요청한 amenity 를 모두 갖춘 숙소만 조회")
+        public void testAmenitiesGetRooms() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?amenities=wifi,kitchen")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("page.totalElements", equalTo(1))
+                    .body("content[0].id", equalTo(1));
+
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?amenities=wifi")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("content.id", contains(1, 3));
+        }
+
+        @Test
+        @DisplayName("GetAll: 숙소 유형으로 검색")
+        public void testPlaceTypeGetRooms() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?placeType=apartment")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("page.totalElements", equalTo(1))
+                    .body("content[0].id", equalTo(3));
+        }
+
+        @Test
+        @DisplayName("GetAll: 유효하지 않은 amenity 로 검색")
+        public void testInvalidAmenityGetRooms() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?amenities=pool")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_BAD_REQUEST);
+        }
+
+        @Test
+        @DisplayName("GetAll: 중심 좌표 반경 이내 숙소만 가까운 순으로 조회")
+        public void testRadiusGetRooms() {
+            // 서울 시청 기준 50km 이내 (부산, 뉴욕 숙소 제외)
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?latitude=37.5663&longitude=126.9779&radiusKm=50")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("page.totalElements", equalTo(1))
+                    .body("content[0].id", equalTo(1));
+
+            // 반경 없이 중심 좌표만 주면 전체를 거리순 정렬
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?latitude=35.1&longitude=129.0&sort=distance")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("content.id", contains(2, 1, 3));
+        }
+
+        @Test
+        @DisplayName("GetAll: 지도 영역(남서, 북동 모서리) 안의 숙소만 조회")
+        public void testBoundingBoxGetRooms() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?swLatitude=33&swLongitude=124&neLatitude=39&neLongitude=132")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("content.id", contains(1, 2));
+        }
+
+        @Test
+        @DisplayName("GetAll: 중심 좌표 없이 반경 또는 거리 정렬로 검색")
+        public void testInvalidGeoGetRooms() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?radiusKm=10")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_BAD_REQUEST);
+
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?sort=distance")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_BAD_REQUEST);
+        }
+
+        @Test
+        @DisplayName("GetAll: 가격 정렬은 USD 환산 가격 기준")
+        public void testSortByPriceGetRooms() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?sort=price,desc")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("content[0].id", equalTo(3));
+        }
+
+        @Test
+        @DisplayName("GetAll: 총 숙박 가격 정렬은 기간 내 pricing 을 반영한 USD 환산 총 가격 기준")
+        public void testSortByTotalPriceGetRooms() {
+            // 기본 가격은 2번(약 222 USD) < 3번(300 USD), 숙박 기간 총 가격은 3번(100 + 300 USD) < 2번(약 444 USD)
+            String path = String.format("/rooms?startDate=%s&endDate=%s",
+                    LocalDate.now().plusDays(40),
+                    LocalDate.now().plusDays(42));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path + "&sort=price")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("content.id", contains(2, 3));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path + "&sort=totalPrice")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("content.id", contains(3, 2));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path + "&sort=totalPrice,desc")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("content.id", contains(2, 3));
+        }
+
+        @Test
+        @DisplayName("GetAll: 숙박 기간 없이 총 숙박 가격 정렬")
+        public void testSortByTotalPriceWithoutDatesGetRooms() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?sort=totalPrice")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_BAD_REQUEST);
+        }
+
+        @Test
+        @DisplayName("GetAll: 커서 기반 조회 시 next 커서로 다음 페이지 조회")
+        public void testCursorGetRooms() {
+            String next = given().log().all()
+                    .port(port)
+                    .when().get("/rooms?cursor=&size=2")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("content.id", contains(1, 2))
+                    .body("next", notNullValue())
+                    .extract().path("next");
+
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?cursor={cursor}&size=2", next)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("content.id", contains(3))
+                    .body("next", nullValue());
+        }
+
+        @Test
+        @DisplayName("GetAll: 유효하지 않은 커서")
+        public void testInvalidCursorGetRooms() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms?cursor=invalid")
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_BAD_REQUEST);
+        }
+
+        @Test
+        @DisplayName("GetAll: 숙박 기간 전체가 예약 가능한 숙소만 조회")
+        public void testDateRangeGetRooms() {
+            String path = String.format("/rooms?startDate=%s&endDate=%s",
+                    LocalDate.now().plusDays(1),
+                    LocalDate.now().plusDays(3));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("page.totalElements", equalTo(1))
+                    .body("content[0].id", equalTo(1));
+        }
+
+        @Test
+        @DisplayName("GetAll: 숙박 기간 일부가 availability 범위를 벗어나는 경우")
+        public void testPartiallyAvailableDateRangeGetRooms() {
+            String path = String.format("/rooms?startDate=%s&endDate=%s",
+                    LocalDate.now().plusDays(25),
+                    LocalDate.now().plusDays(35));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("page.totalElements", equalTo(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("exportRooms Tests")
+    class ExportRooms {
+
+        @Test
+        @DisplayName("Export: 검색 결과 전체를 id 순 NDJSON 으로 스트리밍")
+        public void testExportRooms() {
+            String body = given().log().all()
+                    .port(port)
+                    .when().get("/rooms/export?location=korea")
+                    .then()
+                    .statusCode(HttpStatus.SC_OK)
+                    .contentType("application/x-ndjson")
+                    .extract().asString();
+
+            List<Integer> roomIds = body.lines().map(line -> (Integer) JsonPath.from(line).get("id")).toList();
+            assertThat(roomIds, contains(1, 2));
+        }
     }
 
     @Nested
@@ -116,6 +427,21 @@ public class RoomControllerTest extends AbstractIntegrationTest {
 
             assertThat(pricingResponse.getTotalPrice(), equalTo(300000.0));
         }
+
+        @Test
+        public void getBulkPricing() {
+            String path = String.format("/rooms/pricing?roomIds=3,999,2&startDate=%s&endDate=%s&currency=USD",
+                    LocalDate.now().plusDays(40),
+                    LocalDate.now().plusDays(42));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("roomId", contains(3, 2))
+                    .body("[0].totalPrice", equalTo(400.0f));
+        }
     }
 
     @Nested
@@ -135,5 +461,131 @@ public class RoomControllerTest extends AbstractIntegrationTest {
 
             assertThat(response.getDailyInfos().size(), equalTo(YearMonth.now().lengthOfMonth()));
         }
+
+        @Test
+        public void getCalendarNotModified() {
+            String path = String.format("/rooms/{roomId}/calendar?currency=USD&yearMonth=%s", YearMonth.now());
+
+            String eTag = given().log().all()
+                    .port(port)
+                    .when().get(path, 1L)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .extract().header("ETag");
+
+            given().log().all()
+                    .port(port)
+                    .header("If-None-Match", eTag)
+                    .when().get(path, 1L)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_NOT_MODIFIED);
+        }
+
+        @Test
+        public void getCalendarRange() {
+            YearMonth from = YearMonth.now();
+            YearMonth to = from.plusMonths(11);
+            String path = String.format("/rooms/{roomId}/calendar?currency=KRW&from=%s&to=%s", from, to);
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path, 1L)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("startDate", equalTo(from.atDay(1).toString()))
+                    .body("endDate", equalTo(to.plusMonths(1).atDay(1).toString()))
+                    .body("dailyInfos", nullValue())
+                    .body("spans[0].startDate", equalTo(from.atDay(1).toString()))
+                    .body("spans[-1].endDate", equalTo(to.plusMonths(1).atDay(1).toString()));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path + "&format=DAILY", 1L)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("dailyInfos.size()", equalTo((int) ChronoUnit.DAYS.between(from.atDay(1), to.plusMonths(1).atDay(1))));
+        }
+
+        @Test
+        public void getCalendarRange_Fail_InvalidRange() {
+            YearMonth from = YearMonth.now();
+            String path = String.format("/rooms/{roomId}/calendar?currency=KRW&from=%s&to=%s", from, from.minusMonths(1));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path, 1L)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_BAD_REQUEST);
+        }
+    }
+
+    @Nested
+    @DisplayName("getFirstAvailableStay Tests")
+    class GetFirstAvailableStay {
+
+        @Test
+        public void getFirstAvailableStay() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms/{roomId}/availability?nights=3", 2L)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("checkIn", equalTo(LocalDate.now().plusDays(40).toString()))
+                    .body("checkOut", equalTo(LocalDate.now().plusDays(43).toString()));
+        }
+
+        @Test
+        public void getFirstAvailableStay_NotFound() {
+            given().log().all()
+                    .port(port)
+                    .when().get("/rooms/{roomId}/availability?nights=20", 2L)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("nights", equalTo(20))
+                    .body("checkIn", nullValue());
+        }
+
+        @Test
+        public void getFirstAvailableStay_Fail_InvalidRange() {
+            String path = String.format("/rooms/{roomId}/availability?nights=3&from=%s", LocalDate.now().minusDays(1));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path, 2L)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_BAD_REQUEST);
+        }
+    }
+
+    @Nested
+    @DisplayName("getAvailableRoomIds Tests")
+    class GetAvailableRoomIds {
+
+        @Test
+        public void getAvailableRoomIds() {
+            String path = String.format("/rooms/availability?roomIds=3,2,1&startDate=%s&endDate=%s",
+                    LocalDate.now().plusDays(41),
+                    LocalDate.now().plusDays(45));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("availableRoomIds", contains(3, 2));
+        }
+
+        @Test
+        public void getAvailableRoomIds_Fail_InvalidRange() {
+            String path = String.format("/rooms/availability?roomIds=1&startDate=%s&endDate=%s",
+                    LocalDate.now().plusDays(3),
+                    LocalDate.now().plusDays(1));
+
+            given().log().all()
+                    .port(port)
+                    .when().get(path)
+                    .then().log().all()
+                    .statusCode(HttpStatus.SC_BAD_REQUEST);
+        }
     }
 }
@@ -0,0 +1,237 @@
+package com.staybnb.rooms.repository;
+
+import com.staybnb.AbstractIntegrationTest;
+import com.staybnb.StatementCounter;
+import com.staybnb.rooms.domain.Availability;
+import com.staybnb.rooms.domain.Room;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * availability 구간 합(range_agg)으로 기간 전체가 예약 가능한지 확인하는 쿼리와
+ * availability 일괄 교체(replaceAvailabilities)의 실행 문장 수 테스트
+ */
+class AvailabilityRepositoryTest extends AbstractIntegrationTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long OTHER_ROOM_ID = 2L;
+    private static final LocalDate BASE_DATE = LocalDate.of(2040, 1, 1);
+
+    @Autowired
+    AvailabilityRepository availabilityRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    StatementCounter statementCounter;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM availability WHERE date_range && daterange(?, ?)", BASE_DATE, BASE_DATE.plusYears(1));
+    }
+
+    @Test
+    void covered_ContainedInOneAvailability() {
+        insert(ROOM_ID, 0, 20, true);
+
+        assertCovered(5, 10, true);
+    }
+
+    @Test
+    void covered_SpanningMultipleAvailabilities() {
+        insert(ROOM_ID, 5, 10, true);
+        insert(ROOM_ID, 10, 15, true);
+
+        assertCovered(5, 15, true);
+    }
+
+    @Test
+    void covered_GapInAvailability() {
+        insert(ROOM_ID, 5, 8, true);
+        insert(ROOM_ID, 10, 15, true);
+
+        assertCovered(5, 15, false);
+    }
+
+    @Test
+    void covered_PartiallyAvailable() {
+        insert(ROOM_ID, 5, 12, true);
+        insert(ROOM_ID, 20, 30, true);
+
+        assertCovered(5, 15, false);
+        assertCovered(18, 25, false);
+    }
+
+    @Test
+    void covered_UnavailableInMiddle() {
+        insert(ROOM_ID, 5, 10, true);
+        insert(ROOM_ID, 10, 12, false);
+        insert(ROOM_ID, 12, 15, true);
+
+        assertCovered(5, 15, false);
+        assertCovered(12, 15, true);
+    }
+
+    @Test
+    void covered_NoAvailability() {
+        assertCovered(5, 15, false);
+    }
+
+    @Test
+    void findAvailableRoomIds_MultipleRooms() {
+        insert(ROOM_ID, 5, 10, true);
+        insert(ROOM_ID, 10, 15, true);
+        insert(OTHER_ROOM_ID, 5, 8, true);
+        insert(OTHER_ROOM_ID, 10, 15, true);
+
+        List<Long> availableRoomIds = availabilityRepository.findAvailableRoomIds(
+                new Long[]{ROOM_ID, OTHER_ROOM_ID, 999L}, BASE_DATE.plusDays(5), BASE_DATE.plusDays(15));
+
+        assertThat(availableRoomIds).containsExactly(ROOM_ID);
+    }
+
+    @Test
+    void isCoveredForUpdate_LocksComparedRows() {
+        insert(ROOM_ID, 0, 5, true);
+        insert(ROOM_ID, 5, 10, true);
+        insert(ROOM_ID, 10, 15, false);
+        insert(ROOM_ID, 20, 30, true);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(availabilityRepository.isCoveredByTrueAvailabilitiesForUpdate(ROOM_ID, BASE_DATE.plusDays(3), BASE_DATE.plusDays(8))).isTrue();
+
+            // 다른 트랜잭션에서는 비교에 쓴 행(기간과 겹치는 true 행)만 잠겨 있다
+            assertThat(unlockedDateRanges()).containsExactly("[2040-01-11,2040-01-16)", "[2040-01-21,2040-01-31)");
+        });
+    }
+
+    @Test
+    void replaceAvailabilities_OneDeleteAndOneInsert() {
+        insert(ROOM_ID, 0, 10, true);
+        insert(ROOM_ID, 10, 20, false);
+        insert(ROOM_ID, 20, 30, true);
+        insert(OTHER_ROOM_ID, 0, 30, true);
+
+        int statements = replaceAvailabilities(0, 30, List.of(
+                availability(0, 5, true),
+                availability(5, 12, false),
+                availability(12, 18, true),
+                availability(18, 25, false),
+                availability(25, 30, true)
+        ));
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(availabilities(ROOM_ID)).containsExactly(
+                "[2040-01-01,2040-01-06):true",
+                "[2040-01-06,2040-01-13):false",
+                "[2040-01-13,2040-01-19):true",
+                "[2040-01-19,2040-01-26):false",
+                "[2040-01-26,2040-01-31):true");
+        assertThat(availabilities(OTHER_ROOM_ID)).containsExactly("[2040-01-01,2040-01-31):true");
+    }
+
+    @Test
+    void replaceAvailabilities_DeleteOnly() {
+        insert(ROOM_ID, 0, 10, true);
+        insert(ROOM_ID, 10, 20, false);
+
+        int statements = replaceAvailabilities(0, 20, List.of());
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(availabilities(ROOM_ID)).isEmpty();
+    }
+
+    @Test
+    void replaceAvailabilities_InsertOnly() {
+        int statements = replaceAvailabilities(0, 20, List.of(
+                availability(0, 10, true),
+                availability(10, 20, false)
+        ));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(availabilities(ROOM_ID)).containsExactly(
+                "[2040-01-01,2040-01-11):true",
+                "[2040-01-11,2040-01-21):false");
+    }
+
+    /**
+     * [fromDay, toDay) 와 겹치는 ROOM_ID 의 availability 를 newAvailabilities 로 교체하고, 교체에 실행한 문장 수를 반환
+     */
+    private int replaceAvailabilities(int fromDay, int toDay, List<Availability> newAvailabilities) {
+        Integer statements = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Availability> oldAvailabilities = availabilityRepository.findOrderedAvailabilitiesByDate(
+                    ROOM_ID, BASE_DATE.plusDays(fromDay), BASE_DATE.plusDays(toDay));
+
+            statementCounter.reset();
+            availabilityRepository.replaceAvailabilities(ROOM_ID, oldAvailabilities, newAvailabilities);
+            return statementCounter.count();
+        });
+        return statements;
+    }
+
+    private Availability availability(int fromDay, int toDay, boolean available) {
+        return new Availability(Room.builder().id(ROOM_ID).build(), BASE_DATE.plusDays(fromDay), BASE_DATE.plusDays(toDay), available);
+    }
+
+    private List<String> availabilities(long roomId) {
+        return jdbcTemplate.queryForList("""
+                SELECT CAST(date_range AS text) || ':' || is_available FROM availability
+                WHERE room_id = ? AND date_range && daterange(?, ?)
+                ORDER BY date_range
+                """, String.class, roomId, BASE_DATE, BASE_DATE.plusYears(1));
+    }
+
+    private void assertCovered(int fromDay, int toDay, boolean expected) {
+        LocalDate checkIn = BASE_DATE.plusDays(fromDay);
+        LocalDate checkOut = BASE_DATE.plusDays(toDay);
+
+        assertThat(availabilityRepository.findAvailableRoomIds(new Long[]{ROOM_ID}, checkIn, checkOut).contains(ROOM_ID))
+                .isEqualTo(expected);
+        Boolean coveredForUpdate = new TransactionTemplate(transactionManager)
+                .execute(status -> availabilityRepository.isCoveredByTrueAvailabilitiesForUpdate(ROOM_ID, checkIn, checkOut));
+        assertThat(coveredForUpdate).isEqualTo(expected);
+    }
+
+    private void insert(long roomId, int fromDay, int toDay, boolean available) {
+        jdbcTemplate.update("INSERT INTO availability (room_id, date_range, is_available) VALUES (?, daterange(?, ?), ?)",
+                roomId, BASE_DATE.plusDays(fromDay), BASE_DATE.plusDays(toDay), available);
+    }
+
+    private List<String> unlockedDateRanges() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                return new JdbcTemplate(new SingleConnectionDataSource(connection, true)).queryForList("""
+                        SELECT CAST(date_range AS text) FROM availability
+                        WHERE room_id = ? AND date_range && daterange(?, ?)
+                        ORDER BY date_range
+                        FOR UPDATE SKIP LOCKED
+                        """, String.class, ROOM_ID, BASE_DATE, BASE_DATE.plusYears(1));
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
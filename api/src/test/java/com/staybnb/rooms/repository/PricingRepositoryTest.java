@@ -0,0 +1,179 @@
+package com.staybnb.rooms.repository;
+
+import com.staybnb.AbstractIntegrationTest;
+import com.staybnb.StatementCounter;
+import com.staybnb.rooms.domain.Pricing;
+import com.staybnb.rooms.domain.Room;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * pricing 일괄 교체(replacePricings)의 실행 문장 수와 교체 결과,
+ * update_room_pricing 프로시저(updateRoomPricing)의 겹치는 구간 분할/삭제/저장 테스트
+ */
+class PricingRepositoryTest extends AbstractIntegrationTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long OTHER_ROOM_ID = 2L;
+    private static final LocalDate BASE_DATE = LocalDate.of(2040, 1, 1);
+
+    @Autowired
+    PricingRepository pricingRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    StatementCounter statementCounter;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM pricing WHERE date_range && daterange(?, ?)", BASE_DATE, BASE_DATE.plusYears(1));
+    }
+
+    @Test
+    void replacePricings_OneDeleteAndOneInsert() {
+        insert(ROOM_ID, 0, 10, 100);
+        insert(ROOM_ID, 10, 20, 200);
+        insert(ROOM_ID, 20, 30, 300);
+        insert(OTHER_ROOM_ID, 0, 30, 400);
+
+        int statements = replacePricings(0, 30, List.of(
+                pricing(0, 5, 100),
+                pricing(5, 12, 150),
+                pricing(12, 18, 200),
+                pricing(18, 25, 250),
+                pricing(25, 30, 300)
+        ));
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(pricings(ROOM_ID)).containsExactly(
+                "[2040-01-01,2040-01-06):100",
+                "[2040-01-06,2040-01-13):150",
+                "[2040-01-13,2040-01-19):200",
+                "[2040-01-19,2040-01-26):250",
+                "[2040-01-26,2040-01-31):300");
+        assertThat(pricings(OTHER_ROOM_ID)).containsExactly("[2040-01-01,2040-01-31):400");
+    }
+
+    @Test
+    void replacePricings_DeleteOnly() {
+        insert(ROOM_ID, 0, 10, 100);
+        insert(ROOM_ID, 10, 20, 200);
+
+        int statements = replacePricings(0, 20, List.of());
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(pricings(ROOM_ID)).isEmpty();
+    }
+
+    @Test
+    void replacePricings_InsertOnly() {
+        int statements = replacePricings(0, 20, List.of(
+                pricing(0, 10, 100),
+                pricing(10, 20, 200)
+        ));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(pricings(ROOM_ID)).containsExactly(
+                "[2040-01-01,2040-01-11):100",
+                "[2040-01-11,2040-01-21):200");
+    }
+
+    @Test
+    void updateRoomPricing_SplitsOverlappingPricings() {
+        insert(ROOM_ID, 0, 10, 100);
+        insert(ROOM_ID, 10, 20, 200);
+        insert(ROOM_ID, 20, 30, 300);
+        insert(OTHER_ROOM_ID, 0, 30, 400);
+
+        updateRoomPricing(500, dateRange(5, 8), dateRange(12, 25));
+
+        assertThat(pricings(ROOM_ID)).containsExactly(
+                "[2040-01-01,2040-01-06):100",
+                "[2040-01-06,2040-01-09):500",
+                "[2040-01-09,2040-01-11):100",
+                "[2040-01-11,2040-01-13):200",
+                "[2040-01-13,2040-01-26):500",
+                "[2040-01-26,2040-01-31):300");
+        assertThat(pricings(OTHER_ROOM_ID)).containsExactly("[2040-01-01,2040-01-31):400");
+    }
+
+    @Test
+    void updateRoomPricing_DeletesCoveredPricings() {
+        insert(ROOM_ID, 5, 10, 100);
+        insert(ROOM_ID, 10, 15, 200);
+        insert(ROOM_ID, 20, 25, 300);
+
+        updateRoomPricing(500, dateRange(0, 15), dateRange(20, 25));
+
+        assertThat(pricings(ROOM_ID)).containsExactly(
+                "[2040-01-01,2040-01-16):500",
+                "[2040-01-21,2040-01-26):500");
+    }
+
+    @Test
+    void updateRoomPricing_InsertsWithoutOverlap() {
+        insert(ROOM_ID, 0, 10, 100);
+
+        updateRoomPricing(500, dateRange(10, 15), dateRange(20, 25));
+
+        assertThat(pricings(ROOM_ID)).containsExactly(
+                "[2040-01-01,2040-01-11):100",
+                "[2040-01-11,2040-01-16):500",
+                "[2040-01-21,2040-01-26):500");
+    }
+
+    private void updateRoomPricing(int pricePerNight, String... dateRanges) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                pricingRepository.updateRoomPricing(ROOM_ID, List.of(dateRanges), pricePerNight));
+    }
+
+    private String dateRange(int fromDay, int toDay) {
+        return "[" + BASE_DATE.plusDays(fromDay) + "," + BASE_DATE.plusDays(toDay) + ")";
+    }
+
+    /**
+     * [fromDay, toDay) 와 겹치는 ROOM_ID 의 pricing 을 newPricings 로 교체하고, 교체에 실행한 문장 수를 반환
+     */
+    private int replacePricings(int fromDay, int toDay, List<Pricing> newPricings) {
+        Integer statements = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Pricing> oldPricings = pricingRepository.findOrderedPricingsByDate(
+                    ROOM_ID, BASE_DATE.plusDays(fromDay), BASE_DATE.plusDays(toDay));
+
+            statementCounter.reset();
+            pricingRepository.replacePricings(ROOM_ID, oldPricings, newPricings);
+            return statementCounter.count();
+        });
+        return statements;
+    }
+
+    private Pricing pricing(int fromDay, int toDay, int pricePerNight) {
+        return new Pricing(Room.builder().id(ROOM_ID).build(), BASE_DATE.plusDays(fromDay), BASE_DATE.plusDays(toDay), pricePerNight);
+    }
+
+    private void insert(long roomId, int fromDay, int toDay, int pricePerNight) {
+        jdbcTemplate.update("INSERT INTO pricing (room_id, date_range, price_per_night) VALUES (?, daterange(?, ?), ?)",
+                roomId, BASE_DATE.plusDays(fromDay), BASE_DATE.plusDays(toDay), pricePerNight);
+    }
+
+    private List<String> pricings(long roomId) {
+        return jdbcTemplate.queryForList("""
+                SELECT CAST(date_range AS text) || ':' || price_per_night FROM pricing
+                WHERE room_id = ? AND date_range && daterange(?, ?)
+                ORDER BY date_range
+                """, String.class, roomId, BASE_DATE, BASE_DATE.plusYears(1));
+    }
+}
@@ -0,0 +1,75 @@
+package com.staybnb.rooms.repository.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomAvailabilityIndexTest {
+
+    private static final int BITMAP_BYTES = (RoomAvailabilityIndex.WINDOW_DAYS + 7) / 8;
+
+    @Test
+    void toRedisBitmap_SetBitOrder() {
+        // given: SETBIT key 0 1, SETBIT key 7 1, SETBIT key 8 1, SETBIT key 364 1 과 같은 bitmap
+        BitSet bits = new BitSet();
+        bits.set(0);
+        bits.set(7);
+        bits.set(8);
+        bits.set(RoomAvailabilityIndex.WINDOW_DAYS - 1);
+
+        // when
+        byte[] bytes = RoomAvailabilityIndex.toRedisBitmap(bits);
+
+        // then: offset 0 은 첫 byte 의 최상위 bit
+        assertThat(bytes).hasSize(BITMAP_BYTES);
+        assertThat(bytes[0]).isEqualTo((byte) 0b1000_0001);
+        assertThat(bytes[1]).isEqualTo((byte) 0b1000_0000);
+        assertThat(bytes[45]).isEqualTo((byte) 0b0000_1000); // 364 = 45 * 8 + 4
+        for (int i = 2; i < 45; i++) {
+            assertThat(bytes[i]).isZero();
+        }
+    }
+
+    @Test
+    void toRedisBitmap_IgnoresBitsBeyondWindow() {
+        // given
+        BitSet bits = new BitSet();
+        bits.set(RoomAvailabilityIndex.WINDOW_DAYS, RoomAvailabilityIndex.WINDOW_DAYS + 3);
+
+        // when
+        byte[] bytes = RoomAvailabilityIndex.toRedisBitmap(bits);
+
+        // then
+        assertThat(bytes).containsOnly(0);
+    }
+
+    @Test
+    void fromRedisBitmap_SetBitOrder() {
+        // given: GET key 결과 (SETBIT key 1 1, SETBIT key 2 1, SETBIT key 15 1)
+        byte[] bytes = {(byte) 0b0110_0000, (byte) 0b0000_0001};
+
+        // when
+        BitSet bits = RoomAvailabilityIndex.fromRedisBitmap(bytes);
+
+        // then
+        assertThat(bits.stream().boxed().toList()).containsExactly(1, 2, 15);
+    }
+
+    @Test
+    void redisBitmap_RoundTrip() {
+        // given: 예약 가능한 구간 여러 개
+        BitSet bits = new BitSet();
+        bits.set(0, 3);
+        bits.set(10, 24);
+        bits.set(100);
+        bits.set(300, RoomAvailabilityIndex.WINDOW_DAYS);
+
+        // when
+        BitSet restored = RoomAvailabilityIndex.fromRedisBitmap(RoomAvailabilityIndex.toRedisBitmap(bits));
+
+        // then
+        assertThat(restored).isEqualTo(bits);
+    }
+}
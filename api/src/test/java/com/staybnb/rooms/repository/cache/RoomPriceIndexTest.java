@@ -0,0 +1,210 @@
+package com.staybnb.rooms.repository.cache;
+
+import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.dto.RoomPricingRange;
+import com.staybnb.rooms.event.RoomCalendarChangedEvent;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import com.staybnb.rooms.repository.PricingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomPriceIndexTest {
+
+    private static final long ROOM_ID = 101L;
+    private static final long OTHER_ROOM_ID = 102L;
+
+    @Mock
+    PricingRepository pricingRepository;
+
+    private MutableClock clock;
+    private RoomPriceIndex roomPriceIndex;
+    private LocalDate today;
+    private Room room;
+    private Room otherRoom;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-03-01T00:00:00Z"));
+        roomPriceIndex = new RoomPriceIndex(pricingRepository, new RoomPriceIndexProperties(), clock);
+        today = LocalDate.now(clock);
+        room = Room.builder().id(ROOM_ID).basePrice(100).build();
+        otherRoom = Room.builder().id(OTHER_ROOM_ID).basePrice(300).build();
+    }
+
+    @Test
+    void getTotalPrices_PrefixSums() {
+        // given: [today+2, today+4) 150, [today+10, today+20) 200, 그 밖은 기본 가격 100
+        when(pricingRepository.findPricingRangesByRoomIdsAndDate(any(), any(), any())).thenReturn(List.of(
+                range(ROOM_ID, 100, 2, 4, 150),
+                range(ROOM_ID, 100, 10, 20, 200)
+        ));
+
+        // when, then
+        assertThat(totalPrice(room, 0, 2)).isEqualTo(200);
+        assertThat(totalPrice(room, 1, 5)).isEqualTo(100 + 150 + 150 + 100);
+        assertThat(totalPrice(room, 3, 3)).isEqualTo(0);
+        assertThat(totalPrice(room, 8, 12)).isEqualTo(100 + 100 + 200 + 200);
+        assertThat(totalPrice(room, 19, 21)).isEqualTo(200 + 100);
+        assertThat(totalPrice(room, 0, RoomPriceIndex.WINDOW_DAYS))
+                .isEqualTo(100 * (RoomPriceIndex.WINDOW_DAYS - 12) + 150 * 2 + 200 * 10);
+        verify(pricingRepository, times(1)).findPricingRangesByRoomIdsAndDate(any(), any(), any());
+    }
+
+    @Test
+    void getTotalPrices_BasePriceFromDatabase() {
+        // given: 호출한 쪽의 Room 은 기본 가격 100 이지만 DB 는 이미 120 으로 변경됨
+        when(pricingRepository.findPricingRangesByRoomIdsAndDate(any(), any(), any()))
+                .thenReturn(List.of(range(ROOM_ID, 120, null, null, null)));
+
+        // when
+        Map<Long, Integer> totalPrices = roomPriceIndex.getTotalPrices(List.of(room), today, today.plusDays(3));
+
+        // then
+        assertThat(totalPrices).containsEntry(ROOM_ID, 360);
+    }
+
+    @Test
+    void getTotalPrices_RoomNotInDatabase() {
+        // given
+        when(pricingRepository.findPricingRangesByRoomIdsAndDate(any(), any(), any())).thenReturn(List.of());
+
+        // when: DB 에 없는 숙소는 전달받은 기본 가격으로 계산하고 인덱스에 넣지 않는다
+        assertThat(totalPrice(room, 0, 2)).isEqualTo(200);
+        assertThat(totalPrice(room, 0, 2)).isEqualTo(200);
+
+        // then
+        verify(pricingRepository, times(2)).findPricingRangesByRoomIdsAndDate(any(), any(), any());
+    }
+
+    @Test
+    void invalidate_OnlyChangedRoom() {
+        // given
+        when(pricingRepository.findPricingRangesByRoomIdsAndDate(new Long[]{ROOM_ID, OTHER_ROOM_ID}, today, today.plusDays(RoomPriceIndex.WINDOW_DAYS)))
+                .thenReturn(List.of(range(ROOM_ID, 100, null, null, null), range(OTHER_ROOM_ID, 300, null, null, null)));
+        when(pricingRepository.findPricingRangesByRoomIdsAndDate(new Long[]{ROOM_ID}, today, today.plusDays(RoomPriceIndex.WINDOW_DAYS)))
+                .thenReturn(List.of(range(ROOM_ID, 100, 0, 1, 500)));
+        roomPriceIndex.getTotalPrices(List.of(room, otherRoom), today, today.plusDays(1));
+
+        // when
+        roomPriceIndex.onRoomCalendarChanged(new RoomCalendarChangedEvent(ROOM_ID, RoomCalendarChangedEvent.Type.PRICING, today, today.plusDays(1)));
+        Map<Long, Integer> totalPrices = roomPriceIndex.getTotalPrices(List.of(room, otherRoom), today, today.plusDays(1));
+
+        // then: 변경된 숙소만 다시 조회
+        assertThat(totalPrices).containsEntry(ROOM_ID, 500).containsEntry(OTHER_ROOM_ID, 300);
+        verify(pricingRepository).findPricingRangesByRoomIdsAndDate(new Long[]{ROOM_ID}, today, today.plusDays(RoomPriceIndex.WINDOW_DAYS));
+    }
+
+    @Test
+    void invalidate_IgnoresAvailabilityChange() {
+        // given
+        when(pricingRepository.findPricingRangesByRoomIdsAndDate(any(), any(), any()))
+                .thenReturn(List.of(range(ROOM_ID, 100, null, null, null)));
+        totalPrice(room, 0, 1);
+
+        // when
+        roomPriceIndex.onRoomCalendarChanged(new RoomCalendarChangedEvent(ROOM_ID, RoomCalendarChangedEvent.Type.AVAILABILITY, today, today.plusDays(1)));
+        totalPrice(room, 0, 1);
+        roomPriceIndex.onRoomChanged(new RoomChangedEvent(room));
+        totalPrice(room, 0, 1);
+
+        // then: availability 변경은 무시, 숙소 변경은 다시 조회
+        verify(pricingRepository, times(2)).findPricingRangesByRoomIdsAndDate(any(), any(), any());
+    }
+
+    @Test
+    void getTotalPrices_DateRollover() {
+        // given
+        when(pricingRepository.findPricingRangesByRoomIdsAndDate(any(), eq(today), any()))
+                .thenReturn(List.of(range(ROOM_ID, 100, 1, 2, 150)));
+        when(pricingRepository.findPricingRangesByRoomIdsAndDate(any(), eq(today.plusDays(1)), any()))
+                .thenReturn(List.of(range(ROOM_ID, 100, 0, 1, 150)));
+        LocalDate tomorrow = today.plusDays(1);
+        assertThat(roomPriceIndex.getTotalPrices(List.of(room), tomorrow, tomorrow.plusDays(1))).containsEntry(ROOM_ID, 150);
+
+        // when: 날짜가 바뀌면 새 기준일로 다시 만든다
+        clock.advanceDays(1);
+        Map<Long, Integer> totalPrices = roomPriceIndex.getTotalPrices(List.of(room), tomorrow, tomorrow.plusDays(2));
+
+        // then
+        assertThat(totalPrices).containsEntry(ROOM_ID, 150 + 100);
+        assertThat(roomPriceIndex.covers(today, tomorrow)).isFalse();
+        assertThat(roomPriceIndex.covers(tomorrow, tomorrow.plusDays(RoomPriceIndex.WINDOW_DAYS))).isTrue();
+        verify(pricingRepository).findPricingRangesByRoomIdsAndDate(new Long[]{ROOM_ID}, tomorrow, tomorrow.plusDays(RoomPriceIndex.WINDOW_DAYS));
+    }
+
+    private int totalPrice(Room room, int fromDay, int toDay) {
+        return roomPriceIndex.getTotalPrices(List.of(room), today.plusDays(fromDay), today.plusDays(toDay)).get(room.getId());
+    }
+
+    private RoomPricingRange range(long roomId, int basePrice, Integer fromDay, Integer toDay, Integer pricePerNight) {
+        return new RoomPricingRange() {
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public Integer getBasePrice() {
+                return basePrice;
+            }
+
+            @Override
+            public Integer getFromDay() {
+                return fromDay;
+            }
+
+            @Override
+            public Integer getToDay() {
+                return toDay;
+            }
+
+            @Override
+            public Integer getPricePerNight() {
+                return pricePerNight;
+            }
+        };
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advanceDays(long days) {
+            instant = instant.plusSeconds(days * 24 * 60 * 60);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.staybnb.rooms.repository.search;
+
+import com.staybnb.AbstractIntegrationTest;
+import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.dto.SearchRoomCondition;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import com.staybnb.rooms.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 공유 테스트 컨텍스트에서는 인덱스가 비활성(room-search-index.enabled=false)이므로,
+ * 컨텍스트를 따로 만들지 않고 테스트에서 인덱스를 직접 만들어 빌드한다.
+ */
+class RoomSearchIndexTest extends AbstractIntegrationTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    RoomRepository roomRepository;
+
+    RoomSearchIndex roomSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        // 다른 테스트에서 추가/삭제한 숙소까지 반영
+        roomSearchIndex = new RoomSearchIndex(jdbcTemplate, enabledProperties());
+        roomSearchIndex.build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"korea", "orea", "OREA", "uth kor", "ates  ci", "city street", "reet", "ko", "a", "y s", "nowhere", "zq"})
+    void search_SameResultsAsDatabase(String location) {
+        // given
+        SearchRoomCondition cond = SearchRoomCondition.builder().location(location).build();
+        Pageable pageable = PageRequest.of(0, 100, Sort.by("id"));
+
+        // when
+        List<Long> indexRoomIds = roomSearchIndex.search(cond, pageable).getContent();
+        List<Long> databaseRoomIds = roomRepository.findAll(cond, pageable).map(Room::getId).getContent();
+        List<Long> projectionRoomIds = roomRepository.findAllByProjection(cond, pageable).map(Room::getId).getContent();
+
+        // then
+        assertThat(roomSearchIndex.supports(cond, pageable)).isTrue();
+        assertThat(indexRoomIds).isEqualTo(databaseRoomIds).isEqualTo(projectionRoomIds);
+    }
+
+    @Test
+    void supports_UnsortedLocationSearch() {
+        // 정렬 조건 없는 위치 검색은 관련도 순 정렬을 위해 DB 검색으로 처리
+        SearchRoomCondition cond = SearchRoomCondition.builder().location("orea").build();
+
+        assertThat(roomSearchIndex.supports(cond, PageRequest.of(0, 20))).isFalse();
+        assertThat(roomSearchIndex.supports(SearchRoomCondition.builder().build(), PageRequest.of(0, 20))).isTrue();
+    }
+
+    @Test
+    void build_AppliesRoomChangesCommittedWhileLoading() {
+        // given: 첫 chunk 를 적재한 직후에 숙소 1 삭제가 커밋됨
+        Room deletedRoom = Room.builder().id(1L).isDeleted(true).build();
+        RoomSearchIndex[] index = new RoomSearchIndex[1];
+        JdbcTemplate loadingJdbcTemplate = new JdbcTemplate(dataSource) {
+            private boolean changed;
+
+            @Override
+            public void query(String sql, RowCallbackHandler rch, Object... args) {
+                super.query(sql, rch, args);
+                if (!changed) {
+                    changed = true;
+                    index[0].onRoomChanged(new RoomChangedEvent(deletedRoom));
+                }
+            }
+        };
+        index[0] = new RoomSearchIndex(loadingJdbcTemplate, enabledProperties());
+
+        // when
+        index[0].build();
+
+        // then
+        List<Long> roomIds = index[0].search(SearchRoomCondition.builder().build(), PageRequest.of(0, 100, Sort.by("id"))).getContent();
+        assertThat(roomIds).isNotEmpty().doesNotContain(1L);
+    }
+
+    private RoomSearchIndexProperties enabledProperties() {
+        RoomSearchIndexProperties properties = new RoomSearchIndexProperties();
+        properties.setEnabled(true);
+        return properties;
+    }
+}
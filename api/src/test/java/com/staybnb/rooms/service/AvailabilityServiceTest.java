@@ -6,7 +6,14 @@ import com.staybnb.rooms.domain.Room;
 import com.staybnb.users.domain.User;
 import com.staybnb.rooms.dto.request.UpdateAvailabilityRequest;
 import com.staybnb.rooms.dto.request.vo.DateRangeRequest;
+import com.staybnb.common.exception.custom.InvalidDateRangeException;
+import com.staybnb.rooms.dto.request.SearchAvailableStayRequest;
+import com.staybnb.rooms.dto.request.SearchBulkAvailabilityRequest;
+import com.staybnb.rooms.dto.response.AvailableStayResponse;
+import com.staybnb.rooms.dto.response.BulkAvailabilityResponse;
 import com.staybnb.rooms.repository.AvailabilityRepository;
+import com.staybnb.rooms.repository.cache.RoomAvailabilityIndex;
+import com.staybnb.rooms.service.lock.RoomCalendarLock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,15 +21,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,9 +49,18 @@ class AvailabilityServiceTest {
     @Mock
     private AvailabilityRepository availabilityRepository;
 
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
     @Mock
     private RoomService roomService;
 
+    @Mock
+    private RoomCalendarLock roomCalendarLock;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Captor
     private ArgumentCaptor<List<Availability>> availabilityListCaptor;
 
@@ -78,8 +98,11 @@ class AvailabilityServiceTest {
             // When
             availabilityService.updateSelectedDatesAvailability(HOST_ID, ROOM_ID, request);
 
-            // Then
-            verify(availabilityRepository).saveAll(availabilityListCaptor.capture());
+            // Then: 캘린더 압축 batch 와 겹치지 않도록 숙소 advisory lock 을 잡은 뒤 조회, 저장
+            InOrder inOrder = inOrder(roomCalendarLock, availabilityRepository);
+            inOrder.verify(roomCalendarLock).lockForCalendarUpdate(ROOM_ID);
+            inOrder.verify(availabilityRepository).findOrderedAvailabilitiesByDate(ROOM_ID, start, end.plusDays(1));
+            inOrder.verify(availabilityRepository).replaceAvailabilities(eq(ROOM_ID), eq(List.of()), availabilityListCaptor.capture());
             List<Availability> savedAvailabilities = availabilityListCaptor.getValue();
 
             assertThat(savedAvailabilities).hasSize(1);
@@ -111,8 +134,7 @@ class AvailabilityServiceTest {
             availabilityService.updateSelectedDatesAvailability(HOST_ID, ROOM_ID, request);
 
             // Then
-            verify(availabilityRepository).deleteAllInBatch(List.of(existingAvailability));
-            verify(availabilityRepository).saveAll(availabilityListCaptor.capture());
+            verify(availabilityRepository).replaceAvailabilities(eq(ROOM_ID), eq(List.of(existingAvailability)), availabilityListCaptor.capture());
             List<Availability> savedAvailabilities = availabilityListCaptor.getValue();
             savedAvailabilities.sort(Comparator.comparing(Availability::getStartDate));
 
@@ -178,17 +200,19 @@ class AvailabilityServiceTest {
             availabilityService.updateSelectedDatesAvailability(HOST_ID, ROOM_ID, request);
 
             // Then
-            verify(availabilityRepository).deleteAllInBatch(List.of(
+            verify(availabilityRepository).replaceAvailabilities(eq(ROOM_ID), eq(List.of(
                     existingAvailability1,
                     existingAvailability2,
                     existingAvailability3,
                     existingAvailability4)
-            );
-            verify(availabilityRepository).saveAll(availabilityListCaptor.capture());
+            ), availabilityListCaptor.capture());
             List<Availability> savedAvailabilities = availabilityListCaptor.getValue();
             savedAvailabilities.sort(Comparator.comparing(Availability::getStartDate));
 
             assertThat(savedAvailabilities).hasSize(9);
+            // 기존 4개 삭제, 9개 저장을 행 단위 저장 없이 DELETE, INSERT 한 번씩(replace 호출 한 번)으로 처리
+            verify(availabilityRepository, never()).saveAll(any());
+            verify(availabilityRepository, never()).deleteAllInBatch(any());
             // 1. Original part 1 (available)
             assertThat(savedAvailabilities.get(0).getStartDate()).isEqualTo(originalStart1);
             assertThat(savedAvailabilities.get(0).getEndDate()).isEqualTo(newStart1);
@@ -240,7 +264,7 @@ class AvailabilityServiceTest {
             assertThrows(UnauthorizedException.class,
                     () -> availabilityService.updateSelectedDatesAvailability(OTHER_USER_ID, ROOM_ID, request));
 
-            verify(availabilityRepository, never()).saveAll(any());
+            verify(availabilityRepository, never()).replaceAvailabilities(anyLong(), any(), any());
         }
     }
 
@@ -265,8 +289,9 @@ class AvailabilityServiceTest {
             availabilityService.updateAvailabilityToFalse(room, bookingStart, bookingEnd);
 
             // Then
-            verify(availabilityRepository).deleteAllInBatch(List.of(existingAvailability));
-            verify(availabilityRepository).saveAll(availabilityListCaptor.capture());
+            InOrder inOrder = inOrder(roomCalendarLock, availabilityRepository);
+            inOrder.verify(roomCalendarLock).lock(ROOM_ID);
+            inOrder.verify(availabilityRepository).replaceAvailabilities(eq(ROOM_ID), eq(List.of(existingAvailability)), availabilityListCaptor.capture());
             List<Availability> savedAvailabilities = availabilityListCaptor.getValue();
             savedAvailabilities.sort(Comparator.comparing(Availability::getStartDate));
 
@@ -316,15 +341,12 @@ class AvailabilityServiceTest {
     @DisplayName("isAvailable Tests")
     class IsAvailable {
         @Test
-        @DisplayName("성공: 요청 기간이 단일 available 기간 내에 완전히 포함될 때 true 반환")
-        void givenRangeFullyContainedInOneAvailability_whenCheck_thenReturnsTrue() {
+        @DisplayName("성공: 인덱스 범위 밖의 기간은 DB 에서 available 기간이 요청 기간을 모두 덮는지 확인")
+        void givenRangeCoveredInDatabase_whenCheck_thenReturnsTrue() {
             // Given
             LocalDate checkIn = LocalDate.now().plusDays(5);
             LocalDate checkOut = LocalDate.now().plusDays(10);
-            List<Availability> availabilities = List.of(
-                    new Availability(room, LocalDate.now(), LocalDate.now().plusDays(20), true)
-            );
-            when(availabilityRepository.findTrueAvailabilitiesByDate(ROOM_ID, checkIn, checkOut)).thenReturn(availabilities);
+            when(availabilityRepository.findAvailableRoomIds(new Long[]{ROOM_ID}, checkIn, checkOut)).thenReturn(List.of(ROOM_ID));
 
             // When
             boolean result = availabilityService.isAvailable(ROOM_ID, checkIn, checkOut);
@@ -334,100 +356,166 @@ class AvailabilityServiceTest {
         }
 
         @Test
-        @DisplayName("성공: 요청 기간이 여러 available 기간에 걸쳐 이어질 때 true 반환")
-        void givenRangeSpanningMultipleAvailabilities_whenCheck_thenReturnsTrue() {
+        @DisplayName("실패: available 기간이 요청 기간을 모두 덮지 않으면 false 반환")
+        void givenRangeNotCoveredInDatabase_whenCheck_thenReturnsFalse() {
             // Given
             LocalDate checkIn = LocalDate.now().plusDays(5);
             LocalDate checkOut = LocalDate.now().plusDays(15);
-            List<Availability> availabilities = List.of(
-                    new Availability(room, LocalDate.now().plusDays(5), LocalDate.now().plusDays(10), true),
-                    new Availability(room, LocalDate.now().plusDays(10), LocalDate.now().plusDays(15), true)
-            );
-            when(availabilityRepository.findTrueAvailabilitiesByDate(ROOM_ID, checkIn, checkOut)).thenReturn(availabilities);
+            when(availabilityRepository.findAvailableRoomIds(new Long[]{ROOM_ID}, checkIn, checkOut)).thenReturn(List.of());
 
             // When
             boolean result = availabilityService.isAvailable(ROOM_ID, checkIn, checkOut);
 
             // Then
-            assertTrue(result);
+            assertFalse(result);
         }
+    }
 
+    @Nested
+    @DisplayName("isAvailable with RoomAvailabilityIndex Tests")
+    class IsAvailableWithIndex {
         @Test
-        @DisplayName("실패: 요청 기간 중간에 갭이 있을 때 false 반환")
-        void givenGapInAvailability_whenCheck_thenReturnsFalse() {
+        @DisplayName("성공: 인덱스 범위 안의 기간은 availability 를 조회하지 않고 인덱스로 확인")
+        void givenCoveredRange_whenCheck_thenUsesIndex() {
             // Given
             LocalDate checkIn = LocalDate.now().plusDays(5);
-            LocalDate checkOut = LocalDate.now().plusDays(15);
-            List<Availability> availabilities = List.of(
-                    new Availability(room, LocalDate.now().plusDays(5), LocalDate.now().plusDays(8), true), // Gap from 8th to 10th
-                    new Availability(room, LocalDate.now().plusDays(10), LocalDate.now().plusDays(15), true)
-            );
-            when(availabilityRepository.findTrueAvailabilitiesByDate(ROOM_ID, checkIn, checkOut)).thenReturn(availabilities);
+            LocalDate checkOut = LocalDate.now().plusDays(10);
+            when(roomAvailabilityIndex.covers(checkIn, checkOut)).thenReturn(true);
+            when(roomAvailabilityIndex.findAvailableRoomIds(List.of(ROOM_ID), checkIn, checkOut)).thenReturn(Set.of(ROOM_ID));
 
             // When
             boolean result = availabilityService.isAvailable(ROOM_ID, checkIn, checkOut);
 
             // Then
-            assertFalse(result);
+            assertTrue(result);
+            verifyNoInteractions(availabilityRepository);
         }
+    }
 
+    @Nested
+    @DisplayName("getAvailableRoomIds Tests")
+    class GetAvailableRoomIds {
         @Test
-        @DisplayName("실패: 요청 기간이 available 기간을 벗어날 때 false 반환")
-        void givenRangePartiallyAvailable_whenCheck_thenReturnsFalse() {
+        @DisplayName("성공: 여러 숙소를 한 번에 확인하고 예약 가능한 숙소 id 를 요청 순서대로 반환")
+        void givenRoomIds_whenGet_thenReturnsAvailableRoomIdsInRequestOrder() {
             // Given
-            LocalDate checkIn = LocalDate.now().plusDays(5);
-            LocalDate checkOut = LocalDate.now().plusDays(15);
+            LocalDate startDate = LocalDate.now().plusDays(400);
+            LocalDate endDate = LocalDate.now().plusDays(403);
+            when(availabilityRepository.findAvailableRoomIds(new Long[]{3L, 1L, 2L}, startDate, endDate)).thenReturn(List.of(1L, 3L));
+
+            // When
+            BulkAvailabilityResponse result = availabilityService
+                    .getAvailableRoomIds(new SearchBulkAvailabilityRequest(List.of(3L, 1L, 2L), startDate, endDate)).join();
+
+            // Then
+            assertThat(result.getAvailableRoomIds()).containsExactly(3L, 1L);
+            verify(availabilityRepository, times(1)).findAvailableRoomIds(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("실패: startDate 가 endDate 보다 늦으면 예외")
+        void givenInvalidDateRange_whenGet_thenThrows() {
+            // Given
+            LocalDate startDate = LocalDate.now().plusDays(3);
+            LocalDate endDate = LocalDate.now().plusDays(1);
+
+            // When & Then
+            assertThrows(InvalidDateRangeException.class,
+                    () -> availabilityService.getAvailableRoomIds(new SearchBulkAvailabilityRequest(List.of(1L), startDate, endDate)));
+        }
+    }
+
+    @Nested
+    @DisplayName("findFirstAvailableStay Tests")
+    class FindFirstAvailableStay {
+        @Test
+        @DisplayName("성공: 인덱스가 꺼져 있으면 availability 조회로 nights 박 연속 예약 가능한 첫 기간 반환")
+        void givenAvailabilities_whenFind_thenReturnsFirstStay() {
+            // Given
+            LocalDate today = LocalDate.now();
+            LocalDate windowEnd = today.plusDays(RoomAvailabilityIndex.WINDOW_DAYS);
             List<Availability> availabilities = List.of(
-                    new Availability(room, LocalDate.now().plusDays(5), LocalDate.now().plusDays(12), true) // Ends before checkout
+                    new Availability(room, today.plusDays(1), today.plusDays(3), true), // 2박이라 건너뜀
+                    new Availability(room, today.plusDays(5), today.plusDays(9), true)
             );
-            when(availabilityRepository.findTrueAvailabilitiesByDate(ROOM_ID, checkIn, checkOut)).thenReturn(availabilities);
+            when(roomService.findById(ROOM_ID)).thenReturn(room);
+            when(availabilityRepository.findTrueAvailabilitiesByDate(ROOM_ID, today, windowEnd)).thenReturn(availabilities);
 
             // When
-            boolean result = availabilityService.isAvailable(ROOM_ID, checkIn, checkOut);
+            AvailableStayResponse result = availabilityService.findFirstAvailableStay(ROOM_ID, new SearchAvailableStayRequest(3, null)).join();
 
             // Then
-            assertFalse(result);
+            assertThat(result.getCheckIn()).isEqualTo(today.plusDays(5));
+            assertThat(result.getCheckOut()).isEqualTo(today.plusDays(8));
         }
 
         @Test
-        @DisplayName("실패: 해당 기간에 available 데이터가 없을 때 false 반환")
-        void givenNoAvailability_whenCheck_thenReturnsFalse() {
+        @DisplayName("성공: 인덱스 범위 안에서는 인덱스로 조회하고, 없으면 빈 기간 반환")
+        void givenIndex_whenNotFound_thenReturnsEmptyStay() {
             // Given
-            LocalDate checkIn = LocalDate.now().plusDays(5);
-            LocalDate checkOut = LocalDate.now().plusDays(15);
-            when(availabilityRepository.findTrueAvailabilitiesByDate(ROOM_ID, checkIn, checkOut)).thenReturn(Collections.emptyList());
+            LocalDate from = LocalDate.now().plusDays(10);
+            when(roomService.findById(ROOM_ID)).thenReturn(room);
+            when(roomAvailabilityIndex.covers(from, LocalDate.now().plusDays(RoomAvailabilityIndex.WINDOW_DAYS))).thenReturn(true);
+            when(roomAvailabilityIndex.findFirstAvailableCheckIn(ROOM_ID, from, 7)).thenReturn(Optional.empty());
 
             // When
-            boolean result = availabilityService.isAvailable(ROOM_ID, checkIn, checkOut);
+            AvailableStayResponse result = availabilityService.findFirstAvailableStay(ROOM_ID, new SearchAvailableStayRequest(7, from)).join();
 
             // Then
-            assertFalse(result);
+            assertThat(result.getCheckIn()).isNull();
+            assertThat(result.getCheckOut()).isNull();
+            verifyNoInteractions(availabilityRepository);
+        }
+
+        @Test
+        @DisplayName("실패: 조회 기간이 1년을 넘으면 예외")
+        void givenRangeBeyondWindow_whenFind_thenThrows() {
+            // Given
+            LocalDate from = LocalDate.now().plusDays(RoomAvailabilityIndex.WINDOW_DAYS - 2);
+            when(roomService.findById(ROOM_ID)).thenReturn(room);
+
+            // When & Then
+            assertThrows(InvalidDateRangeException.class,
+                    () -> availabilityService.findFirstAvailableStay(ROOM_ID, new SearchAvailableStayRequest(3, from)));
         }
     }
 
-    // Tests for isAvailableForUpdate would be identical to isAvailable tests,
-    // just mocking and verifying findTrueAvailabilitiesByDateForUpdate instead.
-    // Here is one example.
     @Nested
     @DisplayName("isAvailableForUpdate Tests")
     class IsAvailableForUpdate {
         @Test
-        @DisplayName("성공: 요청 기간이 완전히 available 할 때 true 반환")
+        @DisplayName("성공: 인덱스를 거치지 않고 락을 거는 DB 조회로 확인")
         void givenRangeFullyAvailable_whenCheckForUpdate_thenReturnsTrue() {
             // Given
             LocalDate checkIn = LocalDate.now().plusDays(5);
             LocalDate checkOut = LocalDate.now().plusDays(15);
-            List<Availability> availabilities = List.of(
-                    new Availability(room, checkIn, checkOut, true)
-            );
-            when(availabilityRepository.findTrueAvailabilitiesByDateForUpdate(ROOM_ID, checkIn, checkOut)).thenReturn(availabilities);
+            when(availabilityRepository.isCoveredByTrueAvailabilitiesForUpdate(ROOM_ID, checkIn, checkOut)).thenReturn(true);
+
+            // When
+            boolean result = availabilityService.isAvailableForUpdate(ROOM_ID, checkIn, checkOut);
+
+            // Then
+            assertTrue(result);
+            verify(availabilityRepository).isCoveredByTrueAvailabilitiesForUpdate(ROOM_ID, checkIn, checkOut);
+            verifyNoInteractions(roomAvailabilityIndex);
+        }
+
+        @Test
+        @DisplayName("성공: 숙소 잠금 모드에서는 행 잠금 없이 DB 에서 확인")
+        void givenRoomLockMode_whenCheckForUpdate_thenChecksWithoutRowLock() {
+            // Given
+            LocalDate checkIn = LocalDate.now().plusDays(5);
+            LocalDate checkOut = LocalDate.now().plusDays(15);
+            when(roomCalendarLock.isRoomLockMode()).thenReturn(true);
+            when(availabilityRepository.findAvailableRoomIds(new Long[]{ROOM_ID}, checkIn, checkOut)).thenReturn(List.of(ROOM_ID));
 
             // When
             boolean result = availabilityService.isAvailableForUpdate(ROOM_ID, checkIn, checkOut);
 
             // Then
             assertTrue(result);
-            verify(availabilityRepository).findTrueAvailabilitiesByDateForUpdate(ROOM_ID, checkIn, checkOut);
+            verify(availabilityRepository, never()).isCoveredByTrueAvailabilitiesForUpdate(anyLong(), any(), any());
+            verifyNoInteractions(roomAvailabilityIndex);
         }
     }
-}
\ No newline at end of file
+}
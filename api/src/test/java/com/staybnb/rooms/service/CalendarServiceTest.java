@@ -4,7 +4,16 @@ import com.staybnb.rooms.domain.*;
 import com.staybnb.rooms.domain.embedded.Address;
 import com.staybnb.rooms.domain.vo.Currency;
 import com.staybnb.rooms.domain.vo.RoomType;
+import com.staybnb.common.exception.custom.InvalidYearMonthException;
+import com.staybnb.rooms.dto.ContentVersion;
+import com.staybnb.rooms.dto.RoomVersion;
+import com.staybnb.rooms.dto.request.SearchCalendarRequest;
+import com.staybnb.rooms.dto.request.vo.CalendarFormat;
+import com.staybnb.rooms.dto.response.CalendarRangeResponse;
 import com.staybnb.rooms.dto.response.CalendarResponse;
+import com.staybnb.rooms.dto.response.vo.CalendarSpan;
+import com.staybnb.rooms.repository.cache.RoomVersionCache;
+import com.staybnb.rooms.dto.response.vo.DailyInfo;
 import com.staybnb.users.domain.User;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,11 +21,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +50,9 @@ class CalendarServiceTest {
     @Mock
     ExchangeRateService currencyService;
 
+    @Mock
+    RoomVersionCache roomVersionCache;
+
 
     @Test
     void getCalendar() throws ExecutionException, InterruptedException {
@@ -73,8 +89,16 @@ class CalendarServiceTest {
                 .build();
 
         YearMonth yearMonth = YearMonth.now();
+        LocalDate firstDay = yearMonth.atDay(1);
 
         when(roomService.findById(roomId)).thenReturn(room);
+        when(pricingService.findPricingsByMonth(roomId, yearMonth)).thenReturn(List.of(
+                new Pricing(room, firstDay.minusDays(3), firstDay.plusDays(2), 200_000)
+        ));
+        when(availabilityService.findAvailabilitiesByMonth(roomId, yearMonth)).thenReturn(List.of(
+                new Availability(room, firstDay.plusDays(1), firstDay.plusDays(3), true)
+        ));
+        when(currencyService.getExchangeRate(Currency.KRW, Currency.KRW)).thenReturn(1.0);
 
         // when
         CalendarResponse calendarResponse = calendarService.getCalendar(roomId, "KRW", yearMonth).get();
@@ -83,10 +107,114 @@ class CalendarServiceTest {
         verify(roomService, times(1)).findById(roomId);
         verify(pricingService, times(1)).findPricingsByMonth(roomId, yearMonth);
         verify(availabilityService, times(1)).findAvailabilitiesByMonth(roomId, yearMonth);
-        verify(currencyService, times(YearMonth.now().lengthOfMonth())).convert(any(), any(), anyInt());
+        verify(currencyService, times(1)).getExchangeRate(Currency.KRW, Currency.KRW);
 
         assertThat(calendarResponse.getRoomId()).isEqualTo(roomId);
         assertThat(calendarResponse.getCurrency()).isEqualTo(Currency.KRW.toString());
-        assertThat(calendarResponse.getDailyInfos()).hasSize(yearMonth.lengthOfMonth());
+
+        List<DailyInfo> dailyInfos = calendarResponse.getDailyInfos();
+        assertThat(dailyInfos).hasSize(yearMonth.lengthOfMonth());
+        assertThat(dailyInfos).extracting(DailyInfo::getDate).startsWith(firstDay, firstDay.plusDays(1), firstDay.plusDays(2));
+        assertThat(dailyInfos).extracting(DailyInfo::getPrice).startsWith(200_000.0, 200_000.0, 300_000.0);
+        assertThat(dailyInfos).extracting(DailyInfo::getIsAvailable).startsWith(false, true, true, false);
+    }
+
+    @Test
+    void getCalendarRange() throws ExecutionException, InterruptedException {
+        // given
+        long roomId = 1L;
+
+        User user = new User("user@gmail.com", "user", "password");
+        user.setId(1L);
+
+        PlaceType placeType = new PlaceType(1, "house");
+        Set<Amenity> amenities = Set.of(new Amenity(1, "wifi"), new Amenity(2, "tv"));
+
+        Address address = Address.builder()
+                .country("United States")
+                .province("Kentucky")
+                .city("Louisville")
+                .street("610 W Magnolia Ave")
+                .build();
+
+        Room room = Room.builder()
+                .id(roomId)
+                .host(user)
+                .placeType(placeType)
+                .roomType(RoomType.ENTIRE_PLACE)
+                .address(address)
+                .maxNumberOfGuests(2)
+                .bedrooms(1)
+                .beds(1)
+                .amenities(amenities)
+                .title("Modern building in Kentucky")
+                .description("Modern building in Kentucky")
+                .basePrice(300_000)
+                .currency(Currency.KRW)
+                .build();
+
+        YearMonth from = YearMonth.now();
+        YearMonth to = from.plusMonths(2);
+        LocalDate startDate = from.atDay(1);
+        LocalDate endDate = to.plusMonths(1).atDay(1);
+
+        when(roomService.findById(roomId)).thenReturn(room);
+        when(pricingService.findPricingsByMonths(roomId, from, to)).thenReturn(List.of(
+                new Pricing(room, startDate.plusDays(10), startDate.plusDays(20), 200_000)
+        ));
+        when(availabilityService.findAvailabilitiesByMonths(roomId, from, to)).thenReturn(List.of(
+                new Availability(room, startDate.minusDays(5), startDate.plusDays(15), true)
+        ));
+        when(currencyService.getExchangeRate(Currency.KRW, Currency.KRW)).thenReturn(1.0);
+
+        // when
+        CalendarRangeResponse response = calendarService.getCalendar(roomId, new SearchCalendarRequest("KRW", from, to, null)).get();
+
+        // then
+        verify(pricingService, times(1)).findPricingsByMonths(roomId, from, to);
+        verify(availabilityService, times(1)).findAvailabilitiesByMonths(roomId, from, to);
+
+        assertThat(response.getStartDate()).isEqualTo(startDate);
+        assertThat(response.getEndDate()).isEqualTo(endDate);
+        assertThat(response.getDailyInfos()).isNull();
+        assertThat(response.getSpans())
+                .extracting(CalendarSpan::getStartDate, CalendarSpan::getEndDate, CalendarSpan::getPrice, CalendarSpan::getIsAvailable)
+                .containsExactly(
+                        tuple(startDate, startDate.plusDays(10), 300_000.0, true),
+                        tuple(startDate.plusDays(10), startDate.plusDays(15), 200_000.0, true),
+                        tuple(startDate.plusDays(15), startDate.plusDays(20), 200_000.0, false),
+                        tuple(startDate.plusDays(20), endDate, 300_000.0, false)
+                );
+    }
+
+    @Test
+    void getCalendarRange_Fail_ExceededMaxMonths() {
+        // given
+        YearMonth from = YearMonth.now();
+        SearchCalendarRequest request = new SearchCalendarRequest("KRW", from, from.plusMonths(13), CalendarFormat.DAILY);
+
+        // when, then
+        assertThrows(InvalidYearMonthException.class, () -> calendarService.getCalendar(1L, request));
+    }
+
+    @Test
+    void getCalendarVersion() {
+        // given
+        long roomId = 1L;
+        RoomVersion version = mock(RoomVersion.class);
+        when(version.getCurrency()).thenReturn("KRW");
+        when(version.getCalendarVersion()).thenReturn(3L);
+        when(version.getCalendarUpdatedAt()).thenReturn(1_000L);
+        when(roomVersionCache.get(roomId)).thenReturn(version);
+        when(currencyService.getExchangeRate(Currency.KRW, Currency.USD)).thenReturn(1 / 1350.0);
+        when(currencyService.getLastModified(Currency.KRW, Currency.USD)).thenReturn(2_000L);
+
+        // when
+        ContentVersion calendarVersion = calendarService.getCalendarVersion(roomId, "USD");
+
+        // then
+        verifyNoInteractions(roomService, pricingService, availabilityService);
+        assertThat(calendarVersion.getETag()).startsWith("\"3-").endsWith("\"");
+        assertThat(calendarVersion.getLastModified()).isEqualTo(2_000L);
     }
-}
\ No newline at end of file
+}
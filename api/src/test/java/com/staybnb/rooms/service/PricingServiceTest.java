@@ -4,11 +4,15 @@ import com.staybnb.common.exception.custom.InvalidDateRangeException;
 import com.staybnb.common.exception.custom.UnauthorizedException;
 import com.staybnb.rooms.domain.*;
 import com.staybnb.rooms.domain.vo.Currency;
+import com.staybnb.rooms.dto.request.SearchBulkPricingRequest;
 import com.staybnb.rooms.dto.request.SearchPricingRequest;
 import com.staybnb.rooms.dto.request.UpdatePricingRequest;
 import com.staybnb.rooms.dto.request.vo.DateRangeRequest;
 import com.staybnb.rooms.dto.response.PricingResponse;
+import com.staybnb.rooms.event.RoomCalendarChangedEvent;
 import com.staybnb.rooms.repository.PricingRepository;
+import com.staybnb.rooms.repository.cache.RoomPriceIndex;
+import com.staybnb.rooms.service.lock.RoomCalendarLock;
 import com.staybnb.users.domain.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,15 +21,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,12 +48,21 @@ public class PricingServiceTest {
     @Mock
     PricingRepository pricingRepository;
 
+    @Mock
+    RoomPriceIndex roomPriceIndex;
+
     @Mock
     RoomService roomService;
 
     @Mock
     ExchangeRateService exchangeRateService;
 
+    @Mock
+    RoomCalendarLock roomCalendarLock;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @Captor
     ArgumentCaptor<List<Pricing>> pricingListCaptor;
 
@@ -86,7 +102,7 @@ public class PricingServiceTest {
             List<Pricing> pricings = List.of(specialPricing);
 
             when(roomService.findById(ROOM_ID)).thenReturn(room);
-            when(pricingRepository.findPricingsByDate(ROOM_ID, startDate, endDate)).thenReturn(pricings);
+            when(pricingRepository.findPricingsByRoomIdsAndDate(new Long[]{ROOM_ID}, startDate, endDate)).thenReturn(pricings);
             // 6 nights at base price (100) + 4 nights at special price (150) = 600 + 600 = 1200 USD
             // Assume 1 USD = 1350 KRW
             when(exchangeRateService.convert(Currency.USD, Currency.KRW, 1200)).thenReturn(1620000.0);
@@ -100,7 +116,7 @@ public class PricingServiceTest {
             assertThat(response.getTotalPrice()).isEqualTo(1620000.0);
             assertThat(response.getCurrency()).isEqualTo("KRW");
             verify(roomService).findById(ROOM_ID);
-            verify(pricingRepository).findPricingsByDate(ROOM_ID, startDate, endDate);
+            verify(pricingRepository).findPricingsByRoomIdsAndDate(new Long[]{ROOM_ID}, startDate, endDate);
             verify(exchangeRateService).convert(Currency.USD, Currency.KRW, 1200);
         }
 
@@ -113,7 +129,7 @@ public class PricingServiceTest {
             SearchPricingRequest request = new SearchPricingRequest(startDate, endDate, "USD");
 
             when(roomService.findById(ROOM_ID)).thenReturn(room);
-            when(pricingRepository.findPricingsByDate(anyLong(), any(), any())).thenReturn(Collections.emptyList());
+            when(pricingRepository.findPricingsByRoomIdsAndDate(any(), any(), any())).thenReturn(Collections.emptyList());
             // 5 nights * 100 (base price) = 500 USD
             // No conversion needed
             when(exchangeRateService.convert(Currency.USD, Currency.USD, 500)).thenReturn(500.0);
@@ -125,6 +141,56 @@ public class PricingServiceTest {
             assertThat(response.getTotalPrice()).isEqualTo(500.0);
         }
 
+        @Test
+        @DisplayName("성공: 가격 인덱스 범위 안의 기간은 pricing 조회 없이 인덱스로 계산한다")
+        void getTotalPricing_Success_WithPriceIndex() throws ExecutionException, InterruptedException {
+            // Given
+            LocalDate startDate = LocalDate.now().plusDays(1);
+            LocalDate endDate = LocalDate.now().plusDays(11);
+            SearchPricingRequest request = new SearchPricingRequest(startDate, endDate, "USD");
+
+            when(roomService.findById(ROOM_ID)).thenReturn(room);
+            when(roomPriceIndex.covers(startDate, endDate)).thenReturn(true);
+            when(roomPriceIndex.getTotalPrices(List.of(room), startDate, endDate)).thenReturn(Map.of(ROOM_ID, 1200));
+            when(exchangeRateService.convert(Currency.USD, Currency.USD, 1200)).thenReturn(1200.0);
+
+            // When
+            PricingResponse response = pricingService.getTotalPricing(ROOM_ID, request).get();
+
+            // Then
+            assertThat(response.getTotalPrice()).isEqualTo(1200.0);
+            verify(pricingRepository, never()).findPricingsByRoomIdsAndDate(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("성공: 여러 숙소의 총 가격을 pricing 조회 한 번, 통화별 환율 조회 한 번으로 계산한다")
+        void getTotalPricings_Success() throws ExecutionException, InterruptedException {
+            // Given
+            LocalDate startDate = LocalDate.now().plusDays(1);
+            LocalDate endDate = LocalDate.now().plusDays(3); // 2 nights
+            SearchBulkPricingRequest request = new SearchBulkPricingRequest(List.of(103L, ROOM_ID, 102L), startDate, endDate, "KRW");
+
+            Room room2 = Room.builder().id(102L).basePrice(200).currency(Currency.USD).build();
+            Room room3 = Room.builder().id(103L).basePrice(50_000).currency(Currency.KRW).build();
+            Pricing specialPricing = new Pricing(room, startDate, startDate.plusDays(1), 150);
+
+            when(roomService.findAllById(request.getRoomIds())).thenReturn(List.of(room3, room, room2));
+            when(pricingRepository.findPricingsByRoomIdsAndDate(new Long[]{103L, ROOM_ID, 102L}, startDate, endDate))
+                    .thenReturn(List.of(specialPricing));
+            when(exchangeRateService.convert(Currency.KRW, Currency.KRW, 1)).thenReturn(1.0);
+            when(exchangeRateService.convert(Currency.USD, Currency.KRW, 1)).thenReturn(1350.0);
+
+            // When
+            List<PricingResponse> responses = pricingService.getTotalPricings(request).get();
+
+            // Then
+            assertThat(responses).extracting(PricingResponse::getRoomId).containsExactly(103L, ROOM_ID, 102L);
+            assertThat(responses).extracting(PricingResponse::getTotalPrice)
+                    .containsExactly(100_000.0, 250 * 1350.0, 400 * 1350.0);
+            verify(pricingRepository, times(1)).findPricingsByRoomIdsAndDate(any(), any(), any());
+            verify(exchangeRateService, times(1)).convert(Currency.USD, Currency.KRW, 1);
+        }
+
         @Test
         @DisplayName("실패: 시작일이 과거일 경우 InvalidDateRangeException을 던진다")
         void getTotalPricing_Fail_WhenStartDateIsInThePast() {
@@ -175,8 +241,11 @@ public class PricingServiceTest {
             // When
             pricingService.updateSelectedDatesPricing(HOST_ID, ROOM_ID, request);
 
-            // Then
-            verify(pricingRepository).saveAll(pricingListCaptor.capture());
+            // Then: 캘린더 압축 batch 와 겹치지 않도록 숙소 advisory lock 을 잡은 뒤 조회, 저장
+            InOrder inOrder = inOrder(roomCalendarLock, pricingRepository);
+            inOrder.verify(roomCalendarLock).lockForCalendarUpdate(ROOM_ID);
+            inOrder.verify(pricingRepository).findOrderedPricingsByDate(ROOM_ID, startDate, endDate.plusDays(1));
+            inOrder.verify(pricingRepository).replacePricings(eq(ROOM_ID), eq(List.of()), pricingListCaptor.capture());
             List<Pricing> savedPricings = pricingListCaptor.getValue();
 
             assertThat(savedPricings).hasSize(1);
@@ -185,6 +254,33 @@ public class PricingServiceTest {
             assertThat(savedPricings.getFirst().getPricePerNight()).isEqualTo(newPrice);
         }
 
+        @Test
+        @DisplayName("성공: SQL 버전은 update_room_pricing 프로시저를 한 번 호출한다")
+        void updatePricingSql_Success() {
+            // Given
+            LocalDate start1 = LocalDate.now().plusDays(1);
+            LocalDate start2 = LocalDate.now().plusDays(10);
+            UpdatePricingRequest request = new UpdatePricingRequest(List.of(
+                    new DateRangeRequest(start1, start1.plusDays(3)),
+                    new DateRangeRequest(start2, start2.plusDays(2))
+            ), 200);
+
+            when(roomService.findById(ROOM_ID)).thenReturn(room);
+
+            // When
+            pricingService.updateSelectedDatesPricingSql(HOST_ID, ROOM_ID, request);
+
+            // Then
+            InOrder inOrder = inOrder(roomCalendarLock, pricingRepository);
+            inOrder.verify(roomCalendarLock).lockForCalendarUpdate(ROOM_ID);
+            inOrder.verify(pricingRepository).updateRoomPricing(ROOM_ID, List.of(
+                    "[" + start1 + "," + start1.plusDays(4) + ")",
+                    "[" + start2 + "," + start2.plusDays(3) + ")"
+            ), 200);
+            verify(pricingRepository, never()).replacePricings(anyLong(), any(), any());
+            verify(eventPublisher).publishEvent(any(RoomCalendarChangedEvent.class));
+        }
+
         @Test
         @DisplayName("성공: 새 가격 기간이 기존 가격 기간을 완전히 덮어쓴다")
         void updatePricing_Success_WhenNewRangeOverwritesExisting() {
@@ -205,9 +301,7 @@ public class PricingServiceTest {
             pricingService.updateSelectedDatesPricing(HOST_ID, ROOM_ID, request);
 
             // Then
-            verify(pricingRepository).deleteAllInBatch(List.of(existingPricing));
-            verify(pricingRepository).flush();
-            verify(pricingRepository).saveAll(pricingListCaptor.capture());
+            verify(pricingRepository).replacePricings(eq(ROOM_ID), eq(List.of(existingPricing)), pricingListCaptor.capture());
 
             List<Pricing> savedPricings = pricingListCaptor.getValue();
             assertThat(savedPricings).hasSize(1);
@@ -237,7 +331,7 @@ public class PricingServiceTest {
             pricingService.updateSelectedDatesPricing(HOST_ID, ROOM_ID, request);
 
             // Then
-            verify(pricingRepository).saveAll(pricingListCaptor.capture());
+            verify(pricingRepository).replacePricings(eq(ROOM_ID), eq(List.of(existingPricing)), pricingListCaptor.capture());
             List<Pricing> savedPricings = pricingListCaptor.getValue();
             savedPricings.sort(Comparator.comparing(Pricing::getStartDate));
 
@@ -308,17 +402,19 @@ public class PricingServiceTest {
             pricingService.updateSelectedDatesPricing(HOST_ID, ROOM_ID, request);
 
             // Then
-            verify(pricingRepository).deleteAllInBatch(List.of(
+            verify(pricingRepository).replacePricings(eq(ROOM_ID), eq(List.of(
                     existingPricing1,
                     existingPricing2,
                     existingPricing3,
                     existingPricing4)
-            );
-            verify(pricingRepository).saveAll(pricingListCaptor.capture());
+            ), pricingListCaptor.capture());
             List<Pricing> savedPricings = pricingListCaptor.getValue();
             savedPricings.sort(Comparator.comparing(Pricing::getStartDate));
 
             assertThat(savedPricings).hasSize(9);
+            // 기존 4개 삭제, 9개 저장을 행 단위 저장 없이 DELETE, INSERT 한 번씩(replace 호출 한 번)으로 처리
+            verify(pricingRepository, never()).saveAll(any());
+            verify(pricingRepository, never()).deleteAllInBatch(any());
             // 1. Original part 1
             assertThat(savedPricings.get(0).getStartDate()).isEqualTo(originalStart1);
             assertThat(savedPricings.get(0).getEndDate()).isEqualTo(newStart1);
@@ -4,9 +4,17 @@ import com.staybnb.rooms.domain.*;
 import com.staybnb.rooms.domain.embedded.Address;
 import com.staybnb.rooms.domain.vo.Currency;
 import com.staybnb.rooms.domain.vo.RoomType;
+import com.staybnb.rooms.dto.CountedPage;
 import com.staybnb.rooms.dto.SearchRoomCondition;
 import com.staybnb.rooms.dto.request.UpdateRoomRequest;
+import com.staybnb.rooms.event.RoomChangedEvent;
+import com.staybnb.rooms.dto.RoomStayPrice;
+import com.staybnb.rooms.repository.PricingRepository;
 import com.staybnb.rooms.repository.RoomRepository;
+import com.staybnb.rooms.repository.cache.CachedRoomSearch;
+import com.staybnb.rooms.repository.cache.RoomSearchResultCache;
+import com.staybnb.rooms.repository.projection.RoomSearchProjectionProperties;
+import com.staybnb.rooms.repository.search.RoomSearchIndex;
 import com.staybnb.users.domain.User;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,9 +24,14 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 
@@ -34,9 +47,24 @@ class RoomServiceTest {
     @Mock
     RoomRepository roomRepository;
 
+    @Mock
+    PricingRepository pricingRepository;
+
     @Mock
     ExchangeRateService exchangeRateService;
 
+    @Mock
+    RoomSearchIndex roomSearchIndex;
+
+    @Mock
+    RoomSearchResultCache roomSearchResultCache;
+
+    @Mock
+    RoomSearchProjectionProperties roomSearchProjectionProperties;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @Captor
     ArgumentCaptor<Room> roomCaptor;
 
@@ -46,7 +74,7 @@ class RoomServiceTest {
         // given
         User host = new User("host@gmail.com", "host", "password");
         PlaceType placeType = new PlaceType(1, "HOUSE");
-        Set<Amenity> amenities = Set.of();
+        Set<Amenity> amenities = Set.of(new Amenity(1, "wifi"), new Amenity(3, "kitchen"));
 
         Address address = Address.builder()
                 .country("United States")
@@ -80,6 +108,8 @@ class RoomServiceTest {
         verify(exchangeRateService, times(1)).convertToUSD(Currency.KRW, room.getBasePrice());
         verify(roomRepository, times(1)).save(any(Room.class));
 
+        verify(eventPublisher, times(1)).publishEvent(any(RoomChangedEvent.class));
+
         verify(roomRepository).save(roomCaptor.capture());
         Room savedRoom = roomCaptor.getValue();
 
@@ -94,6 +124,7 @@ class RoomServiceTest {
                 .basePrice(700_000)
                 .currency(Currency.KRW)
                 .basePriceInUsd(700_000 / 1350.0)
+                .amenityBits(0b101)
                 .timeZoneId("Asia/Seoul")
                 .build();
 
@@ -188,6 +219,7 @@ class RoomServiceTest {
 
         SearchRoomCondition searchRoomCondition = SearchRoomCondition.builder().numberOfGuests(2).build();
         Page<Room> pageResponse= new PageImpl<>(List.of(room));
+        when(roomSearchResultCache.lookup(searchRoomCondition, null)).thenReturn(cacheMiss(searchRoomCondition));
         when(roomRepository.findAll(any(SearchRoomCondition.class), eq(null))).thenReturn(pageResponse);
 
         // when
@@ -198,6 +230,158 @@ class RoomServiceTest {
         assertThat(rooms.getContent().size()).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("finaAll(): 검색 가격 조건은 요청 통화 기준에서 USD 로 환산해서 조회")
+    void findAllWithPriceInUsd() throws ExecutionException, InterruptedException {
+        // given
+        SearchRoomCondition searchRoomCondition = SearchRoomCondition.builder()
+                .currency("KRW")
+                .priceFrom(135_000)
+                .priceTo(270_000)
+                .build();
+
+        when(exchangeRateService.convertToUSD(Currency.KRW, 135_000)).thenReturn(100.0);
+        when(exchangeRateService.convertToUSD(Currency.KRW, 270_000)).thenReturn(200.0);
+        when(roomSearchResultCache.lookup(any(SearchRoomCondition.class), eq(null))).thenReturn(cacheMiss(searchRoomCondition));
+        when(roomRepository.findAll(any(SearchRoomCondition.class), eq(null))).thenReturn(new PageImpl<>(List.of()));
+
+        ArgumentCaptor<SearchRoomCondition> conditionCaptor = ArgumentCaptor.forClass(SearchRoomCondition.class);
+
+        // when
+        roomService.findAll(searchRoomCondition, null).get();
+
+        // then
+        verify(roomRepository).findAll(conditionCaptor.capture(), eq(null));
+        assertThat(conditionCaptor.getValue().getPriceFromInUsd()).isEqualTo(100.0);
+        assertThat(conditionCaptor.getValue().getPriceToInUsd()).isEqualTo(200.0);
+    }
+
+    @Test
+    @DisplayName("finaAll(): 검색 인덱스로 처리 가능한 조건이면 인덱스의 room id 로 페이지 숙소만 조회")
+    void findAllWithSearchIndex() throws ExecutionException, InterruptedException {
+        // given
+        SearchRoomCondition searchRoomCondition = SearchRoomCondition.builder().numberOfGuests(2).location("korea").build();
+        Pageable pageable = PageRequest.of(0, 2);
+
+        Room room1 = Room.builder().id(3L).build();
+        Room room2 = Room.builder().id(1L).build();
+
+        when(roomSearchResultCache.lookup(searchRoomCondition, pageable)).thenReturn(cacheMiss(searchRoomCondition));
+        when(roomSearchIndex.supports(searchRoomCondition, pageable)).thenReturn(true);
+        when(roomSearchIndex.search(searchRoomCondition, pageable)).thenReturn(new PageImpl<>(List.of(3L, 1L), pageable, 10));
+        when(roomRepository.findAllInOrder(List.of(3L, 1L))).thenReturn(List.of(room1, room2));
+
+        // when
+        Page<Room> rooms = roomService.findAll(searchRoomCondition, pageable).get();
+
+        // then
+        verify(roomRepository, never()).findAll(any(SearchRoomCondition.class), any(Pageable.class));
+        assertThat(rooms.getContent()).extracting(Room::getId).containsExactly(3L, 1L);
+        assertThat(rooms.getTotalElements()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("finaAll(): 총 숙박 가격 정렬 시 후보 숙소의 총 가격을 한 번에 계산해서 USD 환산 가격 순으로 조회")
+    void findAllSortByTotalPrice() throws ExecutionException, InterruptedException {
+        // given
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        LocalDate endDate = LocalDate.now().plusDays(3);
+        SearchRoomCondition searchRoomCondition = SearchRoomCondition.builder().startDate(startDate).endDate(endDate).build();
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("totalPrice"));
+
+        when(roomSearchResultCache.lookup(searchRoomCondition, pageable)).thenReturn(cacheMiss(searchRoomCondition));
+        when(roomRepository.findAllIds(eq(searchRoomCondition), anyInt())).thenReturn(List.of(1L, 2L, 3L));
+        when(pricingRepository.findStayPrices(new Long[]{1L, 2L, 3L}, startDate, endDate)).thenReturn(List.of(
+                stayPrice(1L, "KRW", 600_000),
+                stayPrice(2L, "USD", 500),
+                stayPrice(3L, "USD", 300)
+        ));
+        when(exchangeRateService.convertToUSD(Currency.KRW, 1)).thenReturn(1 / 1350.0);
+        when(exchangeRateService.convertToUSD(Currency.USD, 1)).thenReturn(1.0);
+        when(roomRepository.findAllInOrder(List.of(3L, 1L))).thenReturn(List.of(Room.builder().id(3L).build(), Room.builder().id(1L).build()));
+
+        // when
+        Page<Room> rooms = roomService.findAll(searchRoomCondition, pageable).get();
+
+        // then
+        verify(pricingRepository, times(1)).findStayPrices(any(), any(), any());
+        assertThat(rooms.getContent()).extracting(Room::getId).containsExactly(3L, 1L);
+        assertThat(rooms.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("finaAll(): 총 숙박 가격 정렬 시 총 가격이 계산되지 않은(그 사이 삭제된) 후보 숙소는 제외")
+    void findAllSortByTotalPriceWithoutStayPrice() throws ExecutionException, InterruptedException {
+        // given
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        LocalDate endDate = LocalDate.now().plusDays(3);
+        SearchRoomCondition searchRoomCondition = SearchRoomCondition.builder().startDate(startDate).endDate(endDate).build();
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "totalPrice"));
+
+        when(roomSearchResultCache.lookup(searchRoomCondition, pageable)).thenReturn(cacheMiss(searchRoomCondition));
+        when(roomRepository.findAllIds(eq(searchRoomCondition), anyInt())).thenReturn(List.of(1L, 2L, 3L));
+        when(pricingRepository.findStayPrices(new Long[]{1L, 2L, 3L}, startDate, endDate)).thenReturn(List.of(
+                stayPrice(1L, "USD", 500),
+                stayPrice(3L, "USD", 300)
+        ));
+        when(exchangeRateService.convertToUSD(Currency.USD, 1)).thenReturn(1.0);
+        when(roomRepository.findAllInOrder(List.of(1L, 3L))).thenReturn(List.of(Room.builder().id(1L).build(), Room.builder().id(3L).build()));
+
+        // when
+        Page<Room> rooms = roomService.findAll(searchRoomCondition, pageable).get();
+
+        // then
+        assertThat(rooms.getContent()).extracting(Room::getId).containsExactly(1L, 3L);
+        assertThat(rooms.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("finaAll(): 검색 결과 캐시에 있으면 캐시된 room id 로 페이지 숙소만 조회")
+    void findAllWithSearchResultCache() throws ExecutionException, InterruptedException {
+        // given
+        SearchRoomCondition searchRoomCondition = SearchRoomCondition.builder().location("korea").build();
+        Pageable pageable = PageRequest.of(0, 2);
+
+        Room room1 = Room.builder().id(2L).build();
+        Room room2 = Room.builder().id(1L).build();
+
+        CachedRoomSearch cached = new CachedRoomSearch(searchRoomCondition, List.of(2L, 1L), 5, 0);
+        when(roomSearchResultCache.lookup(searchRoomCondition, pageable))
+                .thenReturn(new RoomSearchResultCache.Lookup("key", searchRoomCondition, 0, 0, cached));
+        when(roomRepository.findAllInOrder(List.of(2L, 1L))).thenReturn(List.of(room1, room2));
+
+        // when
+        Page<Room> rooms = roomService.findAll(searchRoomCondition, pageable).get();
+
+        // then
+        verify(roomRepository, never()).findAll(any(SearchRoomCondition.class), any(Pageable.class));
+        verify(roomSearchIndex, never()).search(any(SearchRoomCondition.class), any(Pageable.class));
+        verify(roomSearchResultCache, never()).put(any(), any());
+        assertThat(rooms.getContent()).extracting(Room::getId).containsExactly(2L, 1L);
+        assertThat(rooms.getTotalElements()).isEqualTo(5);
+        assertThat(CountedPage.countStrategyOf(rooms)).isEqualTo(CountedPage.CountStrategy.CACHED);
+    }
+
+    @Test
+    @DisplayName("finaAll(): 검색 read model 을 사용하면 room_search 로 검색")
+    void findAllWithSearchProjection() throws ExecutionException, InterruptedException {
+        // given
+        SearchRoomCondition searchRoomCondition = SearchRoomCondition.builder().location("korea").build();
+        Pageable pageable = PageRequest.of(0, 2);
+
+        when(roomSearchResultCache.lookup(searchRoomCondition, pageable)).thenReturn(cacheMiss(searchRoomCondition));
+        when(roomSearchProjectionProperties.isEnabled()).thenReturn(true);
+        when(roomRepository.findAllByProjection(any(SearchRoomCondition.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(Room.builder().id(1L).build()), pageable, 1));
+
+        // when
+        Page<Room> rooms = roomService.findAll(searchRoomCondition, pageable).get();
+
+        // then
+        verify(roomRepository, never()).findAll(any(SearchRoomCondition.class), any(Pageable.class));
+        assertThat(rooms.getContent()).extracting(Room::getId).containsExactly(1L);
+    }
+
     @Test
     @DisplayName("update(): 기본 숙박 가격 정보 수정")
     void update() throws ExecutionException, InterruptedException {
@@ -314,4 +498,27 @@ class RoomServiceTest {
         assertThat(room.isDeleted()).isTrue();
         assertThat(room.getDeletedAt()).isNotNull();
     }
-}
\ No newline at end of file
+
+    private RoomSearchResultCache.Lookup cacheMiss(SearchRoomCondition condition) {
+        return new RoomSearchResultCache.Lookup(null, condition, 0, 0, null);
+    }
+
+    private RoomStayPrice stayPrice(long roomId, String currency, long totalPrice) {
+        return new RoomStayPrice() {
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public String getCurrency() {
+                return currency;
+            }
+
+            @Override
+            public Long getTotalPrice() {
+                return totalPrice;
+            }
+        };
+    }
+}
@@ -0,0 +1,197 @@
+package com.staybnb.rooms.config;
+
+import com.staybnb.rooms.repository.custom.AvailabilityRepositoryCustom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * pricing, availability 압축.
+ * 호스트가 기간을 여러 번 수정하면 같은 값(price_per_night, is_available)을 가진 인접한 구간이 여러 행으로 나뉘어 남는데,
+ * 숙소별로 이런 구간들을 range_merge 로 한 행으로 합친다. 값은 그대로이므로 가격, 예약 가능 여부는 바뀌지 않는다.
+ * <p>
+ * API 의 예약, 캘린더 수정과 겹치지 않도록 기다리지 않고 잠글 수 있는 것만 압축한다.
+ * <ul>
+ *     <li>API 와 같은 숙소 advisory lock 을 pg_try_advisory_xact_lock 으로 잡고, 다른 트랜잭션이 잡고 있는 숙소는 건너뛴다.
+ *     호스트의 pricing, availability 수정은 잠금 모드와 관계없이 이 잠금을 잡으며 (RoomCalendarLock.lockForCalendarUpdate),
+ *     예약은 ADVISORY 모드에서 잡는다.</li>
+ *     <li>압축할 행은 FOR UPDATE SKIP LOCKED 로 잠그고 잠근 행끼리만 합친다 (ROW 모드의 예약이 잠근 availability 행).</li>
+ * </ul>
+ * 건너뛴 숙소, 행은 다음 실행에서 압축한다. LOCAL 모드 예약의 JVM 잠금은 볼 수 없지만, 합친 행과 겹치는 예약의 저장은
+ * 겹침 금지 제약에 걸려 롤백되고 API 는 다시 시도할 수 있는 오류(409)로 응답하므로 데이터가 어긋나지는 않는다.
+ */
+@Slf4j
+@Configuration
+public class CalendarCompactionJobConfig {
+
+    private static final int CHUNK_SIZE = 500;
+
+    static final String PRICING_ROWS_REMOVED = "pricingRowsRemoved";
+    static final String AVAILABILITY_ROWS_REMOVED = "availabilityRowsRemoved";
+    static final String ROOMS_SKIPPED = "roomsSkipped";
+
+    /**
+     * roomIds 중 숙소 advisory lock 을 바로 잡을 수 있는 숙소 id (잠금은 chunk 트랜잭션이 끝날 때 풀린다)
+     */
+    private static final String TRY_LOCK_ROOMS_SQL = """
+            SELECT id FROM unnest(?::bigint[]) AS r(id)
+            WHERE pg_try_advisory_xact_lock(?, CAST(id AS integer))
+            """;
+
+    /**
+     * roomIds 숙소의 table 행 중 다른 트랜잭션이 잠그지 않은 행을 잠그고 id 를 반환
+     */
+    private static final String LOCK_ROWS_SQL = """
+            SELECT id FROM %1$s
+            WHERE room_id = ANY(?::bigint[])
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    /**
+     * ids 행(잠근 행) 중 값이 같고 이어지는 구간을 하나로 합치고, 줄어든 행 수를 반환.
+     * 이어지는 구간 묶음(grp)마다 기존 행을 모두 삭제한 뒤 합친 구간 하나를 저장한다.
+     * (삭제 결과를 모두 모은 뒤 저장하므로 겹침 금지 제약에 걸리지 않음)
+     * 행을 잠근 뒤 새 문장으로 실행하므로 잠근 시점에 커밋된 값으로 계산하며,
+     * 잠그지 못한 행을 사이에 둔 두 행은 이어지지 않으므로 합치지 않는다.
+     */
+    private static final String COMPACT_SQL = """
+            WITH ordered AS (
+                SELECT id, room_id, date_range, %2$s AS value,
+                       lower(date_range) = lag(upper(date_range)) OVER w AND %2$s = lag(%2$s) OVER w AS continues
+                FROM %1$s
+                WHERE id = ANY(?::bigint[])
+                WINDOW w AS (PARTITION BY room_id ORDER BY date_range)
+            ), grouped AS (
+                SELECT id, room_id, value,
+                       count(*) FILTER (WHERE continues IS NOT TRUE) OVER (PARTITION BY room_id ORDER BY date_range) AS grp
+                FROM ordered
+            ), fragmented AS (
+                SELECT id, room_id, grp, value
+                FROM (SELECT *, count(*) OVER (PARTITION BY room_id, grp) AS group_size FROM grouped) g
+                WHERE group_size > 1
+            ), removed AS (
+                DELETE FROM %1$s t
+                USING fragmented f
+                WHERE t.id = f.id
+                RETURNING t.room_id, f.grp, t.date_range, f.value
+            ), merged AS (
+                INSERT INTO %1$s (room_id, date_range, %2$s)
+                SELECT room_id, range_merge(range_agg(date_range)), value
+                FROM removed
+                GROUP BY room_id, grp, value
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM removed) - (SELECT count(*) FROM merged)
+            """;
+
+    private static final String LOCK_PRICING_ROWS_SQL = LOCK_ROWS_SQL.formatted("pricing");
+    private static final String LOCK_AVAILABILITY_ROWS_SQL = LOCK_ROWS_SQL.formatted("availability");
+    private static final String COMPACT_PRICING_SQL = COMPACT_SQL.formatted("pricing", "price_per_night");
+    private static final String COMPACT_AVAILABILITY_SQL = COMPACT_SQL.formatted("availability", "is_available");
+
+    @Bean
+    public Job calendarCompactionJob(JobRepository jobRepository, Step calendarCompactionStep) {
+        return new JobBuilder("calendarCompactionJob", jobRepository)
+                .start(calendarCompactionStep)
+                .build();
+    }
+
+    @Bean
+    public Step calendarCompactionStep(
+            JobRepository jobRepository,
+            PlatformTransactionManager transactionManager,
+            ItemReader<Long> calendarRoomIdItemReader,
+            ItemWriter<Long> calendarCompactionItemWriter
+    ) {
+        return new StepBuilder("calendarCompactionStep", jobRepository)
+                .<Long, Long>chunk(CHUNK_SIZE, transactionManager)
+                .reader(calendarRoomIdItemReader)
+                .writer(calendarCompactionItemWriter)
+                .listener(new StepExecutionListener() {
+                    @Override
+                    public ExitStatus afterStep(StepExecution stepExecution) {
+                        ExecutionContext context = stepExecution.getExecutionContext();
+                        log.info("Calendar compaction removed {} pricing rows, {} availability rows ({} rooms, {} skipped as locked)",
+                                context.getLong(PRICING_ROWS_REMOVED, 0),
+                                context.getLong(AVAILABILITY_ROWS_REMOVED, 0),
+                                stepExecution.getReadCount(),
+                                context.getLong(ROOMS_SKIPPED, 0));
+                        return stepExecution.getExitStatus();
+                    }
+                })
+                .build();
+    }
+
+    @Bean
+    public JdbcPagingItemReader<Long> calendarRoomIdItemReader(DataSource dataSource) {
+        return new JdbcPagingItemReaderBuilder<Long>()
+                .name("calendarRoomIdItemReader")
+                .dataSource(dataSource)
+                .selectClause("SELECT id")
+                .fromClause("FROM room")
+                .whereClause("is_deleted = false")
+                .sortKeys(Map.of("id", Order.ASCENDING))
+                .rowMapper((rs, rowNum) -> rs.getLong("id"))
+                .pageSize(CHUNK_SIZE)
+                .build();
+    }
+
+    /**
+     * chunk 의 숙소들 중 잠글 수 있는 숙소를 테이블별 잠금, 압축 쿼리 한 번씩으로 압축하고,
+     * 줄어든 행 수와 건너뛴 숙소 수를 step ExecutionContext 에 누적
+     */
+    @Bean
+    @StepScope
+    public ItemWriter<Long> calendarCompactionItemWriter(
+            DataSource dataSource,
+            @Value("#{stepExecution}") StepExecution stepExecution
+    ) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        ExecutionContext context = stepExecution.getExecutionContext();
+
+        return chunk -> {
+            Long[] roomIds = jdbcTemplate.queryForList(TRY_LOCK_ROOMS_SQL, Long.class,
+                            chunk.getItems().toArray(Long[]::new), AvailabilityRepositoryCustom.ROOM_CALENDAR_LOCK_NAMESPACE)
+                    .toArray(Long[]::new);
+            long pricingRowsRemoved = compact(jdbcTemplate, LOCK_PRICING_ROWS_SQL, COMPACT_PRICING_SQL, roomIds);
+            long availabilityRowsRemoved = compact(jdbcTemplate, LOCK_AVAILABILITY_ROWS_SQL, COMPACT_AVAILABILITY_SQL, roomIds);
+
+            context.putLong(PRICING_ROWS_REMOVED, context.getLong(PRICING_ROWS_REMOVED, 0) + pricingRowsRemoved);
+            context.putLong(AVAILABILITY_ROWS_REMOVED, context.getLong(AVAILABILITY_ROWS_REMOVED, 0) + availabilityRowsRemoved);
+            context.putLong(ROOMS_SKIPPED, context.getLong(ROOMS_SKIPPED, 0) + chunk.size() - roomIds.length);
+        };
+    }
+
+    private static long compact(JdbcTemplate jdbcTemplate, String lockRowsSql, String compactSql, Long[] roomIds) {
+        if (roomIds.length == 0) {
+            return 0;
+        }
+        List<Long> lockedIds = jdbcTemplate.queryForList(lockRowsSql, Long.class, (Object) roomIds);
+        if (lockedIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.queryForObject(compactSql, Long.class, (Object) lockedIds.toArray(Long[]::new));
+    }
+}
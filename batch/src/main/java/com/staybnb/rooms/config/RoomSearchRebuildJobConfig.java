@@ -0,0 +1,93 @@
+package com.staybnb.rooms.config;
+
+import com.staybnb.rooms.repository.RoomSearchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * room_search 전체 재빌드.
+ * 이벤트 없이 바뀐 숙소(batch, 직접 수정한 데이터)와 날짜가 지나 실제보다 이른 값이 된 next_available_date 를 맞춘다.
+ * 숙소 id 순으로 chunk 단위 upsert 하므로 재빌드 중에도 room_search 로 검색할 수 있다.
+ */
+@Slf4j
+@Configuration
+public class RoomSearchRebuildJobConfig {
+
+    private static final int CHUNK_SIZE = 1_000;
+
+    @Bean
+    public Job roomSearchRebuildJob(JobRepository jobRepository, Step roomSearchRefreshStep, Step roomSearchCleanupStep) {
+        return new JobBuilder("roomSearchRebuildJob", jobRepository)
+                .start(roomSearchRefreshStep)
+                .next(roomSearchCleanupStep)
+                .build();
+    }
+
+    @Bean
+    public Step roomSearchRefreshStep(
+            JobRepository jobRepository,
+            PlatformTransactionManager transactionManager,
+            ItemReader<Long> roomIdItemReader,
+            ItemWriter<Long> roomSearchItemWriter
+    ) {
+        return new StepBuilder("roomSearchRefreshStep", jobRepository)
+                .<Long, Long>chunk(CHUNK_SIZE, transactionManager)
+                .reader(roomIdItemReader)
+                .writer(roomSearchItemWriter)
+                .build();
+    }
+
+    /**
+     * 삭제된 숙소의 행 정리 (refresh 는 읽은 숙소의 행만 다루므로, 재빌드 중 삭제된 숙소 등 남은 행을 마지막에 삭제)
+     */
+    @Bean
+    public Step roomSearchCleanupStep(
+            JobRepository jobRepository,
+            PlatformTransactionManager transactionManager,
+            RoomSearchRepository roomSearchRepository
+    ) {
+        return new StepBuilder("roomSearchCleanupStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    int deleted = roomSearchRepository.deleteOrphans();
+                    contribution.incrementWriteCount(deleted);
+                    log.info("Deleted {} orphan room_search rows", deleted);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public JdbcPagingItemReader<Long> roomIdItemReader(DataSource dataSource) {
+        return new JdbcPagingItemReaderBuilder<Long>()
+                .name("roomIdItemReader")
+                .dataSource(dataSource)
+                .selectClause("SELECT id")
+                .fromClause("FROM room")
+                .whereClause("is_deleted = false")
+                .sortKeys(Map.of("id", Order.ASCENDING))
+                .rowMapper((rs, rowNum) -> rs.getLong("id"))
+                .pageSize(CHUNK_SIZE)
+                .build();
+    }
+
+    @Bean
+    public ItemWriter<Long> roomSearchItemWriter(RoomSearchRepository roomSearchRepository) {
+        return chunk -> roomSearchRepository.refresh(chunk.getItems().toArray(Long[]::new));
+    }
+}
@@ -0,0 +1,34 @@
+package com.staybnb.rooms.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CalendarCompactionService {
+
+    private final JobLauncher jobLauncher;
+    private final Job calendarCompactionJob;
+
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void compactCalendar() {
+        try {
+            JobParameters params = new JobParametersBuilder()
+                    .addLocalDate("date", LocalDate.now())
+                    .toJobParameters();
+
+            jobLauncher.run(calendarCompactionJob, params);
+        } catch (Exception e) {
+            log.error("Exception 발생: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.staybnb.rooms.config;
+
+import com.staybnb.AbstractBatchTest;
+import com.staybnb.rooms.repository.custom.AvailabilityRepositoryCustom;
+import jakarta.annotation.PostConstruct;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.*;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalendarCompactionJobConfigTest extends AbstractBatchTest {
+
+    @Autowired
+    private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    private Job calendarCompactionJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    public void configureJobLauncherTestUtils() {
+        jobLauncherTestUtils.setJob(calendarCompactionJob);
+    }
+
+    @Test
+    void calendarCompactionJobTest() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO pricing (room_id, date_range, price_per_night) VALUES
+                    (1, '[2030-01-01,2030-01-03)', 100),
+                    (1, '[2030-01-03,2030-01-05)', 100),
+                    (1, '[2030-01-05,2030-01-06)', 100),
+                    (1, '[2030-01-06,2030-01-08)', 200),
+                    (1, '[2030-01-09,2030-01-10)', 200)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO availability (room_id, date_range, is_available) VALUES
+                    (2, '[2030-01-01,2030-01-03)', true),
+                    (2, '[2030-01-03,2030-01-05)', true),
+                    (2, '[2030-01-05,2030-01-06)', false)
+                """);
+
+        JobParameters params = jobLauncherTestUtils.getUniqueJobParametersBuilder()
+                .addLocalDate("date", LocalDate.now())
+                .toJobParameters();
+
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(params);
+
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getExitStatus()).isEqualTo(ExitStatus.COMPLETED);
+
+        List<String> pricings = jdbcTemplate.queryForList("""
+                SELECT date_range || ':' || price_per_night FROM pricing
+                WHERE room_id = 1 AND date_range && '[2030-01-01,2031-01-01)'
+                ORDER BY date_range
+                """, String.class);
+        assertThat(pricings).containsExactly("[2030-01-01,2030-01-06):100", "[2030-01-06,2030-01-08):200", "[2030-01-09,2030-01-10):200");
+
+        List<String> availabilities = jdbcTemplate.queryForList("""
+                SELECT date_range || ':' || is_available FROM availability
+                WHERE room_id = 2 AND date_range && '[2030-01-01,2031-01-01)'
+                ORDER BY date_range
+                """, String.class);
+        assertThat(availabilities).containsExactly("[2030-01-01,2030-01-05):true", "[2030-01-05,2030-01-06):false");
+
+        StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+        assertThat(stepExecution.getExecutionContext().getLong(CalendarCompactionJobConfig.PRICING_ROWS_REMOVED)).isGreaterThanOrEqualTo(2L);
+        assertThat(stepExecution.getExecutionContext().getLong(CalendarCompactionJobConfig.AVAILABILITY_ROWS_REMOVED)).isGreaterThanOrEqualTo(1L);
+    }
+
+    @Test
+    void calendarCompactionJobTest_SkipsRoomLockedByBooking() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO availability (room_id, date_range, is_available) VALUES
+                    (3, '[2031-01-01,2031-01-03)', true),
+                    (3, '[2031-01-03,2031-01-05)', true),
+                    (3, '[2031-01-05,2031-01-07)', true)
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO pricing (room_id, date_range, price_per_night) VALUES
+                    (3, '[2031-01-01,2031-01-03)', 100),
+                    (3, '[2031-01-03,2031-01-05)', 100)
+                """);
+
+        try (Connection connection = dataSource.getConnection()) {
+            // ADVISORY 모드 예약: 숙소 잠금 후 잠금 없이 읽은 행을 id 로 삭제하고 다시 저장
+            connection.setAutoCommit(false);
+            JdbcTemplate booking = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            booking.queryForList("SELECT pg_advisory_xact_lock(?, 3)", AvailabilityRepositoryCustom.ROOM_CALENDAR_LOCK_NAMESPACE);
+            List<Long> conflictedIds = booking.queryForList(
+                    "SELECT id FROM availability WHERE room_id = 3 AND date_range && '[2031-01-01,2031-01-07)'", Long.class);
+
+            JobExecution jobExecution = launchJob();
+
+            assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+            StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+            assertThat(stepExecution.getExecutionContext().getLong(CalendarCompactionJobConfig.ROOMS_SKIPPED)).isGreaterThanOrEqualTo(1L);
+            assertThat(availabilities(3, "[2031-01-01,2032-01-01)"))
+                    .containsExactly("[2031-01-01,2031-01-03):true", "[2031-01-03,2031-01-05):true", "[2031-01-05,2031-01-07):true");
+
+            int deleted = booking.update("DELETE FROM availability WHERE id = ANY(?::bigint[])", (Object) conflictedIds.toArray(Long[]::new));
+            booking.update("""
+                    INSERT INTO availability (room_id, date_range, is_available) VALUES
+                        (3, '[2031-01-01,2031-01-03)', true),
+                        (3, '[2031-01-03,2031-01-05)', false),
+                        (3, '[2031-01-05,2031-01-07)', true)
+                    """);
+            connection.commit();
+            assertThat(deleted).isEqualTo(3);
+        }
+
+        // 예약이 끝난 뒤 실행하면 압축
+        assertThat(launchJob().getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(availabilities(3, "[2031-01-01,2032-01-01)"))
+                .containsExactly("[2031-01-01,2031-01-03):true", "[2031-01-03,2031-01-05):false", "[2031-01-05,2031-01-07):true");
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT date_range || ':' || price_per_night FROM pricing
+                WHERE room_id = 3 AND date_range && '[2031-01-01,2032-01-01)'
+                ORDER BY date_range
+                """, String.class)).containsExactly("[2031-01-01,2031-01-05):100");
+    }
+
+    @Test
+    void calendarCompactionJobTest_SkipsRowsLockedByBooking() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO availability (room_id, date_range, is_available) VALUES
+                    (3, '[2032-01-01,2032-01-03)', true),
+                    (3, '[2032-01-03,2032-01-05)', true),
+                    (3, '[2032-01-05,2032-01-07)', true),
+                    (3, '[2032-01-07,2032-01-09)', true)
+                """);
+
+        try (Connection connection = dataSource.getConnection()) {
+            // ROW 모드 예약: 예약 기간의 availability 행을 잠근 뒤 삭제하고 다시 저장
+            connection.setAutoCommit(false);
+            JdbcTemplate booking = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            List<Long> lockedIds = booking.queryForList("""
+                    SELECT id FROM availability
+                    WHERE room_id = 3 AND date_range && '[2032-01-05,2032-01-07)'
+                    ORDER BY date_range
+                    FOR UPDATE
+                    """, Long.class);
+
+            JobExecution jobExecution = launchJob();
+
+            // 잠긴 행은 그대로 두고, 잠긴 행을 사이에 두지 않은 구간만 합친다
+            assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+            assertThat(availabilities(3, "[2032-01-01,2033-01-01)"))
+                    .containsExactly("[2032-01-01,2032-01-05):true", "[2032-01-05,2032-01-07):true", "[2032-01-07,2032-01-09):true");
+
+            int deleted = booking.update("DELETE FROM availability WHERE id = ANY(?::bigint[])", (Object) lockedIds.toArray(Long[]::new));
+            booking.update("INSERT INTO availability (room_id, date_range, is_available) VALUES (3, '[2032-01-05,2032-01-07)', false)");
+            connection.commit();
+            assertThat(deleted).isEqualTo(1);
+        }
+
+        assertThat(availabilities(3, "[2032-01-01,2033-01-01)"))
+                .containsExactly("[2032-01-01,2032-01-05):true", "[2032-01-05,2032-01-07):false", "[2032-01-07,2032-01-09):true");
+    }
+
+    private JobExecution launchJob() throws Exception {
+        JobParameters params = jobLauncherTestUtils.getUniqueJobParametersBuilder()
+                .addLocalDate("date", LocalDate.now())
+                .toJobParameters();
+        return jobLauncherTestUtils.launchJob(params);
+    }
+
+    private List<String> availabilities(long roomId, String dateRange) {
+        return jdbcTemplate.queryForList("""
+                SELECT date_range || ':' || is_available FROM availability
+                WHERE room_id = ? AND date_range && CAST(? AS daterange)
+                ORDER BY date_range
+                """, String.class, roomId, dateRange);
+    }
+}
@@ -0,0 +1,55 @@
+package com.staybnb.rooms.config;
+
+import com.staybnb.AbstractBatchTest;
+import com.staybnb.rooms.repository.RoomSearchRepository;
+import jakarta.annotation.PostConstruct;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.*;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomSearchRebuildJobConfigTest extends AbstractBatchTest {
+
+    @Autowired
+    private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    private Job roomSearchRebuildJob;
+
+    @Autowired
+    private RoomSearchRepository roomSearchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void configureJobLauncherTestUtils() {
+        jobLauncherTestUtils.setJob(roomSearchRebuildJob);
+    }
+
+    @Test
+    void roomSearchRebuildJobTest() throws Exception {
+        jdbcTemplate.update("DELETE FROM room_search WHERE room_id = 1");
+        jdbcTemplate.update("UPDATE room_search SET max_number_of_guests = 99 WHERE room_id = 2");
+
+        JobParameters params = jobLauncherTestUtils.getUniqueJobParametersBuilder()
+                .addLocalDate("date", LocalDate.now())
+                .toJobParameters();
+
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(params);
+
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getExitStatus()).isEqualTo(ExitStatus.COMPLETED);
+
+        StepExecution refreshStep = jobExecution.getStepExecutions().iterator().next();
+        assertThat(refreshStep.getWriteCount()).isEqualTo(3L);
+
+        assertThat(roomSearchRepository.count()).isEqualTo(3L);
+        assertThat(roomSearchRepository.findById(2L).orElseThrow().getMaxNumberOfGuests()).isEqualTo(2);
+    }
+}
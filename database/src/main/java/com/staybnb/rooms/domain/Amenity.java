@@ -4,6 +4,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import lombok.*;
 
+import java.util.Collection;
+
 @Entity
 @Getter
 @AllArgsConstructor
@@ -14,4 +16,24 @@ public class Amenity {
     private Integer id;
 
     private String name;
+
+    /**
+     * room.amenity_bits 에서 이 amenity 를 나타내는 비트 (id 1 ~ 64 만 표현 가능)
+     */
+    public long bit() {
+        if (id < 1 || id > Long.SIZE) {
+            throw new IllegalStateException("amenity id 는 1 ~ 64 범위만 비트마스크로 표현할 수 있습니다: " + id);
+        }
+        return 1L << (id - 1);
+    }
+
+    public static long bitsOf(Collection<Amenity> amenities) {
+        long bits = 0L;
+        if (amenities != null) {
+            for (Amenity amenity : amenities) {
+                bits |= amenity.bit();
+            }
+        }
+        return bits;
+    }
 }
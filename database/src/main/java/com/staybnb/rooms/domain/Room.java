@@ -5,6 +5,7 @@ import com.staybnb.rooms.domain.vo.*;
 import com.staybnb.users.domain.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
@@ -48,7 +49,9 @@ public class Room {
     @Column(nullable = false)
     private Integer beds;
 
+    // fetch join 없이 조회한 여러 숙소의 amenities 는 IN 쿼리 한 번으로 함께 초기화 (검색 결과 스트리밍)
     @ManyToMany
+    @BatchSize(size = 500)
     @JoinTable(
             name = "room_amenity",
             joinColumns = @JoinColumn(name = "room_id"),
@@ -56,6 +59,10 @@ public class Room {
     )
     private Set<Amenity> amenities;
 
+    // amenities 의 비트마스크 (검색 조건용, amenities 변경 시 함께 갱신)
+    @Column(nullable = false)
+    private long amenityBits;
+
     @Column(length = 100, nullable = false)
     private String title;
 
@@ -80,4 +87,8 @@ public class Room {
 
     @Column(nullable = false, length = 50)
     private String timeZoneId;
+
+    // 위치 검색용 generated column (DB 에서 address 값으로 자동 갱신)
+    @Column(insertable = false, updatable = false)
+    private String locationSearch;
 }
@@ -0,0 +1,49 @@
+package com.staybnb.rooms.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 숙소 검색 read model (room_search 테이블, 삭제되지 않은 숙소당 한 행).
+ * 행 내용은 room_search_source 뷰로 정의되며, RoomSearchRepository 의 네이티브 쿼리로만 갱신한다.
+ */
+@Entity
+@Getter
+@Immutable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RoomSearch {
+
+    @Id
+    private Long roomId;
+
+    @Column(nullable = false)
+    private Integer placeTypeId;
+
+    @Column(nullable = false)
+    private Integer maxNumberOfGuests;
+
+    @Column(nullable = false)
+    private Double basePriceInUsd;
+
+    @Column(nullable = false)
+    private long amenityBits;
+
+    @Column(nullable = false)
+    private String locationSearch;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private LocalDate nextAvailableDate;
+
+    private LocalDateTime updatedAt;
+}
@@ -2,6 +2,8 @@ package com.staybnb.rooms.domain.embedded;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
@@ -29,4 +31,20 @@ public class Address {
 
     @Column(length = 100)
     String flat;
+
+    // 지도 검색용 좌표 (WGS84), 좌표가 없는 숙소는 지도 검색에서 제외
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    Double latitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    Double longitude;
+
+    /**
+     * room.location_search generated column 과 같은 값 (DB 를 거치지 않고 위치 검색 조건을 판단할 때 사용)
+     */
+    public String toLocationSearch() {
+        return String.join(" ", country, province == null ? "" : province, city, street).toLowerCase();
+    }
 }
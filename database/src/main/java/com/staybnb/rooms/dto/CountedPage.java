@@ -0,0 +1,32 @@
+package com.staybnb.rooms.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 전체 개수(totalElements)를 어떤 방식으로 구했는지 함께 전달하는 Page
+ */
+@Getter
+public class CountedPage<T> extends PageImpl<T> {
+
+    public enum CountStrategy {
+        EXACT,  // count 쿼리 실행
+        PAGE,   // 마지막 페이지 조회 결과로 계산 (count 쿼리 생략)
+        CACHED  // 같은 검색 조건의 최근 count 결과 재사용 (TTL 동안 실제 개수와 다를 수 있음)
+    }
+
+    private final CountStrategy countStrategy;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, CountStrategy countStrategy) {
+        super(content, pageable, total);
+        this.countStrategy = countStrategy;
+    }
+
+    public static CountStrategy countStrategyOf(Page<?> page) {
+        return page instanceof CountedPage<?> countedPage ? countedPage.getCountStrategy() : CountStrategy.EXACT;
+    }
+}
@@ -0,0 +1,18 @@
+package com.staybnb.rooms.dto;
+
+/**
+ * 숙소 기본 가격과 기간과 겹치는 pricing 구간 하나 (구간은 기간 시작일로부터의 일수, [fromDay, toDay)).
+ * 기간과 겹치는 pricing 이 없는 숙소는 구간 컬럼이 null 인 행 하나로 조회된다.
+ */
+public interface RoomPricingRange {
+
+    Long getRoomId();
+
+    Integer getBasePrice();
+
+    Integer getFromDay();
+
+    Integer getToDay();
+
+    Integer getPricePerNight();
+}
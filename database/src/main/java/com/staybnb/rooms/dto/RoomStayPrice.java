@@ -0,0 +1,13 @@
+package com.staybnb.rooms.dto;
+
+/**
+ * 숙소별 숙박 기간 총 가격 (숙소 통화 기준)
+ */
+public interface RoomStayPrice {
+
+    Long getRoomId();
+
+    String getCurrency();
+
+    Long getTotalPrice();
+}
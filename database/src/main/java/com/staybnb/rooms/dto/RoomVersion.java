@@ -0,0 +1,18 @@
+package com.staybnb.rooms.dto;
+
+/**
+ * 숙소 상세, 캘린더 버전과 마지막 변경 시각 (epoch millis).
+ * 캘린더 가격의 환율 계산에 필요한 숙소 통화를 함께 담는다.
+ */
+public interface RoomVersion {
+
+    String getCurrency();
+
+    Long getDetailVersion();
+
+    Long getDetailUpdatedAt();
+
+    Long getCalendarVersion();
+
+    Long getCalendarUpdatedAt();
+}
@@ -3,11 +3,14 @@ package com.staybnb.rooms.dto;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @ToString
 public class SearchRoomCondition {
 
@@ -19,4 +22,45 @@ public class SearchRoomCondition {
     private Integer priceFrom;
     private Integer priceTo;
 
+    // currency 기준 priceFrom, priceTo 를 USD 로 환산한 값 (room.base_price_in_usd 와 비교)
+    private Double priceFromInUsd;
+    private Double priceToInUsd;
+
+    // 모두 갖춰야 하는 amenity 의 비트마스크 (room.amenity_bits 와 비교)
+    private Long amenityBits;
+    private Integer placeTypeId;
+
+    // 지도 검색: 중심 좌표(+ 반경) 또는 남서/북동 모서리로 지정한 영역
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+    private Double swLatitude;
+    private Double swLongitude;
+    private Double neLatitude;
+    private Double neLongitude;
+
+    /**
+     * 검색 결과 캐시 키. 통화별 가격 대신 USD 환산 가격, 소문자 위치 검색어처럼 실제 검색 조건에 쓰이는 값만 사용
+     */
+    public String cacheKey() {
+        return Stream.of(
+                        numberOfGuests,
+                        startDate,
+                        endDate,
+                        StringUtils.hasText(location) ? location.toLowerCase() : null,
+                        priceFromInUsd,
+                        priceToInUsd,
+                        amenityBits,
+                        placeTypeId,
+                        latitude,
+                        longitude,
+                        radiusKm,
+                        swLatitude,
+                        swLongitude,
+                        neLatitude,
+                        neLongitude)
+                .map(value -> value == null ? "" : value.toString())
+                .collect(Collectors.joining("|"));
+    }
+
 }
@@ -62,20 +62,59 @@ public interface AvailabilityRepository extends JpaRepository<Availability, Long
     );
 
     /**
-     * is_available이 true 이고,
-     * room_id가 같고,
-     * date_range가 [startDateInclusive, endDateExclusive) 구간과 겹치는 availability 를
-     * Row-level 락을 가지고 조회
+     * 여러 숙소의 is_available이 true 인 availability 중 [startDate, endDate) 와 겹치는 데이터를 한 번에 조회 (숙소별로 묶어서 계산)
      */
     @NativeQuery(value = """
             SELECT * FROM availability
             WHERE is_available = true
-                AND room_id = :roomId
+                AND room_id = ANY(:roomIds)
                 AND date_range && daterange(:startDate, :endDate, '[)')
-            ORDER BY date_range
-            FOR UPDATE
+            ORDER BY room_id, date_range
+            """)
+    List<Availability> findTrueAvailabilitiesByRoomIdsAndDate(
+            @Param("roomIds") Long[] roomIds,
+            @Param("startDate") LocalDate startDateInclusive,
+            @Param("endDate") LocalDate endDateExclusive
+    );
+
+    /**
+     * roomIds 중 is_available이 true 인 availability 가
+     * [startDateInclusive, endDateExclusive) 구간 전체를 빈틈없이 덮는 숙소 id 조회.
+     * 숙소별로 겹치는 행을 range_agg 로 합쳐서 DB 에서 비교하므로 숙소 수와 관계없이 한 번에 조회한다.
+     */
+    @NativeQuery(value = """
+            SELECT room_id FROM availability
+            WHERE is_available = true
+                AND room_id = ANY(:roomIds)
+                AND date_range && daterange(:startDate, :endDate, '[)')
+            GROUP BY room_id
+            HAVING range_agg(date_range) @> daterange(:startDate, :endDate, '[)')
+            """)
+    List<Long> findAvailableRoomIds(
+            @Param("roomIds") Long[] roomIds,
+            @Param("startDate") LocalDate startDateInclusive,
+            @Param("endDate") LocalDate endDateExclusive
+    );
+
+    /**
+     * is_available이 true 인 availability 가 [startDateInclusive, endDateExclusive) 구간 전체를 빈틈없이 덮는지 여부.
+     * 비교에 쓰는 availability 행(is_available이 true 이고 구간과 겹치는 행)에만 Row-level 락을 건다.
+     * 집계와 FOR UPDATE 를 같이 쓸 수 없으므로 CTE 에서 락을 건 뒤 집계한다.
+     * 동시에 예약하는 트랜잭션끼리 교착 상태에 빠지지 않도록 항상 date_range 순서로 락을 건다.
+     */
+    @NativeQuery(value = """
+            WITH locked AS (
+                SELECT date_range FROM availability
+                WHERE is_available = true
+                    AND room_id = :roomId
+                    AND date_range && daterange(:startDate, :endDate, '[)')
+                ORDER BY date_range
+                FOR UPDATE
+            )
+            SELECT coalesce(range_agg(date_range) @> daterange(:startDate, :endDate, '[)'), false)
+            FROM locked
             """)
-    List<Availability> findTrueAvailabilitiesByDateForUpdate(
+    boolean isCoveredByTrueAvailabilitiesForUpdate(
             @Param("roomId") Long roomId,
             @Param("startDate") LocalDate startDateInclusive,
             @Param("endDate") LocalDate endDateExclusive
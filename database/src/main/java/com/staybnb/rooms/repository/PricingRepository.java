@@ -1,6 +1,9 @@
 package com.staybnb.rooms.repository;
 
 import com.staybnb.rooms.domain.Pricing;
+import com.staybnb.rooms.dto.RoomPricingRange;
+import com.staybnb.rooms.dto.RoomStayPrice;
+import com.staybnb.rooms.repository.custom.PricingRepositoryCustom;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.repository.query.Param;
@@ -8,7 +11,7 @@ import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java.util.List;
 
-public interface PricingRepository extends JpaRepository<Pricing, Long> {
+public interface PricingRepository extends JpaRepository<Pricing, Long>, PricingRepositoryCustom {
 
     @NativeQuery(value = """
             SELECT * FROM pricing
@@ -21,6 +24,42 @@ public interface PricingRepository extends JpaRepository<Pricing, Long> {
             @Param("endDate") LocalDate endDateExclusive
     );
 
+    /**
+     * 여러 숙소의 pricing 중 [startDate, endDate) 와 겹치는 데이터를 한 번에 조회 (숙소별로 묶어서 계산)
+     */
+    @NativeQuery(value = """
+            SELECT * FROM pricing
+            WHERE room_id = ANY(:roomIds)
+                AND date_range && daterange(:startDate, :endDate, '[)')
+            ORDER BY room_id, date_range
+            """)
+    List<Pricing> findPricingsByRoomIdsAndDate(
+            @Param("roomIds") Long[] roomIds,
+            @Param("startDate") LocalDate startDateInclusive,
+            @Param("endDate") LocalDate endDateExclusive
+    );
+
+    /**
+     * 여러 숙소의 기본 가격과 [startDate, endDate) 와 겹치는 pricing 구간을 한 번에 조회 (기본 가격도 함께 읽어 조회 시점 기준으로 계산)
+     */
+    @NativeQuery(value = """
+            SELECT r.id AS roomId,
+                r.base_price AS basePrice,
+                lower(p.date_range) - CAST(:startDate AS date) AS fromDay,
+                upper(p.date_range) - CAST(:startDate AS date) AS toDay,
+                p.price_per_night AS pricePerNight
+            FROM room r
+                LEFT JOIN pricing p ON p.room_id = r.id
+                    AND p.date_range && daterange(:startDate, :endDate, '[)')
+            WHERE r.id = ANY(:roomIds)
+            ORDER BY r.id, p.date_range
+            """)
+    List<RoomPricingRange> findPricingRangesByRoomIdsAndDate(
+            @Param("roomIds") Long[] roomIds,
+            @Param("startDate") LocalDate startDateInclusive,
+            @Param("endDate") LocalDate endDateExclusive
+    );
+
     @NativeQuery(value = """
             SELECT * FROM pricing
             WHERE room_id = :roomId
@@ -32,4 +71,27 @@ public interface PricingRepository extends JpaRepository<Pricing, Long> {
             @Param("startDate") LocalDate startDateInclusive,
             @Param("endDate") LocalDate endDateExclusive
     );
+
+    /**
+     * roomIds 숙소들의 [startDate, endDate) 숙박 총 가격을 쿼리 한 번으로 계산.
+     * 기본 가격 * 숙박 일수에, 기간과 겹치는 pricing 구간마다 (1박 가격 - 기본 가격) * 겹치는 일수를 더한다.
+     */
+    @NativeQuery(value = """
+            SELECT r.id AS roomId,
+                r.currency AS currency,
+                r.base_price * (CAST(:endDate AS date) - CAST(:startDate AS date))
+                    + COALESCE(SUM((p.price_per_night - r.base_price)
+                        * (upper(p.date_range * daterange(:startDate, :endDate, '[)'))
+                            - lower(p.date_range * daterange(:startDate, :endDate, '[)')))), 0) AS totalPrice
+            FROM room r
+                LEFT JOIN pricing p ON p.room_id = r.id
+                    AND p.date_range && daterange(:startDate, :endDate, '[)')
+            WHERE r.id = ANY(:roomIds)
+            GROUP BY r.id
+            """)
+    List<RoomStayPrice> findStayPrices(
+            @Param("roomIds") Long[] roomIds,
+            @Param("startDate") LocalDate startDateInclusive,
+            @Param("endDate") LocalDate endDateExclusive
+    );
 }
@@ -1,10 +1,14 @@
 package com.staybnb.rooms.repository;
 
 import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.dto.RoomVersion;
 import com.staybnb.rooms.repository.custom.RoomRepositoryCustom;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -13,4 +17,67 @@ public interface RoomRepository extends JpaRepository<Room, Long>, RoomRepositor
     @EntityGraph(attributePaths = {"placeType", "amenities"})
     @Query("SELECT r FROM Room r WHERE r.id = :roomId")
     Optional<Room> findByIdFetchJoin(long roomId);
+
+    /**
+     * 숙소 가격 버전 조회 (Room 엔티티에 매핑하지 않은 컬럼이므로 엔티티 저장 시 덮어쓰지 않는다)
+     */
+    @NativeQuery("SELECT pricing_version FROM room WHERE id = :roomId")
+    Optional<Long> findPricingVersionById(long roomId);
+
+    /**
+     * 숙소 변경 시 가격, 상세, 캘린더 버전 모두 1 증가. 호출한 트랜잭션이 끝날 때까지 room 행 잠금을 유지한다.
+     */
+    @Modifying
+    @Transactional
+    @NativeQuery("""
+            UPDATE room SET
+                pricing_version = pricing_version + 1,
+                detail_version = detail_version + 1,
+                detail_updated_at = now(),
+                calendar_version = calendar_version + 1,
+                calendar_updated_at = now()
+            WHERE id = :roomId
+            """)
+    int increaseAllVersions(long roomId);
+
+    /**
+     * pricing 변경 시 가격, 캘린더 버전 1 증가
+     */
+    @Modifying
+    @Transactional
+    @NativeQuery("""
+            UPDATE room SET
+                pricing_version = pricing_version + 1,
+                calendar_version = calendar_version + 1,
+                calendar_updated_at = now()
+            WHERE id = :roomId
+            """)
+    int increasePricingVersion(long roomId);
+
+    /**
+     * availability 변경 시 캘린더 버전 1 증가
+     */
+    @Modifying
+    @Transactional
+    @NativeQuery("""
+            UPDATE room SET
+                calendar_version = calendar_version + 1,
+                calendar_updated_at = now()
+            WHERE id = :roomId
+            """)
+    int increaseCalendarVersion(long roomId);
+
+    /**
+     * 삭제되지 않은 숙소의 상세, 캘린더 버전과 변경 시각(epoch millis), 통화 조회
+     */
+    @NativeQuery("""
+            SELECT currency AS "currency",
+                   detail_version AS "detailVersion",
+                   (extract(epoch FROM detail_updated_at::timestamptz) * 1000)::bigint AS "detailUpdatedAt",
+                   calendar_version AS "calendarVersion",
+                   (extract(epoch FROM calendar_updated_at::timestamptz) * 1000)::bigint AS "calendarUpdatedAt"
+            FROM room
+            WHERE id = :roomId AND is_deleted = false
+            """)
+    Optional<RoomVersion> findVersionById(long roomId);
 }
@@ -0,0 +1,54 @@
+package com.staybnb.rooms.repository;
+
+import com.staybnb.rooms.domain.RoomSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RoomSearchRepository extends JpaRepository<RoomSearch, Long> {
+
+    /**
+     * roomIds 숙소의 room_search 행을 room_search_source 기준으로 다시 계산.
+     * 삭제된(또는 없는) 숙소의 행은 지우고, 나머지는 upsert 한다.
+     * 네이티브 쿼리 실행 전에 영속성 컨텍스트가 flush 되므로 같은 트랜잭션의 변경 내용이 반영된다.
+     */
+    @Modifying
+    @Transactional
+    @NativeQuery(value = """
+            WITH source AS (
+                SELECT * FROM room_search_source WHERE room_id = ANY(:roomIds)
+            ), removed AS (
+                DELETE FROM room_search
+                WHERE room_id = ANY(:roomIds)
+                    AND room_id NOT IN (SELECT room_id FROM source)
+            )
+            INSERT INTO room_search
+            SELECT * FROM source
+            ON CONFLICT (room_id) DO UPDATE SET
+                place_type_id = EXCLUDED.place_type_id,
+                max_number_of_guests = EXCLUDED.max_number_of_guests,
+                base_price_in_usd = EXCLUDED.base_price_in_usd,
+                amenity_bits = EXCLUDED.amenity_bits,
+                location_search = EXCLUDED.location_search,
+                latitude = EXCLUDED.latitude,
+                longitude = EXCLUDED.longitude,
+                next_available_date = EXCLUDED.next_available_date,
+                updated_at = EXCLUDED.updated_at
+            """)
+    int refresh(@Param("roomIds") Long[] roomIds);
+
+    /**
+     * 삭제된(또는 없는) 숙소의 room_search 행 삭제 (전체 재빌드 마무리 단계)
+     */
+    @Modifying
+    @Transactional
+    @NativeQuery(value = """
+            DELETE FROM room_search rs
+            WHERE NOT EXISTS (
+                SELECT 1 FROM room r WHERE r.id = rs.room_id AND r.is_deleted = false
+            )
+            """)
+    int deleteOrphans();
+}
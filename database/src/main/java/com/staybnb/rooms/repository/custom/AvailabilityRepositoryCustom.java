@@ -1,7 +1,28 @@
 package com.staybnb.rooms.repository.custom;
 
+import com.staybnb.rooms.domain.Availability;
+
 import java.util.List;
 
 public interface AvailabilityRepositoryCustom {
+
+    /**
+     * 숙소 캘린더(availability, pricing) advisory lock key 의 첫 번째 int.
+     * 두 int key (namespace, roomId) 를 써서 다른 용도의 advisory lock 과 key 가 겹치지 않게 한다. 같은 숙소를 고치는 batch 도 같은 key 를 쓴다.
+     */
+    int ROOM_CALENDAR_LOCK_NAMESPACE = 0x5242_4341;
+
     void updateRoomAvailability(long roomId, List<String> dateRanges, boolean isAvailable);
+
+    /**
+     * roomId 숙소의 oldAvailabilities 를 삭제하고 newAvailabilities 를 저장.
+     * 행 수와 관계없이 DELETE, INSERT 한 번씩 (현재 트랜잭션의 커넥션에서) 실행한다.
+     */
+    void replaceAvailabilities(long roomId, List<Availability> oldAvailabilities, List<Availability> newAvailabilities);
+
+    /**
+     * roomId 숙소의 트랜잭션 단위 advisory lock (pg_advisory_xact_lock(ROOM_CALENDAR_LOCK_NAMESPACE, roomId)) 획득.
+     * 트랜잭션이 끝나면 자동으로 풀린다. roomId 는 int 범위여야 한다.
+     */
+    void lockRoomAvailability(long roomId);
 }
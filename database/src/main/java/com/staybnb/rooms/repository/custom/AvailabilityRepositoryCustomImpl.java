@@ -1,5 +1,6 @@
 package com.staybnb.rooms.repository.custom;
 
+import com.staybnb.rooms.domain.Availability;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +17,13 @@ public class AvailabilityRepositoryCustomImpl implements AvailabilityRepositoryC
     private EntityManager entityManager;
 
     private static final String CALL_UPDATE_ROOM_AVAILABILITY = "CALL update_room_availability(?, ?, ?)";
+    private static final String LOCK_ROOM_AVAILABILITY = "SELECT pg_advisory_xact_lock(?, ?)";
+    private static final String DELETE_AVAILABILITY_BY_IDS = "DELETE FROM availability WHERE id = ANY(?)";
+    private static final String INSERT_AVAILABILITY = """
+            INSERT INTO availability (room_id, date_range, is_available)
+            SELECT ?, date_range, is_available
+            FROM unnest(?, ?) AS t(date_range, is_available)
+            """;
 
     @Override
     public void updateRoomAvailability(long roomId, List<String> dateRanges, boolean isAvailable) {
@@ -34,4 +42,48 @@ public class AvailabilityRepositoryCustomImpl implements AvailabilityRepositoryC
             }
         });
     }
+
+    /**
+     * 삭제는 id 배열, 저장은 date_range, is_available 배열을 unnest 한 INSERT ... SELECT 로 처리해서
+     * 행마다 INSERT 를 보내지 않는다 (pricing 의 IDENTITY id 처럼 Hibernate 가 batch insert 할 수 없는 경우 포함).
+     */
+    @Override
+    public void replaceAvailabilities(long roomId, List<Availability> oldAvailabilities, List<Availability> newAvailabilities) {
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            int statements = 0;
+            if (!oldAvailabilities.isEmpty()) {
+                try (PreparedStatement stmt = connection.prepareStatement(DELETE_AVAILABILITY_BY_IDS)) {
+                    stmt.setArray(1, connection.createArrayOf("bigint", oldAvailabilities.stream().map(Availability::getId).toArray()));
+                    stmt.executeUpdate();
+                    statements++;
+                }
+            }
+            if (!newAvailabilities.isEmpty()) {
+                try (PreparedStatement stmt = connection.prepareStatement(INSERT_AVAILABILITY)) {
+                    stmt.setLong(1, roomId);
+                    stmt.setArray(2, connection.createArrayOf("daterange", newAvailabilities.stream()
+                            .map(availability -> "[" + availability.getStartDate() + "," + availability.getEndDate() + ")")
+                            .toArray()));
+                    stmt.setArray(3, connection.createArrayOf("boolean", newAvailabilities.stream().map(Availability::isAvailable).toArray()));
+                    stmt.executeUpdate();
+                    statements++;
+                }
+            }
+            log.debug("Replaced availability of room {}: deleted {}, inserted {} rows in {} statements",
+                    roomId, oldAvailabilities.size(), newAvailabilities.size(), statements);
+        });
+    }
+
+    @Override
+    public void lockRoomAvailability(long roomId) {
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement(LOCK_ROOM_AVAILABILITY)) {
+                stmt.setInt(1, ROOM_CALENDAR_LOCK_NAMESPACE);
+                stmt.setInt(2, Math.toIntExact(roomId));
+                stmt.execute();
+            }
+        });
+    }
 }
@@ -0,0 +1,15 @@
+package com.staybnb.rooms.repository.custom;
+
+import com.staybnb.rooms.domain.Pricing;
+
+import java.util.List;
+
+public interface PricingRepositoryCustom {
+    void updateRoomPricing(long roomId, List<String> dateRanges, int pricePerNight);
+
+    /**
+     * roomId 숙소의 oldPricings 를 삭제하고 newPricings 를 저장.
+     * 행 수와 관계없이 DELETE, INSERT 한 번씩 (현재 트랜잭션의 커넥션에서) 실행한다.
+     */
+    void replacePricings(long roomId, List<Pricing> oldPricings, List<Pricing> newPricings);
+}
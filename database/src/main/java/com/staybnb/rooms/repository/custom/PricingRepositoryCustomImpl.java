@@ -0,0 +1,76 @@
+package com.staybnb.rooms.repository.custom;
+
+import com.staybnb.rooms.domain.Pricing;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+@Slf4j
+public class PricingRepositoryCustomImpl implements PricingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final String CALL_UPDATE_ROOM_PRICING = "CALL update_room_pricing(?, ?, ?)";
+    private static final String DELETE_PRICING_BY_IDS = "DELETE FROM pricing WHERE id = ANY(?)";
+    private static final String INSERT_PRICING = """
+            INSERT INTO pricing (room_id, date_range, price_per_night)
+            SELECT ?, date_range, price_per_night
+            FROM unnest(?, ?) AS t(date_range, price_per_night)
+            """;
+
+    @Override
+    public void updateRoomPricing(long roomId, List<String> dateRanges, int pricePerNight) {
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement(CALL_UPDATE_ROOM_PRICING)) {
+                stmt.setLong(1, roomId);
+
+                // PostgreSQL의 Array 타입으로 직접 변환
+                Array sqlArray = connection.createArrayOf("daterange",
+                        dateRanges.toArray(new String[0]));
+                stmt.setArray(2, sqlArray);
+
+                stmt.setInt(3, pricePerNight);
+                stmt.execute();
+            }
+        });
+    }
+
+    /**
+     * 삭제는 id 배열, 저장은 date_range, price_per_night 배열을 unnest 한 INSERT ... SELECT 로 처리해서
+     * 행마다 INSERT 를 보내지 않는다 (pricing 의 IDENTITY id 처럼 Hibernate 가 batch insert 할 수 없는 경우 포함).
+     */
+    @Override
+    public void replacePricings(long roomId, List<Pricing> oldPricings, List<Pricing> newPricings) {
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            int statements = 0;
+            if (!oldPricings.isEmpty()) {
+                try (PreparedStatement stmt = connection.prepareStatement(DELETE_PRICING_BY_IDS)) {
+                    stmt.setArray(1, connection.createArrayOf("bigint", oldPricings.stream().map(Pricing::getId).toArray()));
+                    stmt.executeUpdate();
+                    statements++;
+                }
+            }
+            if (!newPricings.isEmpty()) {
+                try (PreparedStatement stmt = connection.prepareStatement(INSERT_PRICING)) {
+                    stmt.setLong(1, roomId);
+                    stmt.setArray(2, connection.createArrayOf("daterange", newPricings.stream()
+                            .map(pricing -> "[" + pricing.getStartDate() + "," + pricing.getEndDate() + ")")
+                            .toArray()));
+                    stmt.setArray(3, connection.createArrayOf("integer", newPricings.stream().map(Pricing::getPricePerNight).toArray()));
+                    stmt.executeUpdate();
+                    statements++;
+                }
+            }
+            log.debug("Replaced pricing of room {}: deleted {}, inserted {} rows in {} statements",
+                    roomId, oldPricings.size(), newPricings.size(), statements);
+        });
+    }
+}
@@ -2,10 +2,28 @@ package com.staybnb.rooms.repository.custom;
 
 import com.staybnb.rooms.domain.Room;
 import com.staybnb.rooms.dto.SearchRoomCondition;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 
 public interface RoomRepositoryCustom {
     Page<Room> findAll(SearchRoomCondition cond, Pageable pageable);
+
+    Page<Room> findAllByProjection(SearchRoomCondition cond, Pageable pageable);
+
+    Window<Room> findAll(SearchRoomCondition cond, KeysetScrollPosition position, Sort sort, int limit);
+
+    List<Room> findAllInOrder(List<Long> roomIds);
+
+    List<Long> findAllIds(SearchRoomCondition cond, int limit);
+
+    void forEachChunk(SearchRoomCondition cond, int chunkSize, Consumer<List<Room>> action);
+
+    /**
+     * 검색 조건별 전체 개수 캐시에서 affected 에 해당하는 조건 제거 (숙소/availability/pricing 변경 시)
+     */
+    void evictCachedCounts(Predicate<SearchRoomCondition> affected);
 }
@@ -1,44 +1,216 @@
 package com.staybnb.rooms.repository.custom;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DatePath;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.staybnb.rooms.domain.Room;
+import com.staybnb.rooms.dto.CountedPage;
+import com.staybnb.rooms.dto.CountedPage.CountStrategy;
 import com.staybnb.rooms.dto.SearchRoomCondition;
 import jakarta.persistence.EntityManager;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.*;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.staybnb.rooms.domain.QRoom.room;
+import static com.staybnb.rooms.domain.QRoomSearch.roomSearch;
+import static com.staybnb.rooms.repository.custom.function.RoomSearchFunctionContributor.AMENITY_BITS_CONTAIN;
+import static com.staybnb.rooms.repository.custom.function.RoomSearchFunctionContributor.AVAILABILITY_COVERS;
+import static com.staybnb.rooms.repository.custom.function.RoomSearchFunctionContributor.GEO_DISTANCE_KM;
+import static com.staybnb.rooms.repository.custom.function.RoomSearchFunctionContributor.GEO_WITHIN_BOX;
+import static com.staybnb.rooms.repository.custom.function.RoomSearchFunctionContributor.LOCATION_RELEVANCE;
 
 public class RoomRepositoryCustomImpl implements RoomRepositoryCustom {
+
+    private static final double KM_PER_LATITUDE_DEGREE = 111.32;
+
+    private final EntityManager em;
     private final JPAQueryFactory query;
+    private final RoomSearchCountCacheProperties countCacheProperties;
+
+    // 검색 조건별 전체 개수 (같은 조건의 페이지 이동 시 count 쿼리 생략). 숙소/availability/pricing 변경 시 evictCachedCounts 로 무효화
+    private final Cache<String, CachedCount> countCache;
+
+    // 무효화가 일어날 때마다 증가. count 조회 시작 후 무효화가 있었다면 그 결과는 캐시하지 않는다.
+    private final AtomicLong countCacheGeneration = new AtomicLong();
 
-    RoomRepositoryCustomImpl(EntityManager em) {
+    RoomRepositoryCustomImpl(EntityManager em, RoomSearchCountCacheProperties countCacheProperties) {
+        this.em = em;
         this.query = new JPAQueryFactory(em);
+        this.countCacheProperties = countCacheProperties;
+        this.countCache = Caffeine.newBuilder()
+                .expireAfterWrite(countCacheProperties.getTtlSeconds(), TimeUnit.SECONDS)
+                .maximumSize(countCacheProperties.getMaximumSize())
+                .build();
     }
 
     @Override
     public Page<Room> findAll(SearchRoomCondition cond, Pageable pageable) {
+        return findPage(SearchColumns.ROOM, cond, pageable);
+    }
+
+    /**
+     * room 대신 room_search read model 로 검색 조건/정렬/개수를 처리한 뒤, 페이지의 숙소만 room 에서 조회.
+     * 날짜 검색은 next_available_date 로 먼저 거른 뒤 availability 로 확인한다.
+     */
+    @Override
+    public Page<Room> findAllByProjection(SearchRoomCondition cond, Pageable pageable) {
+        return findPage(SearchColumns.PROJECTION, cond, pageable);
+    }
+
+    private Page<Room> findPage(SearchColumns columns, SearchRoomCondition cond, Pageable pageable) {
+        List<Long> roomIds = query
+                .select(columns.id)
+                .from(columns.table)
+                .where(searchConditions(columns, cond))
+                .orderBy(pageOrderSpecifiers(columns, cond, pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        List<Room> content = fetchRooms(roomIds);
+
+        // 마지막 페이지면 조회 결과만으로 전체 개수를 알 수 있으므로 count 쿼리 생략
+        if (roomIds.size() < pageable.getPageSize() && (!roomIds.isEmpty() || pageable.getOffset() == 0)) {
+            return new CountedPage<>(content, pageable, pageable.getOffset() + roomIds.size(), CountStrategy.PAGE);
+        }
+
+        String countKey = columns.name() + ":" + cond.cacheKey();
+        CachedCount cachedCount = countCache.getIfPresent(countKey);
+        if (cachedCount != null) {
+            return new CountedPage<>(content, pageable, cachedCount.total, CountStrategy.CACHED);
+        }
+
+        long generation = countCacheGeneration.get();
+        Long total = query
+                .select(columns.id.count())
+                .from(columns.table)
+                .where(searchConditions(columns, cond))
+                .fetchOne();
+        total = total == null ? 0 : total;
+
+        // 결과가 많은 검색 조건만 캐시 (결과가 적은 조건은 count 비용이 작으므로 항상 정확한 값 사용)
+        if (total > countCacheProperties.getThreshold() && countCacheGeneration.get() == generation) {
+            countCache.put(countKey, new CachedCount(cond, total));
+        }
+        return new CountedPage<>(content, pageable, total, CountStrategy.EXACT);
+    }
+
+    @Override
+    public void evictCachedCounts(java.util.function.Predicate<SearchRoomCondition> affected) {
+        countCacheGeneration.incrementAndGet();
+        countCache.asMap().values().removeIf(cachedCount -> affected.test(cachedCount.condition));
+    }
+
+    /**
+     * 키셋(seek) 방식 조회.
+     * 이전 페이지 마지막 숙소의 정렬 키 이후부터 limit 개를 조회하며, count 쿼리는 실행하지 않는다.
+     */
+    @Override
+    public Window<Room> findAll(SearchRoomCondition cond, KeysetScrollPosition position, Sort sort, int limit) {
+        if (sort.getOrderFor("distance") != null) {
+            throw new IllegalArgumentException("거리 정렬은 커서 조회를 지원하지 않습니다.");
+        }
+
         List<Long> roomIds = query
                 .select(room.id)
                 .from(room)
-                .where(
-                        // TODO: startDate, endDate, currency 조건 추가해야 함
-                        numberOfGuests(cond.getNumberOfGuests()),
-                        containsLocation(cond.getLocation()),
-                        minPrice(cond.getPriceFrom()),
-                        maxPrice(cond.getPriceTo())
-                )
+                .where(searchConditions(SearchColumns.ROOM, cond))
+                .where(keysetCondition(position, sort))
+                .orderBy(orderSpecifiers(SearchColumns.ROOM, cond, sort))
+                .limit(limit + 1L) // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+                .fetch();
+
+        boolean hasNext = roomIds.size() > limit;
+        List<Room> content = fetchRooms(hasNext ? roomIds.subList(0, limit) : roomIds);
+
+        return Window.from(content, index -> ScrollPosition.forward(keysetOf(content.get(index), sort)), hasNext);
+    }
+
+    /**
+     * 검색 인덱스 등 외부에서 정한 id 순서대로 숙소 조회 (그 사이 삭제된 숙소는 제외)
+     */
+    @Override
+    public List<Room> findAllInOrder(List<Long> roomIds) {
+        return fetchRooms(roomIds);
+    }
+
+    /**
+     * 검색 조건에 맞는 숙소 id 를 최대 limit 개까지 id 순으로 조회 (서비스에서 직접 정렬할 후보 목록)
+     */
+    @Override
+    public List<Long> findAllIds(SearchRoomCondition cond, int limit) {
+        return query
+                .select(room.id)
+                .from(room)
+                .where(searchConditions(SearchColumns.ROOM, cond))
                 .orderBy(room.id.asc())
-                .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
+                .limit(limit)
                 .fetch();
+    }
+
+    /**
+     * 검색 조건에 맞는 숙소 전체를 id 순으로 서버 측 커서(fetch size = chunkSize)로 읽으면서 chunkSize 개씩 전달.
+     * 전달이 끝난 chunk 는 영속성 컨텍스트에서 비우므로 결과 크기와 관계없이 메모리 사용량이 일정하다.
+     * (PostgreSQL 은 트랜잭션 안에서만 커서를 사용하므로 트랜잭션 안에서 호출해야 함)
+     */
+    @Override
+    public void forEachChunk(SearchRoomCondition cond, int chunkSize, Consumer<List<Room>> action) {
+        try (Stream<Room> rooms = query
+                .selectFrom(room)
+                .leftJoin(room.placeType).fetchJoin()
+                .where(searchConditions(SearchColumns.ROOM, cond))
+                .orderBy(room.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream()) {
+
+            List<Room> chunk = new ArrayList<>(chunkSize);
+            Iterator<Room> iterator = rooms.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    action.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                    em.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                action.accept(chunk);
+            }
+        }
+    }
 
-        List<Room> content = query
+    /**
+     * id 목록에 해당하는 숙소를 placeType, amenities 와 함께 조회 후 id 목록 순서대로 정렬
+     */
+    private List<Room> fetchRooms(List<Long> roomIds) {
+        Map<Long, Room> roomMap = query
                 .select(room)
                 .from(room)
                 .leftJoin(room.placeType).fetchJoin()
@@ -46,51 +218,285 @@ public class RoomRepositoryCustomImpl implements RoomRepositoryCustom {
                 .where(
                         room.id.in(roomIds)
                 )
-                .orderBy(room.id.asc())
-                .fetch();
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity(), (r1, r2) -> r1));
 
-        Long total = query
-                .select(room.count())
-                .from(room)
-                .where(
-                        numberOfGuests(cond.getNumberOfGuests()),
-                        containsLocation(cond.getLocation()),
-                        minPrice(cond.getPriceFrom()),
-                        maxPrice(cond.getPriceTo())
-                )
-                .fetchOne();
+        return roomIds.stream().map(roomMap::get).filter(Objects::nonNull).toList();
+    }
 
-        return new PageImpl<>(content, pageable, total == null ? 0 : total);
+    private Predicate[] searchConditions(SearchColumns columns, SearchRoomCondition cond) {
+        return new Predicate[]{
+                numberOfGuests(columns, cond.getNumberOfGuests()),
+                containsLocation(columns, cond.getLocation()),
+                minPrice(columns, cond.getPriceFromInUsd()),
+                maxPrice(columns, cond.getPriceToInUsd()),
+                availableBetween(columns, cond.getStartDate(), cond.getEndDate()),
+                hasAmenities(columns, cond.getAmenityBits()),
+                placeType(columns, cond.getPlaceTypeId()),
+                withinBox(columns, cond.getSwLatitude(), cond.getSwLongitude(), cond.getNeLatitude(), cond.getNeLongitude()),
+                withinRadius(columns, cond.getLatitude(), cond.getLongitude(), cond.getRadiusKm())
+        };
     }
 
-    private BooleanExpression numberOfGuests(Integer numberOfGuests) {
+    private BooleanExpression numberOfGuests(SearchColumns columns, Integer numberOfGuests) {
         if (numberOfGuests != null) {
-            return room.maxNumberOfGuests.goe(numberOfGuests);
+            return columns.maxNumberOfGuests.goe(numberOfGuests);
         }
         return null;
     }
 
-    private BooleanExpression containsLocation(String location) {
+    /**
+     * country, province, city, street 부분 문자열 검색.
+     * 소문자로 합친 location_search 컬럼 하나에 대한 LIKE 조건으로, trigram GIN 인덱스로 처리된다.
+     */
+    private BooleanExpression containsLocation(SearchColumns columns, String location) {
         if (StringUtils.hasText(location)) {
-            return room.address.country.containsIgnoreCase(location)
-                    .or(room.address.province.containsIgnoreCase(location))
-                    .or(room.address.city.containsIgnoreCase(location))
-                    .or(room.address.street.containsIgnoreCase(location));
+            return columns.locationSearch.contains(location.toLowerCase());
+        }
+        return null;
+    }
+
+    private BooleanExpression minPrice(SearchColumns columns, Double priceFromInUsd) {
+        if (priceFromInUsd != null) {
+            return columns.basePriceInUsd.goe(priceFromInUsd);
+        }
+        return null;
+    }
+
+    private BooleanExpression maxPrice(SearchColumns columns, Double priceToInUsd) {
+        if (priceToInUsd != null) {
+            return columns.basePriceInUsd.loe(priceToInUsd);
+        }
+        return null;
+    }
+
+    /**
+     * [startDate, endDate) 전체 구간이 is_available = true 인 availability 로 덮여 있는 숙소만 조회.
+     * room_search 는 next_available_date 가 startDate 이후인 숙소를 먼저 거른다.
+     * (next_available_date 는 갱신 이후 날짜가 지나면 실제보다 이른 값이 될 뿐이므로 빠지는 숙소는 없음)
+     */
+    private BooleanExpression availableBetween(SearchColumns columns, LocalDate startDateInclusive, LocalDate endDateExclusive) {
+        if (startDateInclusive != null && endDateExclusive != null) {
+            BooleanExpression covered = Expressions.booleanTemplate(
+                    "function('" + AVAILABILITY_COVERS + "', {0}, {1}, {2}) = true",
+                    columns.id, startDateInclusive, endDateExclusive
+            );
+            return columns.nextAvailableDate == null
+                    ? covered
+                    : columns.nextAvailableDate.loe(startDateInclusive).and(covered);
+        }
+        return null;
+    }
+
+    /**
+     * 요청한 amenity 를 모두 갖춘 숙소만 조회. room_amenity 조인 대신 amenity_bits 비트 연산 한 번으로 처리
+     */
+    private BooleanExpression hasAmenities(SearchColumns columns, Long amenityBits) {
+        if (amenityBits != null && amenityBits != 0L) {
+            return Expressions.booleanTemplate(
+                    "function('" + AMENITY_BITS_CONTAIN + "', {0}, {1}) = true",
+                    columns.amenityBits, amenityBits
+            );
         }
         return null;
     }
 
-    private BooleanExpression minPrice(Integer priceFrom) {
-        if (priceFrom != null) {
-            return room.basePrice.goe(priceFrom);
+    private BooleanExpression placeType(SearchColumns columns, Integer placeTypeId) {
+        if (placeTypeId != null) {
+            return columns.placeTypeId.eq(placeTypeId);
         }
         return null;
     }
 
-    private BooleanExpression maxPrice(Integer priceTo) {
-        if (priceTo != null) {
-            return room.basePrice.loe(priceTo);
+    /**
+     * 남서/북동 모서리로 지정한 영역 안의 숙소만 조회 (idx_room_geo GiST 인덱스)
+     */
+    private BooleanExpression withinBox(SearchColumns columns, Double swLatitude, Double swLongitude, Double neLatitude, Double neLongitude) {
+        if (swLatitude != null && swLongitude != null && neLatitude != null && neLongitude != null) {
+            return Expressions.booleanTemplate(
+                    "function('" + GEO_WITHIN_BOX + "', {0}, {1}, {2}, {3}, {4}, {5}) = true",
+                    columns.latitude, columns.longitude, swLatitude, swLongitude, neLatitude, neLongitude
+            );
         }
         return null;
     }
+
+    /**
+     * 중심 좌표에서 radiusKm 이내의 숙소만 조회.
+     * 반경을 감싸는 영역 조건으로 인덱스 범위를 좁힌 뒤 실제 거리로 한 번 더 거른다.
+     */
+    private BooleanExpression withinRadius(SearchColumns columns, Double latitude, Double longitude, Double radiusKm) {
+        if (latitude == null || longitude == null || radiusKm == null) {
+            return null;
+        }
+
+        BooleanExpression withinDistance = distance(columns, latitude, longitude).loe(radiusKm);
+
+        double latitudeDelta = radiusKm / KM_PER_LATITUDE_DEGREE;
+        double longitudeDelta = radiusKm / (KM_PER_LATITUDE_DEGREE * Math.cos(Math.toRadians(latitude)));
+        if (Math.abs(latitude) + latitudeDelta >= 90 || Math.abs(longitude) + longitudeDelta >= 180) {
+            return withinDistance; // 극지방, 날짜변경선 부근은 영역 조건 없이 거리로만 판단
+        }
+
+        return withinBox(columns, latitude - latitudeDelta, longitude - longitudeDelta, latitude + latitudeDelta, longitude + longitudeDelta)
+                .and(withinDistance);
+    }
+
+    private NumberExpression<Double> distance(SearchColumns columns, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("거리 정렬은 중심 좌표(latitude, longitude)가 필요합니다.");
+        }
+        return Expressions.numberTemplate(Double.class,
+                "function('" + GEO_DISTANCE_KM + "', {0}, {1}, {2}, {3})",
+                columns.latitude, columns.longitude, latitude, longitude);
+    }
+
+    /**
+     * 페이지 조회 정렬 조건.
+     * 정렬 조건 없이 중심 좌표로 검색한 경우 가까운 순,
+     * 위치로 검색한 경우 위치 검색어 관련도가 높은 순으로 정렬
+     */
+    private OrderSpecifier<?>[] pageOrderSpecifiers(SearchColumns columns, SearchRoomCondition cond, Sort sort) {
+        if (sort.isUnsorted() && cond.getLatitude() != null && cond.getLongitude() != null) {
+            return new OrderSpecifier<?>[]{
+                    distance(columns, cond.getLatitude(), cond.getLongitude()).asc(),
+                    columns.id.asc()
+            };
+        }
+        if (sort.isUnsorted() && StringUtils.hasText(cond.getLocation())) {
+            return new OrderSpecifier<?>[]{
+                    Expressions.numberTemplate(Double.class,
+                            "function('" + LOCATION_RELEVANCE + "', {0}, {1})",
+                            cond.getLocation().toLowerCase(), columns.locationSearch).desc(),
+                    columns.id.asc()
+            };
+        }
+        return orderSpecifiers(columns, cond, sort);
+    }
+
+    /**
+     * 정렬 조건을 OrderSpecifier 로 변환.
+     * 가격 정렬은 통화가 다른 숙소끼리 비교할 수 있도록 base_price_in_usd 기준으로 정렬하고,
+     * 거리 정렬은 검색 조건의 중심 좌표 기준으로 정렬한다.
+     */
+    private OrderSpecifier<?>[] orderSpecifiers(SearchColumns columns, SearchRoomCondition cond, Sort sort) {
+        return withIdOrder(sort).stream()
+                .map(order -> {
+                    Order direction = order.isAscending() ? Order.ASC : Order.DESC;
+                    return switch (order.getProperty()) {
+                        case "price", "basePrice" -> new OrderSpecifier<>(direction, columns.basePriceInUsd);
+                        case "distance" -> new OrderSpecifier<>(direction, distance(columns, cond.getLatitude(), cond.getLongitude()));
+                        default -> new OrderSpecifier<>(direction, columns.id);
+                    };
+                })
+                .toArray(OrderSpecifier[]::new);
+    }
+
+    /**
+     * 키셋 조회 조건. 정렬 순서 (k1, k2, ..., id) 기준으로 마지막 숙소보다 뒤에 있는 숙소만 조회
+     * (k1 > v1) or (k1 = v1 and k2 > v2) or ...
+     */
+    private BooleanExpression keysetCondition(KeysetScrollPosition position, Sort sort) {
+        if (position.isInitial()) {
+            return null;
+        }
+
+        Map<String, Object> keys = position.getKeys();
+        BooleanExpression condition = null;
+        BooleanExpression previousKeysEqual = null;
+
+        for (Sort.Order order : withIdOrder(sort)) {
+            Object value = keys.get(order.getProperty());
+            if (value == null) {
+                throw new IllegalArgumentException("cursor가 유효하지 않습니다.");
+            }
+
+            BooleanExpression after = after(order, value);
+            condition = condition == null
+                    ? after
+                    : condition.or(previousKeysEqual.and(after));
+
+            BooleanExpression equal = equal(order, value);
+            previousKeysEqual = previousKeysEqual == null ? equal : previousKeysEqual.and(equal);
+        }
+
+        return condition;
+    }
+
+    private BooleanExpression after(Sort.Order order, Object value) {
+        return switch (order.getProperty()) {
+            case "price", "basePrice" -> order.isAscending()
+                    ? room.basePriceInUsd.gt(((Number) value).doubleValue())
+                    : room.basePriceInUsd.lt(((Number) value).doubleValue());
+            default -> order.isAscending()
+                    ? room.id.gt(((Number) value).longValue())
+                    : room.id.lt(((Number) value).longValue());
+        };
+    }
+
+    private BooleanExpression equal(Sort.Order order, Object value) {
+        return switch (order.getProperty()) {
+            case "price", "basePrice" -> room.basePriceInUsd.eq(((Number) value).doubleValue());
+            default -> room.id.eq(((Number) value).longValue());
+        };
+    }
+
+    private Map<String, Object> keysetOf(Room room, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : withIdOrder(sort)) {
+            switch (order.getProperty()) {
+                case "price", "basePrice" -> keys.put(order.getProperty(), room.getBasePriceInUsd());
+                default -> keys.put(order.getProperty(), room.getId());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 정렬 조건 검증 후, 페이지 간 순서가 고정되도록 마지막에 id 정렬 추가
+     */
+    private List<Sort.Order> withIdOrder(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+
+        for (Sort.Order order : sort) {
+            switch (order.getProperty()) {
+                case "price", "basePrice", "distance", "id" -> orders.add(order);
+                default -> throw new IllegalArgumentException("정렬 조건이 유효하지 않습니다: " + order.getProperty());
+            }
+        }
+        if (sort.getOrderFor("id") == null) {
+            orders.add(Sort.Order.asc("id"));
+        }
+
+        return orders;
+    }
+
+    /**
+     * 검색 조건/정렬에 사용하는 컬럼. room 테이블과 room_search read model 이 같은 조건 코드를 공유한다.
+     */
+    @RequiredArgsConstructor
+    private enum SearchColumns {
+        ROOM(room, room.id, room.maxNumberOfGuests, room.locationSearch, room.basePriceInUsd, room.amenityBits,
+                room.placeType.id, room.address.latitude, room.address.longitude, null),
+        PROJECTION(roomSearch, roomSearch.roomId, roomSearch.maxNumberOfGuests, roomSearch.locationSearch, roomSearch.basePriceInUsd, roomSearch.amenityBits,
+                roomSearch.placeTypeId, roomSearch.latitude, roomSearch.longitude, roomSearch.nextAvailableDate);
+
+        private final EntityPath<?> table;
+        private final NumberPath<Long> id;
+        private final NumberPath<Integer> maxNumberOfGuests;
+        private final StringPath locationSearch;
+        private final NumberPath<Double> basePriceInUsd;
+        private final NumberPath<Long> amenityBits;
+        private final NumberPath<Integer> placeTypeId;
+        private final NumberPath<Double> latitude;
+        private final NumberPath<Double> longitude;
+        private final DatePath<LocalDate> nextAvailableDate; // room 테이블은 없음
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedCount {
+        private final SearchRoomCondition condition;
+        private final long total;
+    }
 }
@@ -0,0 +1,17 @@
+package com.staybnb.rooms.repository.custom;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "room-search-count-cache")
+public class RoomSearchCountCacheProperties {
+
+    private long threshold = 1_000; // 전체 개수가 이 값보다 큰 검색 조건만 캐시 (결과가 적으면 count 비용이 작음)
+    private long maximumSize = 10_000;
+    private long ttlSeconds = 30;   // 이벤트로 무효화할 수 없는 변경(batch, 다른 서버)에 대한 안전장치
+}
@@ -0,0 +1,96 @@
+package com.staybnb.rooms.repository.custom.function;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * 숙소 검색 QueryDSL 조건에서 사용하는 PostgreSQL 전용 SQL 함수 등록.
+ * (range 연산자는 JPQL 로 표현할 수 없으므로 패턴 함수로 등록해서 사용)
+ */
+public class RoomSearchFunctionContributor implements FunctionContributor {
+
+    /**
+     * availability_covers(room_id, startDate, endDate)
+     * room_id 숙소의 is_available = true 인 availability 가 [startDate, endDate) 구간을 빈틈 없이 덮는지 여부.
+     * 상관 서브쿼리는 no_overlapping_availbility_date_range GiST 인덱스(room_id, date_range)로 처리된다.
+     */
+    public static final String AVAILABILITY_COVERS = "availability_covers";
+
+    /**
+     * location_relevance(keyword, location_search)
+     * pg_trgm word_similarity 기반 위치 검색어 관련도 (0 ~ 1)
+     */
+    public static final String LOCATION_RELEVANCE = "location_relevance";
+
+    /**
+     * amenity_bits_contain(amenity_bits, bits)
+     * amenity_bits 에 bits 의 비트가 모두 포함되어 있는지 여부 (JPQL 에는 비트 연산자가 없음)
+     */
+    public static final String AMENITY_BITS_CONTAIN = "amenity_bits_contain";
+
+    /**
+     * geo_within_box(latitude, longitude, swLatitude, swLongitude, neLatitude, neLongitude)
+     * 좌표가 남서/북동 모서리로 지정한 영역 안에 있는지 여부.
+     * point(longitude, latitude) 표현식 GiST 인덱스(idx_room_geo)로 처리된다.
+     */
+    public static final String GEO_WITHIN_BOX = "geo_within_box";
+
+    /**
+     * geo_distance_km(latitude1, longitude1, latitude2, longitude2)
+     * 두 좌표 사이의 대권 거리 (haversine, km)
+     */
+    public static final String GEO_DISTANCE_KM = "geo_distance_km";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE);
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                AVAILABILITY_COVERS,
+                """
+                        coalesce((\
+                        select range_agg(a.date_range) @> daterange(?2, ?3, '[)') \
+                        from availability a \
+                        where a.room_id = ?1 \
+                        and a.is_available = true \
+                        and a.date_range && daterange(?2, ?3, '[)')\
+                        ), false)""",
+                booleanType
+        );
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                LOCATION_RELEVANCE,
+                "word_similarity(?1, ?2)",
+                doubleType
+        );
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                AMENITY_BITS_CONTAIN,
+                "((?1 & ?2) = ?2)",
+                booleanType
+        );
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                GEO_WITHIN_BOX,
+                "(point(?2, ?1) <@ box(point(?4, ?3), point(?6, ?5)))",
+                booleanType
+        );
+
+        functionContributions.getFunctionRegistry().registerPattern(
+                GEO_DISTANCE_KM,
+                """
+                        (6371.0088 * 2 * asin(sqrt(\
+                        power(sin(radians(?3 - ?1) / 2), 2) \
+                        + cos(radians(?1)) * cos(radians(?3)) * power(sin(radians(?4 - ?2) / 2), 2)\
+                        )))""",
+                doubleType
+        );
+    }
+}
@@ -29,19 +29,29 @@ insert into amenity (name) values ('air conditioner');
 
 -- room
 insert into room (host_id, place_type_id, room_type, country, city, street, max_number_of_guests, bedrooms, beds, title,
-                  description, currency, base_price, base_price_in_usd, is_deleted, time_zone_id)
-values (2, 1, 'ENTIRE_PLACE', 'South Korea', 'city', 'street', 2, 2, 2, 'title', 'description', 'KRW', 300000, 0,
-        false, 'Asia/Seoul');
+                  description, currency, base_price, base_price_in_usd, is_deleted, time_zone_id, latitude, longitude)
+values (2, 1, 'ENTIRE_PLACE', 'South Korea', 'city', 'street', 2, 2, 2, 'title', 'description', 'KRW', 300000, 222.22,
+        false, 'Asia/Seoul', 37.5665, 126.9780);
 
 insert into room (host_id, place_type_id, room_type, country, city, street, max_number_of_guests, bedrooms, beds, title,
-                  description, currency, base_price, base_price_in_usd, is_deleted, time_zone_id)
-values (1, 1, 'ENTIRE_PLACE', 'South Korea', 'city', 'street', 2, 2, 2, 'title', 'description', 'KRW', 300000, 0,
-        false, 'Asia/Seoul');
+                  description, currency, base_price, base_price_in_usd, is_deleted, time_zone_id, latitude, longitude)
+values (1, 1, 'ENTIRE_PLACE', 'South Korea', 'city', 'street', 2, 2, 2, 'title', 'description', 'KRW', 300000, 222.22,
+        false, 'Asia/Seoul', 35.1796, 129.0756);
 
 insert into room (host_id, place_type_id, room_type, country, city, street, max_number_of_guests, bedrooms, beds, title,
-                  description, currency, base_price, base_price_in_usd, is_deleted, time_zone_id)
-values (2, 1, 'ENTIRE_PLACE', 'United States', 'city', 'street', 2, 2, 2, 'title', 'description', 'USD', 300, 0,
-        false, 'America/New_York');
+                  description, currency, base_price, base_price_in_usd, is_deleted, time_zone_id, latitude, longitude)
+values (2, 2, 'ENTIRE_PLACE', 'United States', 'city', 'street', 2, 2, 2, 'title', 'description', 'USD', 300, 300,
+        false, 'America/New_York', 40.7128, -74.0060);
+
+-- room_amenity
+insert into room_amenity (room_id, amenity_id) values (1, 1);
+insert into room_amenity (room_id, amenity_id) values (1, 3);
+insert into room_amenity (room_id, amenity_id) values (3, 1);
+
+update room r
+set amenity_bits = coalesce((select bit_or(1::bigint << (ra.amenity_id - 1))
+                             from room_amenity ra
+                             where ra.room_id = r.id), 0);
 
 -- booking
 insert into booking (room_id, guest_id, date_range, number_of_guests, booking_price, currency, status, time_zone_id)
@@ -80,8 +90,21 @@ values (2, daterange(CURRENT_DATE, CURRENT_DATE + 10, '[]'), false);
 insert into availability (room_id, date_range, is_available)
 values (1, daterange(CURRENT_DATE, CURRENT_DATE + 30), true);
 
+insert into availability (room_id, date_range, is_available)
+values (2, daterange(CURRENT_DATE + 40, CURRENT_DATE + 50), true);
+
+insert into availability (room_id, date_range, is_available)
+values (3, daterange(CURRENT_DATE + 40, CURRENT_DATE + 50), true);
+
+-- pricing (총 숙박 가격 정렬 테스트: 3번 숙소는 기본 가격이 더 비싸지만 할인 기간이 있음)
+insert into pricing (room_id, date_range, price_per_night)
+values (3, daterange(CURRENT_DATE + 40, CURRENT_DATE + 41), 100);
+
 -- timezoneMidnight
 insert into timezone_midnight (time_zone_id, utc_midnight)
 values ('Asia/Seoul', '15:00:00');
 insert into timezone_midnight (time_zone_id, utc_midnight)
-values ('America/New_York', '04:00:00');
\ No newline at end of file
+values ('America/New_York', '04:00:00');
+-- room_search (검색 read model)
+insert into room_search
+select * from room_search_source;
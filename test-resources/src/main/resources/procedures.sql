@@ -65,3 +65,38 @@ SELECT p_room_id, r, p_is_available
 FROM unnest(p_date_ranges) AS r;
 END;
 $$;
+
+CREATE
+OR REPLACE PROCEDURE update_room_pricing(
+    IN p_room_id BIGINT,
+    IN p_date_ranges DATERANGE[],
+    IN p_price_per_night INTEGER
+)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+v_selected DATEMULTIRANGE;
+BEGIN
+SELECT range_agg(r)
+INTO v_selected
+FROM unnest(p_date_ranges) AS r;
+
+-- 1. 요청 범위와 겹치는 기존 데이터 삭제 후, 겹치지 않는 부분(multirange 차집합)만 같은 가격으로 복원
+WITH removed AS (
+    DELETE
+    FROM pricing
+    WHERE room_id = p_room_id
+      AND date_range && v_selected
+    RETURNING date_range, price_per_night
+)
+INSERT INTO pricing (room_id, date_range, price_per_night)
+SELECT p_room_id, remain, removed.price_per_night
+FROM removed,
+     unnest(multirange(removed.date_range) - v_selected) AS remain;
+
+-- 2. 새로 요청된 범위 저장
+INSERT INTO pricing (room_id, date_range, price_per_night)
+SELECT p_room_id, r, p_price_per_night
+FROM unnest(p_date_ranges) AS r;
+END;
+$$;
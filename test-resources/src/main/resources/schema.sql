@@ -4,6 +4,10 @@
 CREATE
 EXTENSION IF NOT EXISTS btree_gist;
 
+-- 숙소 위치 검색(부분 문자열 검색) trigram 인덱스용
+CREATE
+EXTENSION IF NOT EXISTS pg_trgm;
+
 -- user
 CREATE TABLE "user"
 (
@@ -50,6 +54,8 @@ CREATE TABLE room
     city                 VARCHAR(200)     NOT NULL,
     street               VARCHAR(200)     NOT NULL,
     flat                 VARCHAR(100) DEFAULT NULL,
+    latitude             DOUBLE PRECISION DEFAULT NULL,
+    longitude            DOUBLE PRECISION DEFAULT NULL,
     max_number_of_guests INTEGER          NOT NULL,
     bedrooms             INTEGER          NOT NULL,
     beds                 INTEGER          NOT NULL,
@@ -62,6 +68,20 @@ CREATE TABLE room
     deleted_at           TIMESTAMP    DEFAULT NULL,
     created_at           TIMESTAMP    DEFAULT CURRENT_TIMESTAMP,
     time_zone_id VARCHAR(50) NOT NULL,
+    -- 편의시설 비트마스크 (amenity id n 이면 (n - 1)번째 비트, room_amenity 와 같은 내용을 검색용으로 중복 저장)
+    amenity_bits         BIGINT           NOT NULL DEFAULT 0,
+    -- 가격 버전 (pricing, 기본 가격/통화 변경 시 1 증가, 예약 견적 토큰 검증용)
+    pricing_version      BIGINT           NOT NULL DEFAULT 0,
+    -- 숙소 상세 버전 (숙소 변경 시 1 증가, 숙소 조회 ETag/Last-Modified 용)
+    detail_version       BIGINT           NOT NULL DEFAULT 0,
+    detail_updated_at    TIMESTAMP        NOT NULL DEFAULT now(),
+    -- 캘린더 버전 (숙소, pricing, availability 변경 시 1 증가, 캘린더 조회 ETag/Last-Modified 용)
+    calendar_version     BIGINT           NOT NULL DEFAULT 0,
+    calendar_updated_at  TIMESTAMP        NOT NULL DEFAULT now(),
+    -- 위치 검색용 컬럼 (country, province, city, street 를 소문자로 합친 값, insert/update 시 자동 갱신)
+    location_search      TEXT GENERATED ALWAYS AS (
+        lower(country || ' ' || coalesce(province, '') || ' ' || city || ' ' || street)
+    ) STORED,
 
     CONSTRAINT fk_room_host_id FOREIGN KEY (host_id) REFERENCES "user" (id),
     CONSTRAINT fk_room_place_type_id FOREIGN KEY (place_type_id) REFERENCES place_type (id)
@@ -142,4 +162,54 @@ CREATE INDEX idx_booking_timezone_status ON booking (time_zone_id, status);
 -- FK 일부에 대한 인덱스
 CREATE INDEX idx_room_place_type_id ON room (place_type_id);
 CREATE INDEX idx_room_host_id ON room (host_id);
-CREATE INDEX idx_booking_guest_id ON booking (guest_id);
\ No newline at end of file
+CREATE INDEX idx_booking_guest_id ON booking (guest_id);
+
+-- 숙소 검색 가격 조건/정렬 인덱스 (통화 정규화된 USD 가격 기준)
+CREATE INDEX idx_room_base_price_in_usd ON room (base_price_in_usd);
+
+-- 숙소 위치 검색 인덱스 (LIKE '%..%' 조건을 trigram GIN 인덱스로 처리)
+CREATE INDEX idx_room_location_search ON room USING GIN (location_search gin_trgm_ops);
+
+-- 지도 검색 인덱스 (point(longitude, latitude) <@ box 조건, PostGIS 없이 내장 point 타입 GiST 사용)
+CREATE INDEX idx_room_geo ON room USING GIST (point(longitude, latitude));
+
+-- 숙소 검색 read model (삭제되지 않은 숙소당 한 행, 검색 조건에 필요한 컬럼만 비정규화)
+-- room_search_source 뷰가 행 정의이며, 숙소/availability/pricing 변경 시 해당 숙소 행만 갱신하고 batch 로 전체 재빌드한다.
+CREATE TABLE room_search
+(
+    room_id              BIGINT PRIMARY KEY,
+    place_type_id        INTEGER          NOT NULL,
+    max_number_of_guests INTEGER          NOT NULL,
+    base_price_in_usd    DOUBLE PRECISION NOT NULL,
+    amenity_bits         BIGINT           NOT NULL,
+    location_search      TEXT             NOT NULL,
+    latitude             DOUBLE PRECISION DEFAULT NULL,
+    longitude            DOUBLE PRECISION DEFAULT NULL,
+    -- 오늘 이후 가장 빠른 예약 가능 일자 (갱신 시점 기준이므로 날짜가 지나면 실제보다 이를 수 있음, 검색 사전 필터로만 사용)
+    next_available_date  DATE         DEFAULT NULL,
+    updated_at           TIMESTAMP        NOT NULL DEFAULT now(),
+
+    CONSTRAINT fk_room_search_room_id FOREIGN KEY (room_id) REFERENCES room (id)
+);
+
+CREATE VIEW room_search_source AS
+SELECT r.id                   AS room_id,
+       r.place_type_id,
+       r.max_number_of_guests,
+       r.base_price_in_usd,
+       r.amenity_bits,
+       r.location_search,
+       r.latitude,
+       r.longitude,
+       (SELECT min(greatest(lower(a.date_range), CURRENT_DATE))
+        FROM availability a
+        WHERE a.room_id = r.id
+          AND a.is_available = true
+          AND upper(a.date_range) > CURRENT_DATE) AS next_available_date,
+       now()                  AS updated_at
+FROM room r
+WHERE r.is_deleted = false;
+
+CREATE INDEX idx_room_search_location_search ON room_search USING GIN (location_search gin_trgm_ops);
+CREATE INDEX idx_room_search_base_price_in_usd ON room_search (base_price_in_usd);
+CREATE INDEX idx_room_search_geo ON room_search USING GIST (point(longitude, latitude));